@@ -0,0 +1,139 @@
+package com.gamepulse.sdk;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.content.IntentFilter;
+import android.content.SharedPreferences;
+
+import org.mockito.MockedConstruction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Cost on the game thread of tracking one event, from builder to hand-off to the worker
+ * - Encoding, journaling and upload run on the SDK's own threads and are not on this path;
+ *   they still compete for CPU, as they do in a game
+ * - Batches go to a local MockWebServer, never to a real collector
+ * - Past what the worker drains, gameplay events are shed (DROP_OLDEST), which is part of the cost
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackBenchmark {
+
+    private MockWebServer server;
+    private File filesDir;
+    private GamePulse gamePulse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(200);
+            }
+        });
+        server.start();
+        filesDir = Files.createTempDirectory("gamepulse-benchmark").toFile();
+
+        // The timezone receiver's filter is the only framework object create() builds on this thread
+        try (MockedConstruction<IntentFilter> filters = mockConstruction(IntentFilter.class)) {
+            gamePulse = GamePulse.init("benchmark-key", GamePulse.Environment.DEVELOPMENT)
+                    .userConfig(GamePulse.UserConfig.builder()
+                            .setSessionId("benchmark-session")
+                            .setUserId("benchmark-user")
+                            .build())
+                    .batchUrl(server.url("/batch").toString())
+                    .create(context(filesDir));
+        }
+        // Measure the steady state, not events buffered while device info loads
+        long deadline = System.currentTimeMillis() + 10000;
+        while (gamePulse.getDeviceInfo() == null) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("GamePulse did not finish initializing");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.shutdown();
+        delete(filesDir);
+    }
+
+    @Benchmark
+    public void track() {
+        gamePulse.gameplayEvent(GamePulse.GameplayEvents.LEVEL_END)
+                .setProperty("level", 12)
+                .setProperty("score", 48250)
+                .setProperty("duration", 93.5)
+                .setProperty("mode", "ranked")
+                .track();
+    }
+
+    @Benchmark
+    public void trigger() {
+        new GamePulse.SystemEventBuilder()
+                .category(GamePulse.Gameplay.class)
+                .type(GamePulse.Gameplay.LEVEL_END)
+                .setProperty("level", 12)
+                .setProperty("score", 48250)
+                .setProperty("duration", 93.5)
+                .setProperty("mode", "ranked")
+                .trigger();
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Just enough Context for create() on the JVM: a files dir and preferences that store nothing;
+     * the other framework calls return null, so device info falls back to "unknown"
+     */
+    private static Context context(File filesDir) {
+        SharedPreferences preferences = mock(SharedPreferences.class);
+        when(preferences.edit()).thenReturn(mock(SharedPreferences.Editor.class, RETURNS_SELF));
+        Context context = mock(Context.class);
+        when(context.getApplicationContext()).thenReturn(context);
+        when(context.getFilesDir()).thenReturn(filesDir);
+        when(context.getSharedPreferences(anyString(), anyInt())).thenReturn(preferences);
+        return context;
+    }
+}
@@ -0,0 +1,79 @@
+package com.gamepulse.sdk.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs the benchmarks at 1, 4 and 16 threads and prints events/sec, ns/op and bytes allocated per event
+ * - SampleTime benchmarks also print their p99 ns/op; ns/op is then the mean of the samples
+ * - Arguments: benchmark regex (default all), then an optional results directory
+ * - Each thread count also writes JMH's JSON results there, to diff against a saved baseline
+ * - Every benchmark op is one event, so ns/op is the time per event on one thread and
+ *   events/sec is threads / ns/op across all of them
+ */
+public final class BenchmarkRunner {
+
+    private static final int[] THREADS = {1, 4, 16};
+    private static final String ALLOCATED = "gc.alloc.rate.norm";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        File resultDir = new File(args.length > 1 ? args[1] : "build/jmh");
+        if (!resultDir.isDirectory() && !resultDir.mkdirs()) {
+            throw new IllegalArgumentException("Cannot create " + resultDir);
+        }
+
+        List<String> summary = new ArrayList<>();
+        summary.add(String.format(Locale.ROOT, "%-55s %7s %12s %12s %14s %10s",
+                "Benchmark", "Threads", "ns/op", "p99 ns/op", "events/sec", "B/event"));
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(resultDir, "results-" + threads + "t.json").getPath())
+                    .build();
+            Collection<RunResult> results = new Runner(options).run();
+            for (RunResult result : results) {
+                summary.add(row(result, threads));
+            }
+        }
+        for (String line : summary) {
+            System.out.println(line);
+        }
+    }
+
+    private static String row(RunResult result, int threads) {
+        String name = result.getParams().getBenchmark();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+        String format = result.getParams().getParam("format");
+        if (format != null) {
+            name += "[" + format + "]";
+        }
+        double nanos = result.getPrimaryResult().getScore();
+        String p99 = result.getParams().getMode() == Mode.SampleTime
+                ? String.format(Locale.ROOT, "%.1f", result.getPrimaryResult().getStatistics().getPercentile(99))
+                : "-";
+        Result allocated = result.getSecondaryResults().get(ALLOCATED);
+        return String.format(Locale.ROOT, "%-55s %7d %12.1f %12s %14.0f %10s",
+                name, threads, nanos, p99, threads * 1e9 / nanos,
+                allocated != null ? String.format(Locale.ROOT, "%.1f", allocated.getScore()) : "-");
+    }
+}
@@ -0,0 +1,74 @@
+package com.gamepulse.sdk.diagnostics;
+
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+import com.gamepulse.sdk.encoding.EventEncoder;
+import com.gamepulse.sdk.encoding.EventEnvelope;
+import com.gamepulse.sdk.encoding.WireFormat;
+import com.gamepulse.sdk.queue.EventRecord;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the trace and log hooks around a hot-path operation (encoding one event)
+ * - plain: the operation alone
+ * - hooked: wrapped the way the SDK wraps it, with a trace section and a disabled log check
+ * - In a normal build the two must match; with -Pgamepulse.trace=true the gap is the cost
+ *   of one section on the JVM
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceBenchmark {
+
+    private final Logger log = new Logger(LogLevel.WARN);
+    private final EventRecord record = new EventRecord();
+    private EventEncoder encoder;
+
+    @Setup
+    public void setUp() {
+        encoder = WireFormat.JSON.newEncoder();
+        EventEnvelope envelope = new EventEnvelope(
+                new DeviceInfo("ANDROID", "14", "2.3.1", "Pixel 8", "1080x2400", "Google"),
+                UserConfig.builder().setSessionId("0190a5c2-7d4e-7b3a-9c1f-5e2d8a4b6c10").setUserId("player-8812").build());
+        record.set("SYSTEM", "level_end", "gameplay", envelope, 1718000000000L);
+        record.getProperties().put("level", 12);
+        record.getProperties().put("score", 48250);
+        record.stamp(42, 15);
+        record.setEventId(0x0190a5c27d4e7b3aL, 0x9c1f5e2d8a4b6c10L);
+    }
+
+    @Benchmark
+    public int plain() {
+        encoder.encode(record, "Europe/Berlin");
+        return encoder.size();
+    }
+
+    @Benchmark
+    public int hooked() {
+        if (Tracing.ENABLED) Tracing.begin(Tracing.Section.SERIALIZE);
+        try {
+            encoder.encode(record, "Europe/Berlin");
+        } finally {
+            if (Tracing.ENABLED) Tracing.end(Tracing.Section.SERIALIZE);
+        }
+        if (log.isEnabled(LogLevel.DEBUG)) {
+            log.debug("Encoded " + encoder.size() + " bytes");
+        }
+        return encoder.size();
+    }
+}
@@ -0,0 +1,61 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+import com.gamepulse.sdk.queue.EventRecord;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker-side encoding of one event into the encoder's reused buffer
+ * - One encoder and record per thread, as the worker keeps them
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    public WireFormat format;
+
+    private EventEncoder encoder;
+    private final EventRecord record = new EventRecord();
+
+    @Setup
+    public void setUp() {
+        encoder = format.newEncoder();
+        EventEnvelope envelope = new EventEnvelope(
+                new DeviceInfo("ANDROID", "14", "2.3.1", "Pixel 8", "1080x2400", "Google"),
+                UserConfig.builder().setSessionId("0190a5c2-7d4e-7b3a-9c1f-5e2d8a4b6c10").setUserId("player-8812").build());
+        record.set("SYSTEM", "level_end", "gameplay", envelope, 1718000000000L);
+        PropertyList properties = record.getProperties();
+        properties.put("level", 12);
+        properties.put("score", 48250);
+        properties.put("duration", 93.5);
+        properties.put("mode", "ranked");
+        record.stamp(42, 15);
+        record.setEventId(0x0190a5c27d4e7b3aL, 0x9c1f5e2d8a4b6c10L);
+    }
+
+    @Benchmark
+    public int encode() {
+        encoder.encode(record, "Europe/Berlin");
+        return encoder.size();
+    }
+}
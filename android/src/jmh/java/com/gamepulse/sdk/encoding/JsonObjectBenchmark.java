@@ -0,0 +1,83 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSONObject serialization GamePulse used before the streaming encoder, next to the
+ * streaming encoder given the same string properties
+ * - Compare the B/event columns: streaming should allocate a small fraction of jsonObject
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonObjectBenchmark {
+
+    private static final DeviceInfo DEVICE = new DeviceInfo("ANDROID", "14", "2.3.1", "Pixel 8", "1080x2400", "Google");
+    private static final UserConfig USER = UserConfig.builder()
+            .setSessionId("0190a5c2-7d4e-7b3a-9c1f-5e2d8a4b6c10")
+            .setUserId("player-8812")
+            .build();
+    private static final String TIMEZONE = "Europe/Berlin";
+    private static final String LOCAL_DATE_TIME = "2024-06-10T06:13:20.000Z";
+
+    private final JsonEventEncoder encoder = new JsonEventEncoder();
+    private final Map<String, String> properties = new LinkedHashMap<>();
+
+    public JsonObjectBenchmark() {
+        properties.put("level", "12");
+        properties.put("score", "48250");
+        properties.put("mode", "ranked");
+    }
+
+    @Benchmark
+    public int streaming() {
+        encoder.encode("SYSTEM", "level_end", "gameplay", DEVICE, USER, TIMEZONE, LOCAL_DATE_TIME, properties);
+        return encoder.size();
+    }
+
+    @Benchmark
+    public int jsonObject() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("type", "SYSTEM");
+        json.put("value", "level_end");
+        json.put("category", "gameplay");
+        json.put("platform", DEVICE.getPlatform());
+        json.put("osVersion", DEVICE.getOsVersion());
+        json.put("deviceModel", DEVICE.getDeviceModel());
+        json.put("deviceManufacturer", DEVICE.getDeviceManufacturer());
+        json.put("appVersion", DEVICE.getAppVersion());
+        json.put("screenResolution", DEVICE.getScreenResolution());
+        json.put("userId", USER.getUserId() != null ? USER.getUserId() : "");
+        json.put("anonymousId", USER.getAnonymousId() != null ? USER.getAnonymousId() : "");
+        json.put("sessionId", USER.getSessionId());
+        json.put("timezone", TIMEZONE);
+        json.put("localDateTime", LOCAL_DATE_TIME);
+        JSONObject propsJson = new JSONObject();
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            propsJson.put(entry.getKey(), entry.getValue());
+        }
+        json.put("properties", propsJson);
+        return json.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+}
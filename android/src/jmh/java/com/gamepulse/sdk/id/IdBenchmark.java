@@ -0,0 +1,40 @@
+package com.gamepulse.sdk.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating one event id
+ * - timeOrdered: the thread's IdGenerator, as the worker assigns ids
+ * - randomUuid: UUID.randomUUID(), which shares one SecureRandom across threads
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdBenchmark {
+
+    @Benchmark
+    public long timeOrdered() {
+        IdGenerator generator = IdGenerator.current();
+        generator.next(System.currentTimeMillis());
+        return generator.low();
+    }
+
+    @Benchmark
+    public long randomUuid() {
+        return UUID.randomUUID().getLeastSignificantBits();
+    }
+}
@@ -0,0 +1,88 @@
+package com.gamepulse.sdk.network;
+
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+import com.gamepulse.sdk.encoding.EventEnvelope;
+import com.gamepulse.sdk.encoding.JsonEventEncoder;
+import com.gamepulse.sdk.queue.EventRecord;
+import com.gamepulse.sdk.queue.JsonBatchFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okio.Buffer;
+
+/**
+ * Building the upload request for one batch, reported per event in the batch
+ * - build: the Request object only, as send() does before handing it to OkHttp
+ * - buildAndWriteGzip: also writes the gzipped body, which OkHttp does on its own thread
+ * - Nothing is sent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBenchmark {
+
+    private static final int EVENTS_PER_BATCH = 50;
+    private static final MediaType JSON = MediaType.get(JsonBatchFormat.CONTENT_TYPE);
+    private static final String IDEMPOTENCY_KEY = "0190a5c27d4e7b3a9c1f5e2d8a4b6c10";
+
+    private EventUploader uploader;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        uploader = new EventUploader(new OkHttpClient(), "http://localhost/batch", "benchmark-key", false);
+        EventEnvelope envelope = new EventEnvelope(
+                new DeviceInfo("ANDROID", "14", "2.3.1", "Pixel 8", "1080x2400", "Google"),
+                UserConfig.builder().setSessionId("0190a5c2-7d4e-7b3a-9c1f-5e2d8a4b6c10").setUserId("player-8812").build());
+        JsonEventEncoder encoder = new JsonEventEncoder();
+        JsonBatchFormat format = new JsonBatchFormat();
+        Buffer pending = new Buffer();
+        EventRecord record = new EventRecord();
+        for (int i = 0; i < EVENTS_PER_BATCH; i++) {
+            record.set("SYSTEM", "level_end", "gameplay", envelope, 1718000000000L + i * 250L);
+            record.getProperties().put("level", i);
+            record.getProperties().put("score", 48250 + i);
+            record.stamp(i, 15);
+            record.setEventId(0x0190a5c27d4e7b3aL, 0x9c1f5e2d8a4b6c10L + i);
+            encoder.encode(record, "Europe/Berlin");
+            format.writeRecord(pending, i, encoder.buffer(), 0, encoder.size());
+        }
+        payload = format.finish(pending, EVENTS_PER_BATCH);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_BATCH)
+    public Request build() {
+        return uploader.newRequest(payload, JSON, false, IDEMPOTENCY_KEY);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_BATCH)
+    public long buildAndWriteGzip() throws IOException {
+        Request request = uploader.newRequest(payload, JSON, true, IDEMPOTENCY_KEY);
+        // The gzip body closes its sink, as OkHttp expects, so each write needs a fresh one
+        Buffer wire = new Buffer();
+        request.body().writeTo(wire);
+        return wire.size();
+    }
+}
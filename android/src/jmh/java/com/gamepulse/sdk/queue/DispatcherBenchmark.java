@@ -0,0 +1,56 @@
+package com.gamepulse.sdk.queue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handing one event to the worker through the ring, as track() does after building it
+ * - One dispatcher shared by all threads, so higher thread counts measure contention on the ring
+ * - The handler does nothing; past what the worker drains, gameplay events are shed (DROP_OLDEST)
+ * - offerLatency samples single hand-offs, so BenchmarkRunner can report the p99 under contention
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatcherBenchmark {
+
+    private EventDispatcher dispatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dispatcher = new EventDispatcher(EventDispatcher.DEFAULT_CAPACITY, new EventDispatcher.Handler() {
+            @Override
+            public void onEvent(EventRecord record) {
+            }
+
+            @Override
+            public void onFlush() {
+            }
+        });
+    }
+
+    @Benchmark
+    public boolean offer() {
+        return dispatcher.offer("SYSTEM", "level_start", "gameplay", null, null, null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public boolean offerLatency() {
+        return dispatcher.offer("SYSTEM", "level_start", "gameplay", null, null, null);
+    }
+}
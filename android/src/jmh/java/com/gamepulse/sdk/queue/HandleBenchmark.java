@@ -0,0 +1,73 @@
+package com.gamepulse.sdk.queue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filling and committing the reusable event handle, the allocation-free tracking path
+ * - One handle per thread, as GamePulse keeps them; one dispatcher shared by all threads
+ * - B/event is 0 once warm, including commits the ring sheds; EventHandleTest fails if it is not
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandleBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Queue {
+        EventDispatcher dispatcher;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            dispatcher = new EventDispatcher(EventDispatcher.DEFAULT_CAPACITY, new EventDispatcher.Handler() {
+                @Override
+                public void onEvent(EventRecord record) {
+                }
+
+                @Override
+                public void onFlush() {
+                }
+            });
+        }
+    }
+
+    private EventHandle handle;
+    private long frame;
+
+    @Setup(Level.Trial)
+    public void setUp(final Queue queue) {
+        handle = new EventHandle(new EventHandle.Sink() {
+            @Override
+            public boolean commit(EventHandle event) {
+                return queue.dispatcher.offer(event, null);
+            }
+        });
+    }
+
+    @Benchmark
+    public boolean commit() {
+        return handle.reset("SYSTEM")
+                .category("gameplay")
+                .type("frame")
+                .put("scene", "arena")
+                .put("quality", "high")
+                .put("frame", frame++)
+                .put("fps", 59.5)
+                .put("vsync", true)
+                .commit();
+    }
+}
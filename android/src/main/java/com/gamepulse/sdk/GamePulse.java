@@ -7,23 +7,46 @@ import android.util.DisplayMetrics;
 import android.util.Log;
 import android.view.WindowManager;
 
-import org.json.JSONException;
-import org.json.JSONObject;
+import com.gamepulse.sdk.aggregation.EventAggregator;
+import com.gamepulse.sdk.clock.EventClock;
+import com.gamepulse.sdk.diagnostics.LogLevel;
+import com.gamepulse.sdk.diagnostics.Logger;
+import com.gamepulse.sdk.diagnostics.Tracing;
+import com.gamepulse.sdk.encoding.EventEncoder;
+import com.gamepulse.sdk.encoding.EventEnvelope;
+import com.gamepulse.sdk.encoding.WireFormat;
+import com.gamepulse.sdk.id.IdGenerator;
+import com.gamepulse.sdk.location.LocationCache;
+import com.gamepulse.sdk.metrics.MetricsSnapshot;
+import com.gamepulse.sdk.metrics.SdkMetrics;
+import com.gamepulse.sdk.network.CircuitBreaker;
+import com.gamepulse.sdk.network.CompressionPolicy;
+import com.gamepulse.sdk.network.ConcurrencyLimiter;
+import com.gamepulse.sdk.network.EventUploader;
+import com.gamepulse.sdk.network.RetryPolicy;
+import com.gamepulse.sdk.queue.BatchFormat;
+import com.gamepulse.sdk.queue.EventBatcher;
+import com.gamepulse.sdk.queue.EventDispatcher;
+import com.gamepulse.sdk.queue.EventHandle;
+import com.gamepulse.sdk.queue.EventRecord;
+import com.gamepulse.sdk.queue.OverflowPolicy;
+import com.gamepulse.sdk.queue.PendingEvents;
+import com.gamepulse.sdk.queue.PropertyList;
+import com.gamepulse.sdk.sampling.SamplingRules;
+import com.gamepulse.sdk.schema.EventRegistry;
+import com.gamepulse.sdk.schema.EventSchema;
+import com.gamepulse.sdk.state.TrackingState;
+import com.gamepulse.sdk.storage.AcknowledgedIds;
+import com.gamepulse.sdk.storage.DeviceInfoCache;
+import com.gamepulse.sdk.storage.EventJournal;
+import com.gamepulse.sdk.storage.SequenceFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
-import okhttp3.Call;
-import okhttp3.Callback;
-import okhttp3.MediaType;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
-
 public class GamePulse {
     public enum Environment {
         DEVELOPMENT("https://client.dev.gamepulse.studio/events/collect"),
@@ -38,6 +61,10 @@ public class GamePulse {
         public String getBaseUrl() {
             return baseUrl;
         }
+        
+        public String getBatchUrl() {
+            return baseUrl + "/batch";
+        }
     }
     
     // Platform is automatically detected as ANDROID for this SDK
@@ -120,18 +147,63 @@ public class GamePulse {
         public String getDeviceManufacturer() { return deviceManufacturer; }
     }
     
-    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
-
-    private static GamePulse instance;
+    /**
+     * Name of the instance created when no instanceName() is given
+     */
+    public static final String DEFAULT_INSTANCE = "default";
+    
+    // The default instance, which the static builders and getInstance() use
+    private static volatile GamePulse instance;
+    // Every created instance by name, including the default one; guarded by GamePulse.class
+    private static final Map<String, GamePulse> INSTANCES = new HashMap<>();
+    // Events from the static builders before create(); guarded by GamePulse.class
+    private static final PendingEvents PRE_INIT = new PendingEvents(PendingEvents.DEFAULT_CAPACITY);
     private final Context context;
+    private final String name;
     private final String apiKey;
     private final Environment environment;
-    private final boolean debug;
-    private final OkHttpClient httpClient;
+    private final Logger log;
+    // Worker thread, HTTP client, scheduler and storage, shared with every other instance
+    private final SdkEngine engine;
+    private final EventJournal journal;
+    private final AcknowledgedIds acknowledgedIds;
+    private final EventBatcher batcher;
+    private final EventUploader uploader;
+    private final WireFormat wireFormat;
+    // Only touched by the worker thread; keeps its buffer between events
+    private final EventEncoder encoder;
+    // Worker thread only, like the encoder
+    private final IdGenerator eventIds = new IdGenerator();
+    // This instance's share of the engine's event queue
+    private final EventDispatcher.Channel channel;
+    private final EventRegistry registry;
+    private final SamplingRules sampling;
+    private final EventAggregator aggregator;
+    private final boolean sampleBySession;
+    private final EventClock clock;
+    private final SdkMetrics metrics = new SdkMetrics();
+    // One reusable handle per tracking thread for the allocation-free API
+    private final ThreadLocal<EventHandle> handles = new ThreadLocal<EventHandle>() {
+        @Override
+        protected EventHandle initialValue() {
+            return new EventHandle(new EventHandle.Sink() {
+                @Override
+                public boolean commit(EventHandle event) {
+                    return offer(event);
+                }
+            });
+        }
+    };
+    
+    // Holds events tracked before device info is known; readyLock orders them before later events
+    private final PendingEvents pending = new PendingEvents(PendingEvents.DEFAULT_CAPACITY);
+    private final Object readyLock = new Object();
     
-    private UserConfig userConfig;
-    private DeviceInfo deviceInfo;
-    private boolean isInitialized = false;
+    // User, session and device context; the envelope is null until device info is known and
+    // events tracked until then go to pending
+    private final TrackingState state;
+    // Set once create() has registered the instance
+    private volatile boolean published;
 
     // User Events
     public static class UserEvents {
@@ -142,15 +214,8 @@ public class GamePulse {
         public static final String USER_LOGOUT = "user_logout";
         public static final String USER_REGISTER = "user_register";
         
-        private static final String[] VALID_EVENTS = {
-            SESSION_START, SESSION_END, USER_LOGIN, USER_LOGOUT, USER_REGISTER
-        };
-        
         public static boolean isValidEvent(String eventType) {
-            for (String event : VALID_EVENTS) {
-                if (event.equals(eventType)) return true;
-            }
-            return false;
+            return EventRegistry.builtIn().isValidType(CATEGORY, eventType);
         }
     }
     
@@ -164,15 +229,8 @@ public class GamePulse {
         public static final String GAME_END = "game_end";
         public static final String BOSS_FIGHT = "boss_fight";
         
-        private static final String[] VALID_EVENTS = {
-            LEVEL_START, LEVEL_END, LEVEL_UP, GAME_START, GAME_END, BOSS_FIGHT
-        };
-        
         public static boolean isValidEvent(String eventType) {
-            for (String event : VALID_EVENTS) {
-                if (event.equals(eventType)) return true;
-            }
-            return false;
+            return EventRegistry.builtIn().isValidType(CATEGORY, eventType);
         }
     }
     
@@ -185,15 +243,8 @@ public class GamePulse {
         public static final String ITEM_SOLD = "item_sold";
         public static final String SHOP_VIEWED = "shop_viewed";
         
-        private static final String[] VALID_EVENTS = {
-            CURRENCY_EARNED, CURRENCY_SPENT, ITEM_PURCHASED, ITEM_SOLD, SHOP_VIEWED
-        };
-        
         public static boolean isValidEvent(String eventType) {
-            for (String event : VALID_EVENTS) {
-                if (event.equals(eventType)) return true;
-            }
-            return false;
+            return EventRegistry.builtIn().isValidType(CATEGORY, eventType);
         }
     }
     
@@ -205,15 +256,8 @@ public class GamePulse {
         public static final String MILESTONE_REACHED = "milestone_reached";
         public static final String QUEST_COMPLETED = "quest_completed";
         
-        private static final String[] VALID_EVENTS = {
-            TUTORIAL_COMPLETE, ACHIEVEMENT_UNLOCKED, MILESTONE_REACHED, QUEST_COMPLETED
-        };
-        
         public static boolean isValidEvent(String eventType) {
-            for (String event : VALID_EVENTS) {
-                if (event.equals(eventType)) return true;
-            }
-            return false;
+            return EventRegistry.builtIn().isValidType(CATEGORY, eventType);
         }
     }
     
@@ -225,15 +269,8 @@ public class GamePulse {
         public static final String AD_REWARDED = "ad_rewarded";
         public static final String AD_FAILED = "ad_failed";
         
-        private static final String[] VALID_EVENTS = {
-            AD_VIEWED, AD_CLICKED, AD_REWARDED, AD_FAILED
-        };
-        
         public static boolean isValidEvent(String eventType) {
-            for (String event : VALID_EVENTS) {
-                if (event.equals(eventType)) return true;
-            }
-            return false;
+            return EventRegistry.builtIn().isValidType(CATEGORY, eventType);
         }
     }
     
@@ -246,29 +283,267 @@ public class GamePulse {
         public static final String SUBSCRIPTION_STARTED = "subscription_started";
         public static final String SUBSCRIPTION_CANCELLED = "subscription_cancelled";
         
-        private static final String[] VALID_EVENTS = {
-            PURCHASE, PURCHASE_FAILED, PURCHASE_RESTORED, SUBSCRIPTION_STARTED, SUBSCRIPTION_CANCELLED
-        };
-        
         public static boolean isValidEvent(String eventType) {
-            for (String event : VALID_EVENTS) {
-                if (event.equals(eventType)) return true;
-            }
-            return false;
+            return EventRegistry.builtIn().isValidType(CATEGORY, eventType);
         }
     }
 
-    private GamePulse(Context context, String apiKey, Environment environment) {
+    private GamePulse(Context context, SdkEngine engine, String name, String apiKey, Environment environment,
+                      String batchUrl, int batchSize, long maxBatchBytes, long flushIntervalMs,
+                      int gzipThreshold, EventUploader.UploadListener uploadListener, WireFormat wireFormat,
+                      EventRegistry registry, RetryPolicy retryPolicy,
+                      int maxConcurrentUploads, Map<String, OverflowPolicy> overflowPolicies,
+                      SamplingRules sampling, boolean sampleBySession, EventAggregator aggregator,
+                      UserConfig userConfig, SdkMetrics.Listener metricsListener, long metricsIntervalMs,
+                      LogLevel logLevel, long locationRefreshMs) {
         this.context = context.getApplicationContext();
+        this.engine = engine;
+        this.name = name;
+        this.state = new TrackingState(userConfig);
         this.apiKey = apiKey;
         this.environment = environment;
-        this.debug = false;
+        this.log = new Logger(logLevel);
+        this.wireFormat = wireFormat;
+        this.registry = registry;
+        this.sampling = sampling;
+        this.aggregator = aggregator;
+        this.sampleBySession = sampleBySession;
         
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(10, TimeUnit.SECONDS)
-                .writeTimeout(10, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .build();
+        this.journal = openJournal();
+        this.acknowledgedIds = openAcknowledgedIds();
+        this.clock = new EventClock(openSequenceFile());
+        BatchFormat batchFormat = wireFormat.newBatchFormat();
+        this.uploader = new EventUploader(engine.httpClient, batchUrl, apiKey, log,
+                batchFormat, new CompressionPolicy(gzipThreshold), uploadListener, clock,
+                retryPolicy, new CircuitBreaker(), new ConcurrencyLimiter(
+                        Math.min(ConcurrencyLimiter.DEFAULT_INITIAL_LIMIT, maxConcurrentUploads),
+                        maxConcurrentUploads, ConcurrencyLimiter.DEFAULT_MAX_IN_FLIGHT_BYTES), metrics,
+                engine.scheduler);
+        this.batcher = new EventBatcher(uploader, journal, acknowledgedIds, batchFormat,
+                batchSize, maxBatchBytes, flushIntervalMs, engine.scheduler);
+        this.encoder = wireFormat.newEncoder();
+        this.channel = engine.dispatcher.openChannel(new EventWorker(), overflowPolicies);
+        if (!aggregator.isEmpty() && flushIntervalMs > 0) {
+            scheduleRollups(flushIntervalMs);
+        }
+        if (metricsListener != null && metricsIntervalMs > 0) {
+            scheduleMetrics(metricsListener, metricsIntervalMs);
+        }
+        if (locationRefreshMs > 0) {
+            enrichWithLocation(locationRefreshMs);
+        }
+        engine.watchTimezone(this.context, clock);
+    }
+    
+    private void scheduleRollups(long windowMs) {
+        // The worker closes the window in onFlush, so rollups are encoded like any other event
+        engine.scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                channel.requestFlush();
+            }
+        }, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private void scheduleMetrics(final SdkMetrics.Listener listener, long intervalMs) {
+        engine.scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    listener.onMetrics(getMetrics());
+                } catch (RuntimeException e) {
+                    // A throwing listener would cancel every later snapshot
+                }
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Follow the shared location cache; each new cell rebuilds the envelope once, and events
+     * pick it up with the snapshot they already read. Caller holds GamePulse.class
+     */
+    private void enrichWithLocation(long refreshMs) {
+        LocationCache location = engine.location(context, refreshMs);
+        if (location == null) {
+            if (log.isEnabled(LogLevel.WARN)) {
+                log.warn("Location enrichment needs ACCESS_COARSE_LOCATION or ACCESS_FINE_LOCATION");
+            }
+            return;
+        }
+        location.addListener(new LocationCache.Listener() {
+            @Override
+            public void onGeohash(String geohash) {
+                state.publishGeohash(geohash);
+            }
+        });
+    }
+    
+    /**
+     * Encodes and batches events on the dispatcher's worker thread
+     */
+    private class EventWorker implements EventDispatcher.Handler {
+        // Reused for every rollup summary event
+        private final EventRecord rollup = new EventRecord();
+
+        @Override
+        public void onEvent(EventRecord event) {
+            event.stamp(clock.nextSequence(event.getEnvelope().getUserConfig().getSessionId()), clock.getServerOffset());
+            eventIds.assign(event);
+            if (Tracing.ENABLED) Tracing.begin(Tracing.Section.SERIALIZE);
+            try {
+                encoder.encode(event, clock.getTimezone());
+            } finally {
+                if (Tracing.ENABLED) Tracing.end(Tracing.Section.SERIALIZE);
+            }
+            batcher.add(encoder.buffer(), 0, encoder.size(), event.getEventIdHigh(), event.getEventIdLow());
+        }
+
+        @Override
+        public void onFlush() {
+            EventEnvelope current = state.get().getEnvelope();
+            if (current != null) {
+                aggregator.drain(current, System.currentTimeMillis(), rollup, this);
+            }
+            batcher.flush();
+        }
+    }
+    
+    /**
+     * Gather device info off the caller's thread, then release buffered events and replay the journal
+     */
+    private void startInit() {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                DeviceInfo info = loadDeviceInfo();
+                synchronized (readyLock) {
+                    int released = pending.drain(new PendingEvents.Consumer() {
+                        private UserConfig lastUser;
+                        private EventEnvelope lastEnvelope;
+
+                        @Override
+                        public void onEvent(String eventClass, String eventType, String category, UserConfig user,
+                                            Map<String, String> properties, PropertyList typedProperties,
+                                            long timestamp) {
+                            if (user != lastUser) {
+                                lastUser = user;
+                                lastEnvelope = new EventEnvelope(info, user, state.get().getGeohash());
+                            }
+                            enqueue(eventClass, eventType, category, lastEnvelope, properties, typedProperties,
+                                    timestamp);
+                        }
+                    });
+                    // Published last, so no event can overtake the ones buffered before it
+                    state.publishDeviceInfo(info);
+                    if (released > 0 && log.isEnabled(LogLevel.DEBUG)) {
+                        log.debug("Released " + released + " events tracked during init");
+                    }
+                }
+                replayJournal();
+            }
+        }, "GamePulse-Init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Take over events the static builders buffered before create(); caller holds GamePulse.class
+     */
+    private void adoptPreInitEvents() {
+        PRE_INIT.drain(new PendingEvents.Consumer() {
+            @Override
+            public void onEvent(String eventClass, String eventType, String category, UserConfig user,
+                                Map<String, String> properties, PropertyList typedProperties, long timestamp) {
+                try {
+                    registry.check(eventClass, category, eventType, properties, typedProperties);
+                } catch (IllegalArgumentException e) {
+                    // Nobody is left to throw to; drop it like any other rejected event
+                    if (log.isEnabled(LogLevel.WARN)) {
+                        log.warn("Dropped invalid early event: " + e.getMessage());
+                    }
+                    return;
+                }
+                if (!aggregator.add(category, eventType, properties, typedProperties)) {
+                    pending.add(eventClass, eventType, category, state.get().getUserConfig(), properties,
+                            typedProperties, timestamp);
+                }
+            }
+        });
+    }
+    
+    private EventJournal openJournal() {
+        try {
+            return new EventJournal(new File(engine.storageDir(name), wireFormat.getJournalName()));
+        } catch (IOException e) {
+            // Events are still delivered, just not persisted across crashes
+            if (log.isEnabled(LogLevel.WARN)) {
+                log.warn("Event journal unavailable: " + e.getMessage());
+            }
+            return null;
+        }
+    }
+    
+    private AcknowledgedIds openAcknowledgedIds() {
+        try {
+            return new AcknowledgedIds(new File(engine.storageDir(name), "acknowledged-ids"));
+        } catch (IOException e) {
+            // Replay then resends everything still journaled; the collector dedupes by event id
+            if (log.isEnabled(LogLevel.WARN)) {
+                log.warn("Acknowledged id filter unavailable: " + e.getMessage());
+            }
+            return null;
+        }
+    }
+    
+    private SequenceFile openSequenceFile() {
+        try {
+            return new SequenceFile(new File(engine.storageDir(name), "sequence"));
+        } catch (IOException e) {
+            // Sequences then restart at 0 when the process does, even within a session
+            if (log.isEnabled(LogLevel.WARN)) {
+                log.warn("Sequence file unavailable: " + e.getMessage());
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Re-queue events a previous process journaled but never got acknowledged
+     * - Events whose id is in the acknowledged filter were delivered before the crash and are skipped
+     * - Binary records from an older SDK version cannot be batched and are dropped
+     */
+    private void replayJournal() {
+        if (journal == null) {
+            return;
+        }
+        long[] id = new long[2];
+        int skipped = 0;
+        int stale = 0;
+        for (File segment : journal.getRecoveredSegments()) {
+            try {
+                for (byte[] event : EventJournal.readSegment(segment)) {
+                    boolean hasId = wireFormat.readEventId(event, id);
+                    if (hasId && acknowledgedIds != null && acknowledgedIds.mightContain(id[0], id[1])) {
+                        skipped++;
+                        continue;
+                    }
+                    if (!batcher.replay(event, id[0], id[1])) {
+                        stale++;
+                    }
+                }
+            } catch (IOException e) {
+                if (log.isEnabled(LogLevel.WARN)) {
+                    log.warn("Failed to replay " + segment.getName() + ": " + e.getMessage());
+                }
+            }
+            journal.discardRecovered(segment);
+        }
+        if (skipped > 0 && log.isEnabled(LogLevel.DEBUG)) {
+            log.debug("Skipped " + skipped + " journaled events already acknowledged");
+        }
+        if (stale > 0 && log.isEnabled(LogLevel.WARN)) {
+            log.warn("Dropped " + stale + " journaled events written by an older SDK version");
+        }
     }
 
     public static InitBuilder init(String apiKey, Environment environment) {
@@ -289,18 +564,59 @@ public class GamePulse {
         return instance;
     }
 
+    /**
+     * A named instance created with {@link InitBuilder#instanceName(String)}
+     */
+    public static GamePulse getInstance(String name) {
+        synchronized (GamePulse.class) {
+            GamePulse named = INSTANCES.get(name);
+            if (named == null) {
+                throw new IllegalStateException("No GamePulse instance named '" + name
+                        + "'. Call GamePulse.init(...).instanceName(name).create(context)");
+            }
+            return named;
+        }
+    }
+
     public SystemEventBuilder systemEvent() {
-        return new SystemEventBuilder();
+        return new SystemEventBuilder(this);
     }
 
     public CustomEventBuilder customEvent() {
-        return new CustomEventBuilder();
+        return new CustomEventBuilder(this);
+    }
+    
+    /**
+     * The name given to {@link InitBuilder#instanceName(String)}, or {@link #DEFAULT_INSTANCE}
+     */
+    public String getName() {
+        return name;
     }
 
     public static class InitBuilder {
         private final String apiKey;
         private final Environment environment;
         private UserConfig userConfig;
+        private int batchSize = EventBatcher.DEFAULT_MAX_EVENTS;
+        private long maxBatchBytes = EventBatcher.DEFAULT_MAX_BYTES;
+        private long flushIntervalMs = EventBatcher.DEFAULT_FLUSH_INTERVAL_MS;
+        private int gzipThreshold = CompressionPolicy.DISABLED;
+        private EventUploader.UploadListener uploadListener;
+        private WireFormat wireFormat = WireFormat.JSON;
+        private int queueCapacity = EventDispatcher.DEFAULT_CAPACITY;
+        private final EventRegistry registry = new EventRegistry();
+        private RetryPolicy retryPolicy = new RetryPolicy();
+        private int maxConcurrentUploads = ConcurrencyLimiter.DEFAULT_MAX_LIMIT;
+        private final Map<String, OverflowPolicy> overflowPolicies = OverflowPolicy.defaults();
+        private final SamplingRules sampling = new SamplingRules();
+        private final EventAggregator aggregator = new EventAggregator();
+        private boolean sampleBySession = false;
+        private String batchUrl;
+        private SdkMetrics.Listener metricsListener;
+        private long metricsIntervalMs;
+        private long locationRefreshMs;
+        private LogLevel logLevel = LogLevel.WARN;
+        private String instanceName = DEFAULT_INSTANCE;
         
         private InitBuilder(String apiKey, Environment environment) {
             this.apiKey = apiKey;
@@ -312,6 +628,194 @@ public class GamePulse {
             return this;
         }
         
+        /**
+         * Maximum number of events sent in one upload request
+         */
+        public InitBuilder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+        
+        /**
+         * Maximum payload size of one upload request, in bytes
+         */
+        public InitBuilder maxBatchBytes(long maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+        
+        /**
+         * How often pending events are flushed when no size limit is hit
+         */
+        public InitBuilder flushInterval(long interval, TimeUnit unit) {
+            this.flushIntervalMs = unit.toMillis(interval);
+            return this;
+        }
+        
+        /**
+         * Gzip upload bodies of at least this many bytes; the collector must accept Content-Encoding: gzip
+         */
+        public InitBuilder gzipThreshold(int minBytes) {
+            this.gzipThreshold = minBytes;
+            return this;
+        }
+        
+        /**
+         * Receive raw versus on-the-wire size for every upload
+         */
+        public InitBuilder uploadListener(EventUploader.UploadListener uploadListener) {
+            this.uploadListener = uploadListener;
+            return this;
+        }
+        
+        /**
+         * Opt into the compact binary upload format (falls back to JSON if the collector rejects it)
+         */
+        public InitBuilder wireFormat(WireFormat wireFormat) {
+            this.wireFormat = wireFormat;
+            return this;
+        }
+        
+        /**
+         * Events that can wait for the background worker before new ones are dropped; the queue is
+         * shared by all instances, so only the first create() in the process sets it
+         */
+        public InitBuilder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+        
+        /**
+         * Declare a custom category; events in it must use one of the listed types (any type if none)
+         */
+        public InitBuilder registerCategory(String category, String... types) {
+            registry.registerCategory(category, types);
+            return this;
+        }
+        
+        /**
+         * Require typed properties on an event type; checked on every track
+         */
+        public InitBuilder registerSchema(EventSchema schema) {
+            registry.registerSchema(schema);
+            return this;
+        }
+        
+        /**
+         * Backoff for failed uploads and how old events may get before they are dropped
+         */
+        public InitBuilder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+        
+        /**
+         * Upper bound for parallel uploads; the actual number adapts to latency and errors
+         */
+        public InitBuilder maxConcurrentUploads(int maxConcurrentUploads) {
+            if (maxConcurrentUploads < 1) {
+                throw new IllegalArgumentException("maxConcurrentUploads must be at least 1");
+            }
+            this.maxConcurrentUploads = maxConcurrentUploads;
+            return this;
+        }
+        
+        /**
+         * What to give up first for a category when the worker falls behind (default DROP_NEWEST)
+         */
+        public InitBuilder overflowPolicy(String category, OverflowPolicy policy) {
+            overflowPolicies.put(category, policy);
+            return this;
+        }
+        
+        /**
+         * Send the type for this fraction of users only; sent events carry sampleWeight = 1 / rate.
+         * A null type samples the whole category
+         */
+        public InitBuilder sampleRate(String category, String type, double rate) {
+            sampling.sample(category, type, rate);
+            return this;
+        }
+        
+        /**
+         * Send at most eventsPerSecond of the type on average, in bursts of up to burst events.
+         * A null type limits the whole category
+         */
+        public InitBuilder rateLimit(String category, String type, double eventsPerSecond, int burst) {
+            sampling.rateLimit(category, type, eventsPerSecond, burst);
+            return this;
+        }
+        
+        /**
+         * Sample per session instead of per user (userId, else anonymousId)
+         */
+        public InitBuilder sampleBySession() {
+            this.sampleBySession = true;
+            return this;
+        }
+        
+        /**
+         * Send the type as one summary per flush window instead of every occurrence: count, plus
+         * sum/min/max of valueProperty (null to count only), per combination of groupBy values
+         */
+        public InitBuilder aggregate(String category, String type, String valueProperty, String... groupBy) {
+            aggregator.aggregate(category, type, valueProperty, groupBy);
+            return this;
+        }
+        
+        /**
+         * Receive a snapshot of the SDK's own metrics at this interval, e.g. for your dashboards
+         */
+        public InitBuilder metricsListener(SdkMetrics.Listener listener, long interval, TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException("Metrics interval must be positive");
+            }
+            this.metricsListener = listener;
+            this.metricsIntervalMs = unit.toMillis(interval);
+            return this;
+        }
+        
+        /**
+         * Add a coarse location cell ("geohash", about 5 km) to every event, refreshed at most once
+         * per interval from fixes the device already has; needs a location permission the app holds
+         */
+        public InitBuilder locationEnrichment(long refreshInterval, TimeUnit unit) {
+            if (refreshInterval <= 0) {
+                throw new IllegalArgumentException("Location refresh interval must be positive");
+            }
+            this.locationRefreshMs = unit.toMillis(refreshInterval);
+            return this;
+        }
+        
+        /**
+         * What the SDK writes to logcat (default WARN: lost events and storage problems)
+         */
+        public InitBuilder logLevel(LogLevel logLevel) {
+            this.logLevel = logLevel;
+            return this;
+        }
+        
+        /**
+         * Create a separate, named instance with its own API key, environment and user; it shares the
+         * worker thread, HTTP client and storage with every other instance. Look it up again with
+         * {@link GamePulse#getInstance(String)}
+         */
+        public InitBuilder instanceName(String instanceName) {
+            if (instanceName == null || !instanceName.matches("[A-Za-z0-9_.-]+")) {
+                throw new IllegalArgumentException("Instance name must be letters, digits, '.', '_' or '-'");
+            }
+            this.instanceName = instanceName;
+            return this;
+        }
+        
+        /**
+         * Post batches here instead of the environment's collector; for tests and benchmarks
+         */
+        InitBuilder batchUrl(String batchUrl) {
+            this.batchUrl = batchUrl;
+            return this;
+        }
+        
         public GamePulse create(Context context) {
             if (apiKey == null || apiKey.isEmpty()) {
                 throw new IllegalArgumentException("API key is required");
@@ -321,15 +825,32 @@ public class GamePulse {
             }
             
             synchronized (GamePulse.class) {
-                if (instance == null) {
-                    instance = new GamePulse(context, apiKey, environment);
-                    instance.userConfig = userConfig;
-                    instance.deviceInfo = instance.autoFetchDeviceInfo();
-                    instance.isInitialized = true;
+                GamePulse existing = INSTANCES.get(instanceName);
+                if (existing != null) {
+                    if (!existing.apiKey.equals(apiKey) || existing.environment != environment) {
+                        throw new IllegalStateException("GamePulse instance '" + instanceName
+                                + "' already exists with a different API key or environment");
+                    }
+                    return existing;
+                }
+                SdkEngine engine = SdkEngine.get(context, queueCapacity, maxConcurrentUploads);
+                GamePulse created = new GamePulse(context, engine, instanceName, apiKey, environment,
+                        batchUrl != null ? batchUrl : environment.getBatchUrl(),
+                        batchSize, maxBatchBytes, flushIntervalMs,
+                        gzipThreshold, uploadListener, wireFormat, registry.copy(), retryPolicy,
+                        maxConcurrentUploads, overflowPolicies, sampling.copy(), sampleBySession, aggregator.copy(),
+                        userConfig, metricsListener, metricsIntervalMs, logLevel, locationRefreshMs);
+                INSTANCES.put(instanceName, created);
+                if (DEFAULT_INSTANCE.equals(instanceName)) {
+                    // Static builders only ever target the default instance
+                    created.adoptPreInitEvents();
+                    instance = created;
                 }
+                created.published = true;
+                // Device info, the envelope and journal replay follow on a background thread
+                created.startInit();
+                return created;
             }
-            
-            return instance;
         }
     }
 
@@ -374,12 +895,23 @@ public class GamePulse {
 
     // Event Builders
     public static class SystemEventBuilder {
+        // Null for the default instance, looked up when the event is triggered
+        private final GamePulse target;
         private String category;
         private String type;
         private Map<String, String> properties = new HashMap<>();
+        private PropertyList typedProperties;
+
+        public SystemEventBuilder() {
+            this(null);
+        }
+
+        SystemEventBuilder(GamePulse target) {
+            this.target = target;
+        }
 
         public SystemEventBuilder category(Class<?> categoryClass) {
-            this.category = categoryClass.getSimpleName().toLowerCase();
+            this.category = EventRegistry.categoryOf(categoryClass);
             return this;
         }
 
@@ -393,21 +925,71 @@ public class GamePulse {
             return this;
         }
 
-        public void trigger() {
-            if (instance == null) {
-                throw new IllegalStateException("Gamepulse must be initialized first");
+        public SystemEventBuilder setProperty(String key, String value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        /**
+         * Numeric and boolean values are sent as JSON numbers and booleans, without String conversion
+         */
+        public SystemEventBuilder setProperty(String key, long value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        public SystemEventBuilder setProperty(String key, double value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        public SystemEventBuilder setProperty(String key, boolean value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        private PropertyList typedProperties() {
+            if (typedProperties == null) {
+                typedProperties = new PropertyList();
             }
+            return typedProperties;
+        }
+
+        public void trigger() {
             if (category == null || type == null) {
                 throw new IllegalArgumentException("Category and type are required");
             }
-            instance.trackEventInternal("SYSTEM", type, category, properties);
+            GamePulse target = this.target != null ? this.target : instance;
+            if (target == null) {
+                synchronized (GamePulse.class) {
+                    target = instance;
+                    if (target == null) {
+                        // Validated and sent once create() is called
+                        PRE_INIT.add("SYSTEM", type, category, null, properties, typedProperties,
+                                System.currentTimeMillis());
+                        return;
+                    }
+                }
+            }
+            target.trackEventInternal("SYSTEM", type, category, properties, typedProperties);
         }
     }
 
     public static class CustomEventBuilder {
+        // Null for the default instance, looked up when the event is triggered
+        private final GamePulse target;
         private String category;
         private String type;
         private Map<String, String> properties = new HashMap<>();
+        private PropertyList typedProperties;
+
+        public CustomEventBuilder() {
+            this(null);
+        }
+
+        CustomEventBuilder(GamePulse target) {
+            this.target = target;
+        }
 
         public CustomEventBuilder category(String category) {
             this.category = category;
@@ -424,54 +1006,186 @@ public class GamePulse {
             return this;
         }
 
-        public void trigger() {
-            if (instance == null) {
-                throw new IllegalStateException("Gamepulse must be initialized first");
+        public CustomEventBuilder setProperty(String key, String value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        /**
+         * Numeric and boolean values are sent as JSON numbers and booleans, without String conversion
+         */
+        public CustomEventBuilder setProperty(String key, long value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        public CustomEventBuilder setProperty(String key, double value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        public CustomEventBuilder setProperty(String key, boolean value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        private PropertyList typedProperties() {
+            if (typedProperties == null) {
+                typedProperties = new PropertyList();
             }
+            return typedProperties;
+        }
+
+        public void trigger() {
             if (category == null || type == null) {
                 throw new IllegalArgumentException("Category and type are required");
             }
-            instance.trackEventInternal("CUSTOM", type, category, properties);
+            GamePulse target = this.target != null ? this.target : instance;
+            if (target == null) {
+                synchronized (GamePulse.class) {
+                    target = instance;
+                    if (target == null) {
+                        // Validated and sent once create() is called
+                        PRE_INIT.add("CUSTOM", type, category, null, properties, typedProperties,
+                                System.currentTimeMillis());
+                        return;
+                    }
+                }
+            }
+            target.trackEventInternal("CUSTOM", type, category, properties, typedProperties);
         }
     }
 
-    private void trackEventInternal(String eventClass, String eventType, String category, Map<String, String> properties) {
+    /**
+     * Reusable system event for hot loops; nothing is allocated once the thread's handle is warm
+     * - Fill it and call commit() before asking for the next one on the same thread
+     */
+    public EventHandle event() {
+        checkInitialized();
+        return handles.get().reset("SYSTEM");
+    }
+
+    /**
+     * Reusable custom event, same rules as {@link #event()}
+     */
+    public EventHandle customEventHandle() {
+        checkInitialized();
+        return handles.get().reset("CUSTOM");
+    }
+
+    private boolean offer(EventHandle event) {
+        long start = System.nanoTime();
         try {
-            JSONObject json = new JSONObject();
-            json.put("type", eventClass);
-            json.put("value", eventType);
-            json.put("category", category);
-            
-            // Add device info
-            json.put("platform", deviceInfo.getPlatform());
-            json.put("osVersion", deviceInfo.getOsVersion());
-            json.put("deviceModel", deviceInfo.getDeviceModel());
-            json.put("deviceManufacturer", deviceInfo.getDeviceManufacturer());
-            json.put("appVersion", deviceInfo.getAppVersion());
-            json.put("screenResolution", deviceInfo.getScreenResolution());
-            
-            // Add user/session info
-            json.put("userId", userConfig.getUserId() != null ? userConfig.getUserId() : "");
-            json.put("anonymousId", userConfig.getAnonymousId() != null ? userConfig.getAnonymousId() : "");
-            json.put("sessionId", userConfig.getSessionId());
-            
-            // Add timestamp
-            json.put("timezone", java.util.TimeZone.getDefault().getID());
-            json.put("localDateTime", java.time.Instant.now().toString());
-            
-            // Add properties
-            JSONObject propsJson = new JSONObject();
-            for (Map.Entry<String, String> entry : properties.entrySet()) {
-                propsJson.put(entry.getKey(), entry.getValue());
+            return offerTimed(event);
+        } finally {
+            metrics.recordTrackLatency(System.nanoTime() - start);
+        }
+    }
+
+    private boolean offerTimed(EventHandle event) {
+        registry.check(event.getEventClass(), event.getCategory(), event.getType(), null, event.getProperties());
+        if (aggregator.add(event.getCategory(), event.getType(), null, event.getProperties())) {
+            return true;
+        }
+        TrackingState.Snapshot snapshot = state.get();
+        EventEnvelope envelope = snapshot.getEnvelope();
+        if (envelope == null) {
+            synchronized (readyLock) {
+                snapshot = state.get();
+                envelope = snapshot.getEnvelope();
+                if (envelope == null) {
+                    return pending.add(event.getEventClass(), event.getType(), event.getCategory(),
+                            snapshot.getUserConfig(), null, event.getProperties(), System.currentTimeMillis());
+                }
             }
-            json.put("properties", propsJson);
-            
-            // Send the event
-            sendEventInternal(json);
-            
-        } catch (JSONException e) {
-            // Silent fail for performance
         }
+        double weight = sampling.admit(event.getCategory(), event.getType(), samplingKey(envelope), System.nanoTime());
+        if (weight == SamplingRules.REJECTED) {
+            return false;
+        }
+        boolean queued;
+        if (Tracing.ENABLED) Tracing.begin(Tracing.Section.ENQUEUE);
+        try {
+            queued = channel.offer(event, envelope, weight);
+        } finally {
+            if (Tracing.ENABLED) Tracing.end(Tracing.Section.ENQUEUE);
+        }
+        if (queued) {
+            metrics.recordAccepted();
+        } else if (log.isEnabled(LogLevel.DEBUG)) {
+            log.debug("Event queue backlogged, shed " + event.getType());
+        }
+        return queued;
+    }
+
+    private void trackEventInternal(String eventClass, String eventType, String category,
+                                    Map<String, String> properties, PropertyList typedProperties) {
+        long start = System.nanoTime();
+        try {
+            trackEventTimed(eventClass, eventType, category, properties, typedProperties);
+        } finally {
+            metrics.recordTrackLatency(System.nanoTime() - start);
+        }
+    }
+
+    private void trackEventTimed(String eventClass, String eventType, String category,
+                                 Map<String, String> properties, PropertyList typedProperties) {
+        registry.check(eventClass, category, eventType, properties, typedProperties);
+        if (aggregator.add(category, eventType, properties, typedProperties)) {
+            return;
+        }
+        // One read: the envelope and the user it was built for always belong together
+        TrackingState.Snapshot snapshot = state.get();
+        EventEnvelope envelope = snapshot.getEnvelope();
+        if (envelope == null) {
+            synchronized (readyLock) {
+                snapshot = state.get();
+                envelope = snapshot.getEnvelope();
+                if (envelope == null) {
+                    // Device info is still being gathered; keep the event until it is
+                    pending.add(eventClass, eventType, category, snapshot.getUserConfig(), properties,
+                            typedProperties, System.currentTimeMillis());
+                    return;
+                }
+            }
+        }
+        enqueue(eventClass, eventType, category, envelope, properties, typedProperties, System.currentTimeMillis());
+    }
+    
+    private void enqueue(String eventClass, String eventType, String category, EventEnvelope envelope,
+                         Map<String, String> properties, PropertyList typedProperties, long timestamp) {
+        // Sampled-out and rate-limited events stop here, before anything is copied or encoded
+        double weight = sampling.admit(category, eventType, samplingKey(envelope), System.nanoTime());
+        if (weight == SamplingRules.REJECTED) {
+            return;
+        }
+        // Hand off to the worker; encoding, journaling and upload never run on the caller's thread
+        boolean queued;
+        if (Tracing.ENABLED) Tracing.begin(Tracing.Section.ENQUEUE);
+        try {
+            queued = channel.offer(eventClass, eventType, category, envelope, properties, typedProperties, weight,
+                    timestamp);
+        } finally {
+            if (Tracing.ENABLED) Tracing.end(Tracing.Section.ENQUEUE);
+        }
+        if (queued) {
+            metrics.recordAccepted();
+        } else if (log.isEnabled(LogLevel.DEBUG)) {
+            log.debug("Event queue backlogged, shed " + eventType);
+        }
+    }
+    
+    private String samplingKey(EventEnvelope envelope) {
+        UserConfig user = envelope.getUserConfig();
+        if (!sampleBySession) {
+            if (user.getUserId() != null && !user.getUserId().isEmpty()) {
+                return user.getUserId();
+            }
+            if (user.getAnonymousId() != null && !user.getAnonymousId().isEmpty()) {
+                return user.getAnonymousId();
+            }
+        }
+        return user.getSessionId();
     }
     
     public EventBuilder iapEvent(String eventType) {
@@ -489,9 +1203,8 @@ public class GamePulse {
 
     public void startSession() {
         checkInitialized();
-        // Create new session in userConfig
-        String newSessionId = UUID.randomUUID().toString();
-        this.userConfig = new UserConfig(newSessionId, userConfig.getUserId(), userConfig.getAnonymousId());
+        // Keeps the user ids current when it lands, even if updateUserConfig() races it
+        state.startSession(IdGenerator.newUuid());
         
         userEvent(UserEvents.SESSION_START)
             .setProperties(new HashMap<>())
@@ -501,7 +1214,7 @@ public class GamePulse {
     public void endSession() {
         checkInitialized();
         
-        if (this.userConfig.getSessionId() == null) {
+        if (state.get().getUserConfig().getSessionId() == null) {
             return;
         }
         
@@ -512,15 +1225,18 @@ public class GamePulse {
 
     public void updateUserConfig(UserConfig newUserConfig) {
         checkInitialized();
-        this.userConfig = newUserConfig;
+        state.updateUserConfig(newUserConfig);
     }
     
     public UserConfig getUserConfig() {
-        return userConfig;
+        return state.get().getUserConfig();
     }
     
+    /**
+     * Null until device info has been gathered in the background after create()
+     */
     public DeviceInfo getDeviceInfo() {
-        return deviceInfo;
+        return state.get().getDeviceInfo();
     }
     
     // Missing event methods
@@ -564,37 +1280,76 @@ public class GamePulse {
         return new EventBuilder(eventType, EconomyEvents.CATEGORY, false);
     }
     
-    // Send event internally
-    private void sendEventInternal(JSONObject eventData) {
-        RequestBody body = RequestBody.create(eventData.toString(), JSON);
-        Request request = new Request.Builder()
-                .url(environment.getBaseUrl())
-                .addHeader("Content-Type", "application/json")
-                .addHeader("x-api-key", apiKey)
-                .post(body)
-                .build();
-
-        httpClient.newCall(request).enqueue(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                if (debug) {
-                    System.out.println("Gamepulse: Failed to send event: " + e.getMessage());
-                }
-            }
-
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                if (debug) {
-                    System.out.println("Gamepulse: Event sent successfully: " + response.code());
-                }
-                response.close();
-            }
-        });
+    /**
+     * Send all pending events now instead of waiting for the batch to fill
+     */
+    public void flush() {
+        checkInitialized();
+        channel.requestFlush();
+    }
+    
+    /**
+     * Events shed because the background worker fell behind, or because too many were tracked
+     * before device info was ready
+     */
+    public long getDroppedEventCount() {
+        return channel.getDroppedCount() + pending.getDroppedCount();
     }
     
-    // Public sendEvent method (for backwards compatibility)
-    private void sendEvent(JSONObject eventData) {
-        sendEventInternal(eventData);
+    /**
+     * Events of one category shed by its overflow policy
+     */
+    public long getDroppedEventCount(String category) {
+        return channel.getDroppedCount(category);
+    }
+    
+    /**
+     * Events not sent because their user or session is outside the type's sample
+     */
+    public long getSampledOutEventCount() {
+        return sampling.getSampledOutCount();
+    }
+    
+    /**
+     * Events not sent because their type exceeded its rate limit
+     */
+    public long getRateLimitedEventCount() {
+        return sampling.getRateLimitedCount();
+    }
+    
+    /**
+     * Events folded into rollup summaries instead of being sent one by one
+     */
+    public long getAggregatedEventCount() {
+        return aggregator.getAggregatedCount();
+    }
+    
+    /**
+     * Number of uploads currently allowed to run in parallel
+     */
+    public int getUploadConcurrency() {
+        return uploader.getConcurrencyLimiter().getLimit();
+    }
+    
+    /**
+     * Smoothed upload round trip in milliseconds, or -1 before the first response
+     */
+    public long getUploadRttMs() {
+        return uploader.getConcurrencyLimiter().getSmoothedRttMs();
+    }
+    
+    /**
+     * Fastest recent upload round trip in milliseconds, or -1 before the first response
+     */
+    public long getMinUploadRttMs() {
+        return uploader.getConcurrencyLimiter().getMinRttMs();
+    }
+    
+    /**
+     * The SDK's own counters and latency histograms, totals since create()
+     */
+    public MetricsSnapshot getMetrics() {
+        return metrics.snapshot(getDroppedEventCount(), channel.getQueueDepth());
     }
     
 
@@ -603,6 +1358,7 @@ public class GamePulse {
         private final String eventCategory;
         private final boolean isCustom;
         private Map<String, String> properties = new HashMap<>();
+        private PropertyList typedProperties;
 
 
         EventBuilder(String type, String category, boolean isCustom) {
@@ -618,52 +1374,63 @@ public class GamePulse {
             return this;
         }
 
+        public EventBuilder setProperty(String key, String value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        /**
+         * Numeric and boolean values are sent as JSON numbers and booleans, without String conversion
+         */
+        public EventBuilder setProperty(String key, long value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        public EventBuilder setProperty(String key, double value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        public EventBuilder setProperty(String key, boolean value) {
+            typedProperties().put(key, value);
+            return this;
+        }
+
+        private PropertyList typedProperties() {
+            if (typedProperties == null) {
+                typedProperties = new PropertyList();
+            }
+            return typedProperties;
+        }
+
         public void track() {
             checkInitialized();
-            
-            JSONObject json = new JSONObject();
-            try {
-                // Add common fields
-                json.put("type", isCustom ? "CUSTOM" : "SYSTEM");
-                json.put("value", eventType);
-                json.put("category", eventCategory);
-                
-                // Add device info
-                json.put("platform", deviceInfo.getPlatform());
-                json.put("osVersion", deviceInfo.getOsVersion());
-                json.put("deviceModel", deviceInfo.getDeviceModel());
-                json.put("deviceManufacturer", deviceInfo.getDeviceManufacturer());
-                json.put("appVersion", deviceInfo.getAppVersion());
-                json.put("screenResolution", deviceInfo.getScreenResolution());
-                
-                // Add user/session info
-                json.put("userId", userConfig.getUserId() != null ? userConfig.getUserId() : "");
-                json.put("anonymousId", userConfig.getAnonymousId() != null ? userConfig.getAnonymousId() : "");
-                json.put("sessionId", userConfig.getSessionId());
-                
-                // Add timestamp
-                json.put("timezone", java.util.TimeZone.getDefault().getID());
-                json.put("localDateTime", java.time.Instant.now().toString());
-                
-                // Add properties
-                JSONObject propsJson = new JSONObject();
-                for (Map.Entry<String, String> entry : properties.entrySet()) {
-                    propsJson.put(entry.getKey(), entry.getValue());
-                }
-                json.put("properties", propsJson);
-                
-                // Send the event
-                GamePulse.this.sendEventInternal(json);
-                
-            } catch (JSONException e) {
-                // Silent fail for performance
-            }
+            trackEventInternal(isCustom ? "CUSTOM" : "SYSTEM", eventType, eventCategory, properties, typedProperties);
         }
     }
 
-    private DeviceInfo autoFetchDeviceInfo() {
+    /**
+     * Device info for this launch; the app version is cached until the app is updated, the rest is
+     * read fresh on the init thread
+     */
+    private DeviceInfo loadDeviceInfo() {
+        DeviceInfoCache cache;
+        try {
+            cache = new DeviceInfoCache(context);
+        } catch (RuntimeException e) {
+            return autoFetchDeviceInfo(getAppVersion());
+        }
+        String appVersion = cache.loadAppVersion();
+        if (appVersion == null) {
+            appVersion = getAppVersion();
+            cache.storeAppVersion(appVersion);
+        }
+        return autoFetchDeviceInfo(appVersion);
+    }
+    
+    private DeviceInfo autoFetchDeviceInfo(String appVersion) {
         try {
-            String appVersion = getAppVersion();
             String osVersion = Build.VERSION.RELEASE;
             String deviceModel = Build.MODEL;
             String deviceManufacturer = Build.MANUFACTURER;
@@ -683,7 +1450,7 @@ public class GamePulse {
             return new DeviceInfo(
                 "ANDROID", // Platform is hardcoded for Android SDK
                 "unknown",
-                "1.0.0",
+                appVersion,
                 "unknown",
                 "unknown",
                 "unknown"
@@ -716,7 +1483,7 @@ public class GamePulse {
     }
 
     private void checkInitialized() {
-        if (!isInitialized) {
+        if (!published) {
             throw new IllegalStateException("Gamepulse must be initialized first. Call Gamepulse.init()");
         }
     }
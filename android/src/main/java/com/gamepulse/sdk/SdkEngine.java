@@ -0,0 +1,134 @@
+package com.gamepulse.sdk;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+
+import com.gamepulse.sdk.clock.EventClock;
+import com.gamepulse.sdk.location.LocationCache;
+import com.gamepulse.sdk.queue.EventDispatcher;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Threads, HTTP stack and storage shared by every GamePulse instance in the process
+ * - One worker thread and event ring; each instance tracks through its own channel
+ * - One OkHttpClient and connection pool; each instance uploads with its own key and URL
+ * - One scheduler thread for batch flush timers, retries, rollups and metrics snapshots
+ * - One storage directory; named instances keep their journals in a subdirectory of it
+ * - One location cache, started by the first instance that asks for location enrichment
+ * - One timezone-change receiver, registered by the first instance, that refreshes every clock
+ * - Created by the first create(), whose queue capacity then applies to every instance
+ */
+final class SdkEngine {
+
+    // Guarded by GamePulse.class, like the instance registry
+    private static SdkEngine shared;
+
+    final OkHttpClient httpClient;
+    final EventDispatcher dispatcher;
+    final ScheduledExecutorService scheduler;
+    private final Dispatcher httpDispatcher;
+    private final File storageRoot;
+    private LocationCache location;
+    private final CopyOnWriteArrayList<EventClock> clocks = new CopyOnWriteArrayList<>();
+    private boolean watchingTimezone;
+
+    private SdkEngine(Context context, int queueCapacity, int maxConcurrentUploads) {
+        // The limiters decide how many uploads run; OkHttp's own per-host cap must not be lower
+        this.httpDispatcher = new Dispatcher();
+        httpDispatcher.setMaxRequestsPerHost(maxConcurrentUploads);
+        // Over HTTP/2 all uploads, from every instance, multiplex onto a single connection
+        this.httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(2, 5, TimeUnit.MINUTES))
+                .dispatcher(httpDispatcher)
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .writeTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .build();
+        this.dispatcher = new EventDispatcher(queueCapacity);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "GamePulse-Scheduler");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.storageRoot = new File(context.getFilesDir(), "gamepulse");
+    }
+
+    /**
+     * The process-wide engine, created on first use; caller holds GamePulse.class
+     */
+    static SdkEngine get(Context context, int queueCapacity, int maxConcurrentUploads) {
+        if (shared == null) {
+            shared = new SdkEngine(context, queueCapacity, maxConcurrentUploads);
+        } else {
+            shared.allowUploadsPerHost(maxConcurrentUploads);
+        }
+        return shared;
+    }
+
+    /**
+     * Where an instance keeps its journal; the default instance keeps the original location
+     */
+    File storageDir(String instanceName) {
+        return GamePulse.DEFAULT_INSTANCE.equals(instanceName)
+                ? storageRoot
+                : new File(storageRoot, "instances/" + instanceName);
+    }
+
+    /**
+     * The shared location cache, started on first use at that refresh interval; null without
+     * location permission. Caller holds GamePulse.class
+     */
+    LocationCache location(Context context, long refreshIntervalMs) {
+        if (location == null) {
+            location = LocationCache.start(context, refreshIntervalMs);
+        }
+        return location;
+    }
+
+    /**
+     * Refresh this clock's timezone whenever the device's changes; the receiver is registered
+     * once, on first use, and fans out to every instance's clock. Caller holds GamePulse.class
+     */
+    void watchTimezone(Context context, EventClock clock) {
+        clocks.add(clock);
+        if (watchingTimezone) {
+            return;
+        }
+        watchingTimezone = true;
+        // Registered on the application context: it outlives every Activity, so the receiver
+        // is never unregistered under the other instances. Protected system broadcast, so no
+        // export flag is needed on API 34
+        context.getApplicationContext().registerReceiver(new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                for (EventClock clock : clocks) {
+                    clock.refreshTimezone();
+                }
+            }
+        }, new IntentFilter(Intent.ACTION_TIMEZONE_CHANGED));
+    }
+
+    private void allowUploadsPerHost(int maxConcurrentUploads) {
+        if (httpDispatcher.getMaxRequestsPerHost() < maxConcurrentUploads) {
+            httpDispatcher.setMaxRequestsPerHost(maxConcurrentUploads);
+        }
+    }
+}
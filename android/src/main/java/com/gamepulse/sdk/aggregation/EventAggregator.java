@@ -0,0 +1,243 @@
+package com.gamepulse.sdk.aggregation;
+
+import com.gamepulse.sdk.encoding.EventEnvelope;
+import com.gamepulse.sdk.queue.EventRecord;
+import com.gamepulse.sdk.queue.EventRingBuffer;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Folds configured high-frequency event types into one summary event per window
+ * - Matching events update lock-free counters on the caller's thread and are not queued
+ * - Groups are keyed by the values of the rule's groupBy properties; an event with a
+ *   numeric value property also feeds sum, min and max
+ * - drain() runs on the worker and emits one {@link #EVENT_CLASS} event per non-empty group,
+ *   with the group values, count, sum, min, max, windowStart and windowMs as properties
+ * - Each rule holds at most {@link #MAX_GROUPS} groups at a time; events for further groups are
+ *   sent as they are rather than aggregated, so memory stays bounded
+ * - A group that saw no events for a whole window is dropped at drain(), freeing its slot
+ *
+ * GamePulse folds events into a {@link #copy()} taken at create(), whose rule maps are never
+ * written again, so game threads read them without locking.
+ */
+public final class EventAggregator {
+
+    public static final String EVENT_CLASS = "AGGREGATE";
+    public static final int MAX_GROUPS = 256;
+
+    private static final String[] NO_GROUP = new String[0];
+    // Joins several group values into one map key; not expected inside property values
+    private static final char GROUP_SEPARATOR = '\u001F';
+
+    private static final class Rule {
+        final String category;
+        final String type;
+        final String valueProperty;
+        final String[] groupBy;
+        final Rollup ungrouped;
+        final ConcurrentHashMap<String, Rollup> groups = new ConcurrentHashMap<>();
+
+        Rule(String category, String type, String valueProperty, String[] groupBy) {
+            this.category = category;
+            this.type = type;
+            this.valueProperty = valueProperty;
+            this.groupBy = groupBy;
+            this.ungrouped = groupBy.length == 0 ? new Rollup(NO_GROUP) : null;
+        }
+    }
+
+    private final Map<String, Map<String, Rule>> rules = new HashMap<>();
+    private final List<Rule> allRules = new ArrayList<>();
+    private final AtomicLong aggregated = new AtomicLong();
+    private long windowStart = System.currentTimeMillis();
+
+    /**
+     * Aggregate category/type, summing valueProperty (null to count only) per combination of groupBy values
+     */
+    public EventAggregator aggregate(String category, String type, String valueProperty, String... groupBy) {
+        if (category == null || type == null) {
+            throw new IllegalArgumentException("Category and type are required");
+        }
+        Map<String, Rule> types = rules.get(category);
+        if (types == null) {
+            types = new HashMap<>();
+            rules.put(category, types);
+        }
+        if (types.containsKey(type)) {
+            throw new IllegalArgumentException("Already aggregated: " + category + "/" + type);
+        }
+        Rule rule = new Rule(category, type, valueProperty, groupBy != null ? groupBy.clone() : NO_GROUP);
+        types.put(type, rule);
+        allRules.add(rule);
+        return this;
+    }
+
+    /**
+     * Independent copy of the rules, with empty rollups and a new window
+     */
+    public EventAggregator copy() {
+        EventAggregator copy = new EventAggregator();
+        for (Rule rule : allRules) {
+            copy.aggregate(rule.category, rule.type, rule.valueProperty, rule.groupBy);
+        }
+        return copy;
+    }
+
+    public boolean isEmpty() {
+        return allRules.isEmpty();
+    }
+
+    /**
+     * Fold the event into its rollup; false if it is not aggregated and should be sent as usual
+     */
+    public boolean add(String category, String type, Map<String, String> properties, PropertyList typedProperties) {
+        Map<String, Rule> types = category != null ? rules.get(category) : null;
+        Rule rule = types != null && type != null ? types.get(type) : null;
+        if (rule == null) {
+            return false;
+        }
+        double value = rule.valueProperty != null
+                ? value(rule.valueProperty, properties, typedProperties)
+                : Double.NaN;
+        while (true) {
+            Rollup rollup = rule.ungrouped != null ? rule.ungrouped : group(rule, properties, typedProperties);
+            if (rollup == null) {
+                return false;
+            }
+            if (Double.isNaN(value) ? rollup.add() : rollup.add(value)) {
+                aggregated.incrementAndGet();
+                return true;
+            }
+            // Retired by drain() between the lookup and the add; the next lookup makes a new one
+        }
+    }
+
+    /**
+     * Close the window and hand one summary event per non-empty group to the consumer; worker thread only
+     */
+    public int drain(EventEnvelope envelope, long now, EventRecord scratch, EventRingBuffer.Consumer consumer) {
+        long start = windowStart;
+        windowStart = now;
+        int emitted = 0;
+        for (Rule rule : allRules) {
+            if (rule.ungrouped != null) {
+                emitted += emit(rule, rule.ungrouped, envelope, start, now, scratch, consumer);
+            } else {
+                for (Map.Entry<String, Rollup> group : rule.groups.entrySet()) {
+                    Rollup rollup = group.getValue();
+                    int sent = emit(rule, rollup, envelope, start, now, scratch, consumer);
+                    if (sent == 0 && rollup.retire()) {
+                        rule.groups.remove(group.getKey(), rollup);
+                    }
+                    emitted += sent;
+                }
+            }
+        }
+        return emitted;
+    }
+
+    /**
+     * Events folded into rollups instead of being sent one by one
+     */
+    public long getAggregatedCount() {
+        return aggregated.get();
+    }
+
+    private static int emit(Rule rule, Rollup rollup, EventEnvelope envelope, long start, long now,
+                            EventRecord scratch, EventRingBuffer.Consumer consumer) {
+        if (!rollup.reset()) {
+            return 0;
+        }
+        scratch.set(EVENT_CLASS, rule.type, rule.category, envelope, now);
+        PropertyList properties = scratch.getProperties();
+        for (int i = 0; i < rule.groupBy.length; i++) {
+            properties.put(rule.groupBy[i], rollup.groupValues[i]);
+        }
+        properties.put("count", rollup.windowCount);
+        if (rule.valueProperty != null) {
+            properties.put("field", rule.valueProperty);
+            properties.put("sum", rollup.windowSum);
+            // Infinite while no valued event landed in the window; PropertyList skips those
+            properties.put("min", rollup.windowMin);
+            properties.put("max", rollup.windowMax);
+        }
+        properties.put("windowStart", start);
+        properties.put("windowMs", now - start);
+        consumer.onEvent(scratch);
+        return 1;
+    }
+
+    private static Rollup group(Rule rule, Map<String, String> properties, PropertyList typedProperties) {
+        String key;
+        if (rule.groupBy.length == 1) {
+            key = string(rule.groupBy[0], properties, typedProperties);
+        } else {
+            StringBuilder builder = new StringBuilder();
+            for (String property : rule.groupBy) {
+                builder.append(string(property, properties, typedProperties)).append(GROUP_SEPARATOR);
+            }
+            key = builder.toString();
+        }
+        Rollup rollup = rule.groups.get(key);
+        if (rollup != null) {
+            return rollup;
+        }
+        if (rule.groups.size() >= MAX_GROUPS) {
+            return null;
+        }
+        String[] values = new String[rule.groupBy.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = string(rule.groupBy[i], properties, typedProperties);
+        }
+        Rollup created = new Rollup(values);
+        rollup = rule.groups.putIfAbsent(key, created);
+        return rollup != null ? rollup : created;
+    }
+
+    private static String string(String key, Map<String, String> properties, PropertyList typedProperties) {
+        int index = typedProperties != null ? typedProperties.indexOf(key) : -1;
+        if (index >= 0) {
+            switch (typedProperties.getType(index)) {
+                case PropertyList.LONG:
+                    return Long.toString(typedProperties.getLong(index));
+                case PropertyList.DOUBLE:
+                    return Double.toString(typedProperties.getDouble(index));
+                case PropertyList.BOOLEAN:
+                    return typedProperties.getBoolean(index) ? "true" : "false";
+                default:
+                    return typedProperties.getString(index);
+            }
+        }
+        String value = properties != null ? properties.get(key) : null;
+        return value != null ? value : "";
+    }
+
+    private static double value(String key, Map<String, String> properties, PropertyList typedProperties) {
+        int index = typedProperties != null ? typedProperties.indexOf(key) : -1;
+        if (index >= 0) {
+            switch (typedProperties.getType(index)) {
+                case PropertyList.LONG:
+                    return typedProperties.getLong(index);
+                case PropertyList.DOUBLE:
+                    return typedProperties.getDouble(index);
+                default:
+                    return Double.NaN;
+            }
+        }
+        String value = properties != null ? properties.get(key) : null;
+        if (value == null) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
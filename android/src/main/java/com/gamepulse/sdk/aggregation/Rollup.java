@@ -0,0 +1,119 @@
+package com.gamepulse.sdk.aggregation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count, sum, min and max of one aggregated group, updated lock-free from game threads
+ * - Doubles are kept as raw bits in AtomicLongs and updated with CAS loops
+ * - reset() moves each field to the next window on its own; an event racing the window
+ *   boundary may count in one window and sum in the next, but nothing is lost
+ * - A window can thus hold a value with a count of 0; reset() still moves it out, so the
+ *   summary reports it with count 0
+ * - retire() closes an empty rollup for good; adds then return false so the caller can look
+ *   the group up again instead of writing into a rollup that is no longer drained. It refuses
+ *   while an add is still writing its value, or while a value is left over from one
+ */
+final class Rollup {
+
+    private static final long EMPTY_MIN = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+    private static final long EMPTY_MAX = Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY);
+    private static final long ZERO = Double.doubleToRawLongBits(0);
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    final String[] groupValues;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong(ZERO);
+    private final AtomicLong min = new AtomicLong(EMPTY_MIN);
+    private final AtomicLong max = new AtomicLong(EMPTY_MAX);
+    // Adds between claiming the count and writing their value
+    private final AtomicInteger writing = new AtomicInteger();
+
+    // Snapshot taken by reset(), read by the emitting thread only
+    long windowCount;
+    double windowSum;
+    double windowMin;
+    double windowMax;
+
+    Rollup(String[] groupValues) {
+        this.groupValues = groupValues;
+    }
+
+    boolean add() {
+        return claim();
+    }
+
+    boolean add(double value) {
+        // Counted before the claim, so retire() cannot succeed while the value is pending
+        writing.incrementAndGet();
+        try {
+            if (!claim()) {
+                return false;
+            }
+            record(value);
+            return true;
+        } finally {
+            writing.decrementAndGet();
+        }
+    }
+
+    /**
+     * Move the current window into the snapshot fields and start a new one; false if it was empty
+     */
+    boolean reset() {
+        windowCount = count.getAndSet(0);
+        if (windowCount == 0 && !hasValue()) {
+            return false;
+        }
+        windowSum = Double.longBitsToDouble(sum.getAndSet(ZERO));
+        windowMin = Double.longBitsToDouble(min.getAndSet(EMPTY_MIN));
+        windowMax = Double.longBitsToDouble(max.getAndSet(EMPTY_MAX));
+        return true;
+    }
+
+    /**
+     * Close the rollup if nothing was added since the last reset; false if an add got in first
+     */
+    boolean retire() {
+        if (writing.get() != 0 || hasValue()) {
+            return false;
+        }
+        return count.compareAndSet(0, RETIRED);
+    }
+
+    private void record(double value) {
+        while (true) {
+            long current = sum.get();
+            if (sum.compareAndSet(current, Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value))) {
+                break;
+            }
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        for (long current = min.get(); value < Double.longBitsToDouble(current); current = min.get()) {
+            if (min.compareAndSet(current, bits)) {
+                break;
+            }
+        }
+        for (long current = max.get(); value > Double.longBitsToDouble(current); current = max.get()) {
+            if (max.compareAndSet(current, bits)) {
+                break;
+            }
+        }
+    }
+
+    private boolean hasValue() {
+        return sum.get() != ZERO || min.get() != EMPTY_MIN || max.get() != EMPTY_MAX;
+    }
+
+    private boolean claim() {
+        while (true) {
+            long current = count.get();
+            if (current == RETIRED) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.gamepulse.sdk.clock;
+
+import java.util.TimeZone;
+
+/**
+ * Time source for stamping events
+ * - The timezone id is cached and only re-read on {@link #refreshTimezone()}
+ * - Timestamps are formatted as ISO-8601 UTC with milliseconds straight into a byte buffer
+ * - Sequence numbers start at 0 for every session and grow by one per event, so the
+ *   collector can order a session's events even if the wall clock jumps
+ * - With a {@link SequenceStore} a session's count continues after a restart; without one,
+ *   (session, sequence) is only unique within one process
+ * - The offset to the collector's clock is estimated from the Date header of uploads
+ */
+public final class EventClock {
+
+    /**
+     * Keeps the next sequence number of a session across restarts; called on the worker thread
+     */
+    public interface SequenceStore {
+        /**
+         * Next sequence number saved for this session, or 0 if there is none
+         */
+        long load(String sessionId);
+
+        /**
+         * Called for every event, so it must not block
+         */
+        void save(String sessionId, long next);
+    }
+
+    public static final long UNKNOWN_OFFSET = Long.MIN_VALUE;
+
+    /**
+     * Length of a formatted timestamp: yyyy-MM-ddTHH:mm:ss.SSSZ
+     */
+    public static final int TIMESTAMP_LENGTH = 24;
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    // Date headers have one-second resolution; the true server time is on average half a second later
+    private static final long DATE_HEADER_ROUNDING_MS = 500;
+
+    private volatile String timezone;
+    private volatile long serverOffset = UNKNOWN_OFFSET;
+    private long bestRoundTrip = Long.MAX_VALUE;
+    private final SequenceStore sequences;
+
+    // Worker thread only
+    private String sequenceSession;
+    private long sequence;
+
+    public EventClock() {
+        this(null);
+    }
+
+    /**
+     * @param sequences where sequence numbers are persisted, or null to keep them in memory
+     */
+    public EventClock(SequenceStore sequences) {
+        this.sequences = sequences;
+        refreshTimezone();
+    }
+
+    /**
+     * Re-read the default timezone, e.g. after ACTION_TIMEZONE_CHANGED
+     */
+    public void refreshTimezone() {
+        timezone = TimeZone.getDefault().getID();
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    /**
+     * Next sequence number for the session; call from the single worker thread only
+     */
+    public long nextSequence(String sessionId) {
+        boolean persisted = sequences != null && sessionId != null;
+        if (sessionId == null ? sequenceSession != null : !sessionId.equals(sequenceSession)) {
+            sequenceSession = sessionId;
+            sequence = persisted ? sequences.load(sessionId) : 0;
+        }
+        long next = sequence++;
+        if (persisted) {
+            sequences.save(sessionId, sequence);
+        }
+        return next;
+    }
+
+    /**
+     * Feed one upload's Date header and local send/receive times, all in epoch milliseconds
+     * - Samples with a round trip much slower than the best seen are skipped, since their
+     *   midpoint is the least reliable
+     */
+    public synchronized void recordServerDate(long serverDate, long sentAt, long receivedAt) {
+        long roundTrip = receivedAt - sentAt;
+        if (roundTrip < 0) {
+            return;
+        }
+        if (serverOffset != UNKNOWN_OFFSET && roundTrip > 2 * bestRoundTrip + 100) {
+            return;
+        }
+        bestRoundTrip = Math.min(bestRoundTrip, roundTrip);
+
+        long sample = serverDate + DATE_HEADER_ROUNDING_MS - (sentAt + roundTrip / 2);
+        serverOffset = serverOffset == UNKNOWN_OFFSET ? sample : serverOffset + (sample - serverOffset) / 4;
+    }
+
+    /**
+     * Server time minus device time in milliseconds, or {@link #UNKNOWN_OFFSET} before the first upload
+     */
+    public long getServerOffset() {
+        return serverOffset;
+    }
+
+    /**
+     * Write epoch milliseconds as yyyy-MM-ddTHH:mm:ss.SSSZ; returns the position after the last byte
+     */
+    public static int formatTimestamp(long epochMillis, byte[] out, int offset) {
+        long days = epochMillis / MILLIS_PER_DAY;
+        int millisOfDay = (int) (epochMillis % MILLIS_PER_DAY);
+        if (millisOfDay < 0) {
+            days--;
+            millisOfDay += MILLIS_PER_DAY;
+        }
+
+        // Civil date from days since 1970-01-01 (proleptic Gregorian)
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        int pos = offset;
+        pos = digits(year, 4, out, pos);
+        out[pos++] = '-';
+        pos = digits(month, 2, out, pos);
+        out[pos++] = '-';
+        pos = digits(day, 2, out, pos);
+        out[pos++] = 'T';
+        pos = digits(millisOfDay / 3_600_000, 2, out, pos);
+        out[pos++] = ':';
+        pos = digits(millisOfDay / 60_000 % 60, 2, out, pos);
+        out[pos++] = ':';
+        pos = digits(millisOfDay / 1000 % 60, 2, out, pos);
+        out[pos++] = '.';
+        pos = digits(millisOfDay % 1000, 3, out, pos);
+        out[pos++] = 'Z';
+        return pos;
+    }
+
+    private static int digits(int value, int width, byte[] out, int pos) {
+        for (int i = width - 1; i >= 0; i--) {
+            out[pos + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
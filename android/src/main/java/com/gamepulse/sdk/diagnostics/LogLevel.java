@@ -0,0 +1,19 @@
+package com.gamepulse.sdk.diagnostics;
+
+/**
+ * How much the SDK writes to the log; each level includes the ones above it
+ */
+public enum LogLevel {
+    NONE(Integer.MAX_VALUE),
+    ERROR(6),
+    WARN(5),
+    INFO(4),
+    DEBUG(3);
+
+    // android.util.Log priority
+    final int priority;
+
+    LogLevel(int priority) {
+        this.priority = priority;
+    }
+}
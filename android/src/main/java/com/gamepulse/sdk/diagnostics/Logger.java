@@ -0,0 +1,56 @@
+package com.gamepulse.sdk.diagnostics;
+
+import android.util.Log;
+
+/**
+ * SDK log output at a configured {@link LogLevel}
+ * - Goes to logcat on Android and to System.out on a plain JVM (tests, benchmarks)
+ * - Check {@link #isEnabled} before building a message, so a disabled level costs one compare
+ */
+public final class Logger {
+
+    static final String TAG = "GamePulse";
+    // ART reports itself as Dalvik too
+    static final boolean ON_ANDROID = "Dalvik".equals(System.getProperty("java.vm.name"));
+
+    private final LogLevel level;
+
+    public Logger(LogLevel level) {
+        this.level = level;
+    }
+
+    public boolean isEnabled(LogLevel messageLevel) {
+        return messageLevel.priority >= level.priority;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public void error(String message) {
+        log(LogLevel.ERROR, message);
+    }
+
+    public void warn(String message) {
+        log(LogLevel.WARN, message);
+    }
+
+    public void info(String message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    private void log(LogLevel messageLevel, String message) {
+        if (!isEnabled(messageLevel)) {
+            return;
+        }
+        if (ON_ANDROID) {
+            Log.println(messageLevel.priority, TAG, message);
+        } else {
+            System.out.println(TAG + " " + messageLevel + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.gamepulse.sdk.diagnostics;
+
+import com.gamepulse.sdk.BuildConfig;
+import com.gamepulse.sdk.metrics.HistogramSnapshot;
+import com.gamepulse.sdk.metrics.LatencyHistogram;
+
+/**
+ * Trace sections around the SDK's hot paths
+ * - Every hook is written as {@code if (Tracing.ENABLED) Tracing.begin(...)}; ENABLED is a
+ *   compile-time constant, so with tracing off javac drops the hooks from the bytecode
+ * - Build with {@code -Pgamepulse.trace=true} to compile them in
+ * - On Android sections go to android.os.Trace and show up in Perfetto and systrace
+ * - On a plain JVM each section's durations are kept in a histogram, read with {@link #snapshot}
+ * - Sections must end on the thread that began them, innermost first
+ */
+public final class Tracing {
+
+    public static final boolean ENABLED = BuildConfig.TRACING;
+
+    public enum Section {
+        SERIALIZE("GamePulse.serialize"),
+        ENQUEUE("GamePulse.enqueue"),
+        JOURNAL_WRITE("GamePulse.journalWrite"),
+        UPLOAD("GamePulse.upload"),
+        UPLOAD_RESPONSE("GamePulse.uploadResponse");
+
+        final String label;
+
+        Section(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final int MAX_DEPTH = 16;
+    private static final LatencyHistogram[] DURATIONS = new LatencyHistogram[Section.values().length];
+    // Start times of the sections open on this thread, innermost last
+    private static final ThreadLocal<long[]> STARTS = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[MAX_DEPTH + 1];
+        }
+    };
+
+    static {
+        for (int i = 0; i < DURATIONS.length; i++) {
+            DURATIONS[i] = new LatencyHistogram();
+        }
+    }
+
+    private Tracing() {
+    }
+
+    public static void begin(Section section) {
+        if (Logger.ON_ANDROID) {
+            android.os.Trace.beginSection(section.label);
+            return;
+        }
+        // Slot 0 is the depth; deeper sections than MAX_DEPTH are counted but not timed
+        long[] starts = STARTS.get();
+        int depth = (int) ++starts[0];
+        if (depth <= MAX_DEPTH) {
+            starts[depth] = System.nanoTime();
+        }
+    }
+
+    public static void end(Section section) {
+        if (Logger.ON_ANDROID) {
+            android.os.Trace.endSection();
+            return;
+        }
+        long[] starts = STARTS.get();
+        int depth = (int) starts[0]--;
+        if (depth >= 1 && depth <= MAX_DEPTH) {
+            DURATIONS[section.ordinal()].record(System.nanoTime() - starts[depth]);
+        }
+    }
+
+    /**
+     * Durations of one section in nanoseconds, on the JVM; empty on Android or with tracing off
+     */
+    public static HistogramSnapshot snapshot(Section section) {
+        return DURATIONS[section.ordinal()].snapshot();
+    }
+}
@@ -0,0 +1,82 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.clock.EventClock;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import okio.Buffer;
+
+/**
+ * Turns a {@link BinaryBatchFormat} payload back into the equivalent JSON array
+ * - Used when the collector rejects the binary content type
+ */
+public final class BinaryBatchDecoder {
+
+    private BinaryBatchDecoder() {}
+
+    public static byte[] toJson(byte[] batch) {
+        BinaryReader reader = new BinaryReader(batch);
+        for (byte b : BinaryBatchFormat.MAGIC) {
+            if (reader.readByte() != (b & 0xFF)) {
+                throw new IllegalArgumentException("Not a binary event batch");
+            }
+        }
+        int version = reader.readByte();
+        if (version != BinaryBatchFormat.FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported batch version " + version);
+        }
+
+        String[] table = new String[reader.readVarint()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = reader.readString();
+        }
+
+        int count = reader.readVarint();
+        JsonEventEncoder encoder = new JsonEventEncoder();
+        String[] envelope = new String[EventEnvelope.FIELD_NAMES.length];
+        PropertyList properties = new PropertyList();
+        Buffer out = new Buffer();
+
+        for (int i = 0; i < count; i++) {
+            boolean hasId = reader.readVarint() != 0;
+            long eventIdHigh = hasId ? reader.readFixed64() : 0;
+            long eventIdLow = hasId ? reader.readFixed64() : 0;
+            int classId = reader.readVarint();
+            String eventClass = classId != 0 ? EventDictionary.eventClass(classId) : ref(reader, table);
+            int categoryId = reader.readVarint();
+            String category = categoryId != 0 ? EventDictionary.category(categoryId) : ref(reader, table);
+            int typeId = reader.readVarint();
+            String type = typeId != 0 ? EventDictionary.type(typeId) : ref(reader, table);
+
+            for (int field = 0; field < envelope.length; field++) {
+                envelope[field] = ref(reader, table);
+            }
+            String timezone = ref(reader, table);
+            String localDateTime = reader.readString();
+            long sequence = reader.readVarlong() - 1;
+            long offset = reader.readVarlong();
+            long clockOffset = offset == 0 ? EventClock.UNKNOWN_OFFSET : ((offset - 1) >>> 1) ^ -((offset - 1) & 1);
+            double sampleWeight = reader.readSampleWeight();
+
+            int propertyCount = reader.readVarint();
+            properties.clear();
+            for (int p = 0; p < propertyCount; p++) {
+                reader.readValue(ref(reader, table), properties);
+            }
+
+            encoder.encode(eventClass, type, category, envelope, timezone, localDateTime,
+                    eventIdHigh, eventIdLow, sequence, clockOffset, sampleWeight, properties);
+            out.writeByte(i == 0 ? '[' : ',');
+            out.write(encoder.buffer(), 0, encoder.size());
+        }
+        if (count == 0) {
+            out.writeByte('[');
+        }
+        out.writeByte(']');
+        return out.readByteArray();
+    }
+
+    private static String ref(BinaryReader reader, String[] table) {
+        int index = reader.readVarint();
+        return index == 0 ? null : table[index - 1];
+    }
+}
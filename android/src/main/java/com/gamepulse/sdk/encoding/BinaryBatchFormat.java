@@ -0,0 +1,141 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.queue.BatchFormat;
+
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okio.Buffer;
+
+/**
+ * Compact binary batch built from {@link BinaryEventEncoder} records
+ * - Header: 'G' 'P' 'B' version, then a string table encoded like inline strings
+ * - Device/user fields, timezone, unknown class/category/type names and property keys are
+ *   written once to the table and referenced by varint(index + 1); 0 is null
+ * - Event ids, timestamps and typed property values stay inline, since they rarely repeat
+ * - Records of an older version, or that fail to parse, are left out of the batch instead of
+ *   failing it, so one bad journal entry cannot block every upload after it
+ */
+public class BinaryBatchFormat implements BatchFormat {
+
+    public static final String CONTENT_TYPE = "application/x-gamepulse-batch; version=5";
+
+    static final byte[] MAGIC = { 'G', 'P', 'B' };
+    static final int FORMAT_VERSION = 5;
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public boolean canBatch(byte[] record) {
+        return BinaryEventEncoder.isCurrentVersion(record);
+    }
+
+    @Override
+    public void writeRecord(Buffer pending, int index, byte[] data, int offset, int length) {
+        BinaryReader.writeVarint(pending, length);
+        pending.write(data, offset, length);
+    }
+
+    @Override
+    public byte[] finish(Buffer pending, int count) {
+        Map<String, Integer> table = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        Buffer body = new Buffer();
+        Buffer encoded = new Buffer();
+        int written = 0;
+
+        for (int i = 0; i < count; i++) {
+            byte[] data;
+            try {
+                data = pending.readByteArray(BinaryReader.readVarint(pending));
+            } catch (EOFException | IllegalArgumentException e) {
+                // Nothing after this point can be framed again
+                break;
+            }
+            try {
+                if (copyRecord(new BinaryReader(data), encoded, table, entries)) {
+                    body.write(encoded, encoded.size());
+                    written++;
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                // Unreadable record: drop it rather than the rest of the batch
+            }
+            encoded.clear();
+        }
+        pending.clear();
+
+        Buffer out = new Buffer();
+        out.write(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        BinaryReader.writeVarint(out, entries.size());
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            BinaryReader.writeVarint(out, bytes.length + 1);
+            out.write(bytes);
+        }
+        BinaryReader.writeVarint(out, written);
+        out.write(body, body.size());
+        return out.readByteArray();
+    }
+
+    /**
+     * Re-encode one record against the batch string table; false if it is of another version
+     */
+    private static boolean copyRecord(BinaryReader record, Buffer body, Map<String, Integer> table,
+                                      List<String> entries) {
+        int version = record.readVarint();
+        if (version != BinaryEventEncoder.RECORD_VERSION) {
+            return false;
+        }
+        record.copyEventId(body);
+
+        // Class, category, type
+        for (int code = 0; code < 3; code++) {
+            int id = record.readVarint();
+            BinaryReader.writeVarint(body, id);
+            if (id == 0) {
+                writeRef(body, table, entries, record.readString());
+            }
+        }
+
+        // Envelope and timezone
+        for (int field = 0; field <= EventEnvelope.FIELD_NAMES.length; field++) {
+            writeRef(body, table, entries, record.readString());
+        }
+
+        // localDateTime, sequence, clock offset, sample weight
+        record.copyString(body);
+        record.copyVarlong(body);
+        record.copyVarlong(body);
+        record.copySampleWeight(body);
+
+        int propertyCount = record.readVarint();
+        BinaryReader.writeVarint(body, propertyCount);
+        for (int p = 0; p < propertyCount; p++) {
+            writeRef(body, table, entries, record.readString());
+            record.copyValue(body);
+        }
+        return true;
+    }
+
+    private static void writeRef(Buffer body, Map<String, Integer> table, List<String> entries, String value) {
+        if (value == null) {
+            BinaryReader.writeVarint(body, 0);
+            return;
+        }
+        Integer index = table.get(value);
+        if (index == null) {
+            index = entries.size();
+            table.put(value, index);
+            entries.add(value);
+        }
+        BinaryReader.writeVarint(body, index + 1);
+    }
+}
@@ -0,0 +1,230 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.clock.EventClock;
+import com.gamepulse.sdk.queue.EventRecord;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Encodes one event as a self-contained binary record
+ * - Event class, category and type are varint dictionary ids, or 0 followed by the string
+ * - Strings are varint(byteLength + 1) followed by UTF-8; 0 encodes null
+ * - Layout: version, event id (0 for none, else 1 and 8 little-endian bytes each of the high
+ *   and low half), class, category, type, envelope fields, timezone, localDateTime,
+ *   sequence + 1 and zigzag clock offset + 1 (0 when unknown), sample weight (0 for 1, else 1 and
+ *   8 little-endian bytes of a double), property count, then key/value pairs
+ * - A value is its {@link PropertyList} type tag, then a string, a zigzag varint long,
+ *   8 little-endian bytes of a double, or one byte for a boolean
+ *
+ * Records are kept self-contained so they can be journaled and replayed on their own;
+ * {@link BinaryBatchFormat} moves repeated strings into a per-batch table at upload time.
+ * Instances are not thread-safe; keep one per thread and reuse it.
+ */
+public final class BinaryEventEncoder implements EventEncoder {
+
+    static final int RECORD_VERSION = 6;
+
+    private byte[] buffer;
+    private int count;
+
+    public BinaryEventEncoder() {
+        this(512);
+    }
+
+    public BinaryEventEncoder(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    @Override
+    public void encode(EventRecord event, String timezone) {
+        writeHeader(event.getEventIdHigh(), event.getEventIdLow(),
+                event.getEventClass(), event.getEventType(), event.getCategory(), event.getEnvelope(), timezone);
+        writeVarint(EventClock.TIMESTAMP_LENGTH + 1);
+        ensureCapacity(EventClock.TIMESTAMP_LENGTH);
+        count = EventClock.formatTimestamp(event.getTimestamp(), buffer, count);
+        writeOrdering(event.getSequence(), event.getClockOffset(), event.getSampleWeight());
+
+        PropertyList properties = event.getProperties();
+        writeVarint(properties.size());
+        for (int i = 0; i < properties.size(); i++) {
+            writeString(properties.getKey(i));
+            byte type = properties.getType(i);
+            writeVarint(type);
+            switch (type) {
+                case PropertyList.LONG:
+                    writeVarlong((properties.getLong(i) << 1) ^ (properties.getLong(i) >> 63));
+                    break;
+                case PropertyList.DOUBLE:
+                    writeFixed64(properties.getLong(i));
+                    break;
+                case PropertyList.BOOLEAN:
+                    writeVarint(properties.getBoolean(i) ? 1 : 0);
+                    break;
+                default:
+                    writeString(properties.getString(i));
+                    break;
+            }
+        }
+    }
+
+    public void encode(String eventClass, String eventType, String category, EventEnvelope envelope,
+                       String timezone, String localDateTime, Map<String, String> properties) {
+        writeHeader(0, 0, eventClass, eventType, category, envelope, timezone);
+        writeString(localDateTime);
+        writeOrdering(-1, EventClock.UNKNOWN_OFFSET, 1);
+
+        int propertyCount = 0;
+        if (properties != null) {
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    propertyCount++;
+                }
+            }
+        }
+        writeVarint(propertyCount);
+        if (propertyCount > 0) {
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    writeString(entry.getKey());
+                    writeVarint(PropertyList.STRING);
+                    writeString(entry.getValue());
+                }
+            }
+        }
+    }
+
+    @Override
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * True if the record was written with this {@link #RECORD_VERSION} and can be batched
+     */
+    public static boolean isCurrentVersion(byte[] record) {
+        try {
+            return new BinaryReader(record).readVarint() == RECORD_VERSION;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read the id of an encoded record into id[0] (high) and id[1] (low); false if it has none
+     */
+    public static boolean readEventId(byte[] record, long[] id) {
+        id[0] = 0;
+        id[1] = 0;
+        try {
+            BinaryReader reader = new BinaryReader(record);
+            if (reader.readVarint() != RECORD_VERSION || reader.readVarint() == 0) {
+                return false;
+            }
+            id[0] = reader.readFixed64();
+            id[1] = reader.readFixed64();
+            return true;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            id[0] = 0;
+            id[1] = 0;
+            return false;
+        }
+    }
+
+    private void writeHeader(long eventIdHigh, long eventIdLow, String eventClass, String eventType, String category,
+                             EventEnvelope envelope, String timezone) {
+        count = 0;
+        writeVarint(RECORD_VERSION);
+        if ((eventIdHigh | eventIdLow) == 0) {
+            writeVarint(0);
+        } else {
+            writeVarint(1);
+            writeFixed64(eventIdHigh);
+            writeFixed64(eventIdLow);
+        }
+        writeCode(EventDictionary.eventClassId(eventClass), eventClass);
+        writeCode(EventDictionary.categoryId(category), category);
+        writeCode(EventDictionary.typeId(eventType), eventType);
+
+        byte[] fragment = envelope.getBinaryFragment();
+        ensureCapacity(fragment.length);
+        System.arraycopy(fragment, 0, buffer, count, fragment.length);
+        count += fragment.length;
+
+        writeString(timezone);
+    }
+
+    private void writeOrdering(long sequence, long clockOffset, double sampleWeight) {
+        writeVarlong(sequence + 1);
+        writeVarlong(clockOffset == EventClock.UNKNOWN_OFFSET ? 0 : ((clockOffset << 1) ^ (clockOffset >> 63)) + 1);
+        if (sampleWeight == 1) {
+            writeVarint(0);
+        } else {
+            writeVarint(1);
+            writeFixed64(Double.doubleToRawLongBits(sampleWeight));
+        }
+    }
+
+    static byte[] encodeEnvelope(String[] envelopeValues) {
+        BinaryEventEncoder encoder = new BinaryEventEncoder(256);
+        for (String value : envelopeValues) {
+            encoder.writeString(value);
+        }
+        return Arrays.copyOf(encoder.buffer, encoder.count);
+    }
+
+    private void writeCode(int id, String value) {
+        writeVarint(id);
+        if (id == 0) {
+            writeString(value);
+        }
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        int length = Utf8.length(value);
+        writeVarint(length + 1);
+        ensureCapacity(length);
+        count = Utf8.write(value, buffer, count);
+    }
+
+    private void writeVarint(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    private void writeVarlong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    private void writeFixed64(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[count++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (count + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + extra));
+        }
+    }
+}
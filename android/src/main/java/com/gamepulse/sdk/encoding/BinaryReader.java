@@ -0,0 +1,187 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.queue.PropertyList;
+
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+
+import okio.Buffer;
+
+/**
+ * Cursor over a binary record or batch
+ */
+final class BinaryReader {
+    private final byte[] data;
+    private int pos;
+
+    BinaryReader(byte[] data) {
+        this.data = data;
+    }
+
+    int readVarint() {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = data[pos++];
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    int readByte() {
+        return data[pos++] & 0xFF;
+    }
+
+    /**
+     * Nullable string: varint(byteLength + 1) then UTF-8, 0 for null
+     */
+    String readString() {
+        int header = readVarint();
+        if (header == 0) {
+            return null;
+        }
+        String value = new String(data, pos, header - 1, StandardCharsets.UTF_8);
+        pos += header - 1;
+        return value;
+    }
+
+    /**
+     * Copy a nullable string to the sink without decoding it
+     */
+    void copyString(Buffer sink) {
+        int header = readVarint();
+        writeVarint(sink, header);
+        if (header > 1) {
+            sink.write(data, pos, header - 1);
+            pos += header - 1;
+        }
+    }
+
+    long readVarlong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = data[pos++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    void copyVarlong(Buffer sink) {
+        int start = pos;
+        readVarlong();
+        sink.write(data, start, pos - start);
+    }
+
+    /**
+     * 0 for the default weight of 1, otherwise 1 followed by the double
+     */
+    double readSampleWeight() {
+        return readVarint() == 0 ? 1 : Double.longBitsToDouble(readFixed64());
+    }
+
+    void copySampleWeight(Buffer sink) {
+        int start = pos;
+        if (readVarint() != 0) {
+            pos += 8;
+        }
+        sink.write(data, start, pos - start);
+    }
+
+    /**
+     * Copy an event id (0, or 1 and two fixed64 halves) to the sink
+     */
+    void copyEventId(Buffer sink) {
+        int start = pos;
+        if (readVarint() != 0) {
+            pos += 16;
+        }
+        sink.write(data, start, pos - start);
+    }
+
+    long readFixed64() {
+        long result = 0;
+        for (int i = 0; i < 8; i++) {
+            result |= (long) (data[pos++] & 0xFF) << (i * 8);
+        }
+        return result;
+    }
+
+    /**
+     * Read one tagged property value into the list
+     */
+    void readValue(String key, PropertyList into) {
+        int type = readVarint();
+        switch (type) {
+            case PropertyList.STRING:
+                into.put(key, readString());
+                break;
+            case PropertyList.LONG:
+                long zigzag = readVarlong();
+                into.put(key, (zigzag >>> 1) ^ -(zigzag & 1));
+                break;
+            case PropertyList.DOUBLE:
+                into.put(key, Double.longBitsToDouble(readFixed64()));
+                break;
+            case PropertyList.BOOLEAN:
+                into.put(key, readVarint() != 0);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown property type " + type);
+        }
+    }
+
+    /**
+     * Copy one tagged property value to the sink without decoding it
+     */
+    void copyValue(Buffer sink) {
+        int type = readVarint();
+        writeVarint(sink, type);
+        int start = pos;
+        switch (type) {
+            case PropertyList.STRING:
+                copyString(sink);
+                return;
+            case PropertyList.LONG:
+                readVarlong();
+                break;
+            case PropertyList.DOUBLE:
+                pos += 8;
+                break;
+            case PropertyList.BOOLEAN:
+                readVarint();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown property type " + type);
+        }
+        sink.write(data, start, pos - start);
+    }
+
+    static void writeVarint(Buffer sink, int value) {
+        while ((value & ~0x7F) != 0) {
+            sink.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        sink.writeByte(value);
+    }
+
+    static int readVarint(Buffer source) {
+        int result = 0;
+        try {
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = source.readByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Truncated varint", e);
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,110 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.GamePulse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stable integer ids for the event classes, categories and types the SDK ships with
+ * - Ids are positions in the tables below plus one; 0 means "not in the dictionary"
+ * - Tables are append-only: the collector decodes with the same ids
+ */
+public final class EventDictionary {
+
+    static final String[] EVENT_CLASSES = { "SYSTEM", "CUSTOM" };
+
+    static final String[] CATEGORIES = {
+        GamePulse.UserEvents.CATEGORY,
+        GamePulse.GameplayEvents.CATEGORY,
+        GamePulse.EconomyEvents.CATEGORY,
+        GamePulse.ProgressionEvents.CATEGORY,
+        GamePulse.AdEvents.CATEGORY,
+        GamePulse.IAPEvents.CATEGORY
+    };
+
+    static final String[] TYPES = {
+        // User
+        GamePulse.UserEvents.SESSION_START,
+        GamePulse.UserEvents.SESSION_END,
+        GamePulse.UserEvents.USER_LOGIN,
+        GamePulse.UserEvents.USER_LOGOUT,
+        GamePulse.UserEvents.USER_REGISTER,
+        // Gameplay
+        GamePulse.GameplayEvents.LEVEL_START,
+        GamePulse.GameplayEvents.LEVEL_END,
+        GamePulse.GameplayEvents.LEVEL_UP,
+        GamePulse.GameplayEvents.GAME_START,
+        GamePulse.GameplayEvents.GAME_END,
+        GamePulse.GameplayEvents.BOSS_FIGHT,
+        GamePulse.Gameplay.CHECKPOINT_REACHED,
+        // Economy
+        GamePulse.EconomyEvents.CURRENCY_EARNED,
+        GamePulse.EconomyEvents.CURRENCY_SPENT,
+        GamePulse.EconomyEvents.ITEM_PURCHASED,
+        GamePulse.EconomyEvents.ITEM_SOLD,
+        GamePulse.EconomyEvents.SHOP_VIEWED,
+        // Progression
+        GamePulse.ProgressionEvents.TUTORIAL_COMPLETE,
+        GamePulse.ProgressionEvents.ACHIEVEMENT_UNLOCKED,
+        GamePulse.ProgressionEvents.MILESTONE_REACHED,
+        GamePulse.ProgressionEvents.QUEST_COMPLETED,
+        // Ad
+        GamePulse.AdEvents.AD_VIEWED,
+        GamePulse.AdEvents.AD_CLICKED,
+        GamePulse.AdEvents.AD_REWARDED,
+        GamePulse.AdEvents.AD_FAILED,
+        // IAP
+        GamePulse.IAPEvents.PURCHASE,
+        GamePulse.IAPEvents.PURCHASE_FAILED,
+        GamePulse.IAPEvents.PURCHASE_RESTORED,
+        GamePulse.IAPEvents.SUBSCRIPTION_STARTED,
+        GamePulse.IAPEvents.SUBSCRIPTION_CANCELLED
+    };
+
+    private static final Map<String, Integer> EVENT_CLASS_IDS = index(EVENT_CLASSES);
+    private static final Map<String, Integer> CATEGORY_IDS = index(CATEGORIES);
+    private static final Map<String, Integer> TYPE_IDS = index(TYPES);
+
+    private EventDictionary() {}
+
+    public static int eventClassId(String eventClass) {
+        return lookup(EVENT_CLASS_IDS, eventClass);
+    }
+
+    public static int categoryId(String category) {
+        return lookup(CATEGORY_IDS, category);
+    }
+
+    public static int typeId(String type) {
+        return lookup(TYPE_IDS, type);
+    }
+
+    static String eventClass(int id) {
+        return EVENT_CLASSES[id - 1];
+    }
+
+    static String category(int id) {
+        return CATEGORIES[id - 1];
+    }
+
+    static String type(int id) {
+        return TYPES[id - 1];
+    }
+
+    private static int lookup(Map<String, Integer> ids, String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : 0;
+    }
+
+    private static Map<String, Integer> index(String[] table) {
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < table.length; i++) {
+            ids.put(table[i], i + 1);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,23 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.queue.EventRecord;
+
+/**
+ * Serializes one event into a reusable buffer
+ *
+ * Implementations are not thread-safe; keep one per thread and reuse it.
+ */
+public interface EventEncoder {
+
+    /**
+     * Encode one event, formatting its timestamp in place; the result is valid until the next call
+     */
+    void encode(EventRecord event, String timezone);
+
+    /**
+     * Backing array; only the first {@link #size()} bytes are the encoded event
+     */
+    byte[] buffer();
+
+    int size();
+}
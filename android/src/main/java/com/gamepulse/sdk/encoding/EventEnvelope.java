@@ -0,0 +1,70 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+
+/**
+ * Device and user fields that are identical on every event, serialized once
+ * - Rebuild whenever the session, user config, device info or coarse location changes
+ * - Immutable, so it can be shared by all tracking threads
+ */
+public final class EventEnvelope {
+
+    /**
+     * Envelope fields in wire order
+     */
+    static final String[] FIELD_NAMES = {
+        "platform", "osVersion", "deviceModel", "deviceManufacturer", "appVersion", "screenResolution",
+        "userId", "anonymousId", "sessionId", "geohash"
+    };
+
+    private final DeviceInfo deviceInfo;
+    private final UserConfig userConfig;
+    private final String geohash;
+    private final byte[] jsonFragment;
+    private final byte[] binaryFragment;
+
+    public EventEnvelope(DeviceInfo deviceInfo, UserConfig userConfig) {
+        this(deviceInfo, userConfig, null);
+    }
+
+    /**
+     * @param geohash coarse location cell, or null to leave the field off
+     */
+    public EventEnvelope(DeviceInfo deviceInfo, UserConfig userConfig, String geohash) {
+        this.deviceInfo = deviceInfo;
+        this.userConfig = userConfig;
+        this.geohash = geohash;
+
+        String[] values = fieldValues(deviceInfo, userConfig, geohash);
+        this.jsonFragment = JsonEventEncoder.encodeEnvelope(values);
+        this.binaryFragment = BinaryEventEncoder.encodeEnvelope(values);
+    }
+
+    public DeviceInfo getDeviceInfo() { return deviceInfo; }
+    public UserConfig getUserConfig() { return userConfig; }
+    public String getGeohash() { return geohash; }
+
+    byte[] getFragment() {
+        return jsonFragment;
+    }
+
+    byte[] getBinaryFragment() {
+        return binaryFragment;
+    }
+
+    static String[] fieldValues(DeviceInfo deviceInfo, UserConfig userConfig, String geohash) {
+        return new String[] {
+            deviceInfo.getPlatform(),
+            deviceInfo.getOsVersion(),
+            deviceInfo.getDeviceModel(),
+            deviceInfo.getDeviceManufacturer(),
+            deviceInfo.getAppVersion(),
+            deviceInfo.getScreenResolution(),
+            userConfig.getUserId() != null ? userConfig.getUserId() : "",
+            userConfig.getAnonymousId() != null ? userConfig.getAnonymousId() : "",
+            userConfig.getSessionId(),
+            geohash
+        };
+    }
+}
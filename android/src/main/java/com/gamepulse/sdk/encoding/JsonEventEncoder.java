@@ -0,0 +1,449 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+import com.gamepulse.sdk.clock.EventClock;
+import com.gamepulse.sdk.queue.EventRecord;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Streams the event schema straight into a reusable UTF-8 byte buffer
+ * - No JSONObject tree, no intermediate String, no per-event allocation once the buffer is warm
+ * - Output matches the platform org.json serializer byte for byte: insertion order,
+ *   null fields omitted, '/' escaped as "\/" and control characters as \\uXXXX
+ * - Typed properties are written as JSON numbers and booleans; whole doubles print like
+ *   longs, as org.json does
+ *
+ * Instances are not thread-safe; keep one per thread and reuse it.
+ */
+public final class JsonEventEncoder implements EventEncoder {
+
+    private static final byte[] KEY_TYPE = key("type");
+    private static final byte[] KEY_VALUE = key("value");
+    private static final byte[] KEY_CATEGORY = key("category");
+    private static final byte[][] KEY_ENVELOPE = new byte[EventEnvelope.FIELD_NAMES.length][];
+    private static final byte[] KEY_TIMEZONE = key("timezone");
+    private static final byte[] KEY_LOCAL_DATE_TIME = key("localDateTime");
+    private static final byte[] KEY_EVENT_ID = key("eventId");
+    private static final byte[] KEY_SEQUENCE = key("sequence");
+    private static final byte[] KEY_CLOCK_OFFSET = key("clockOffset");
+    private static final byte[] KEY_SAMPLE_WEIGHT = key("sampleWeight");
+    private static final byte[] KEY_PROPERTIES = key("properties");
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        for (int i = 0; i < KEY_ENVELOPE.length; i++) {
+            KEY_ENVELOPE[i] = key(EventEnvelope.FIELD_NAMES[i]);
+        }
+    }
+
+    private byte[] buffer;
+    private int count;
+    private boolean needsComma;
+
+    public JsonEventEncoder() {
+        this(1024);
+    }
+
+    public JsonEventEncoder(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Encode one event; the result is valid until the next call
+     */
+    public void encode(String eventClass, String eventType, String category,
+                       DeviceInfo deviceInfo, UserConfig userConfig,
+                       String timezone, String localDateTime, Map<String, String> properties) {
+        beginEvent(eventClass, eventType, category);
+        writeEnvelopeFields(EventEnvelope.fieldValues(deviceInfo, userConfig, null));
+        writeTimestamp(timezone, localDateTime);
+        writeProperties(properties);
+    }
+
+    /**
+     * Encode one event from envelope values in {@link EventEnvelope#FIELD_NAMES} order
+     */
+    void encode(String eventClass, String eventType, String category, String[] envelopeValues,
+                String timezone, String localDateTime, long eventIdHigh, long eventIdLow,
+                long sequence, long clockOffset, double sampleWeight, PropertyList properties) {
+        beginEvent(eventClass, eventType, category);
+        writeEnvelopeFields(envelopeValues);
+        writeTimestamp(timezone, localDateTime);
+        writeOrdering(eventIdHigh, eventIdLow, sequence, clockOffset, sampleWeight);
+        writeProperties(properties);
+    }
+
+    /**
+     * Encode one event, copying the pre-serialized device and user fields from the envelope
+     */
+    public void encode(String eventClass, String eventType, String category, EventEnvelope envelope,
+                       String timezone, String localDateTime, Map<String, String> properties) {
+        beginEvent(eventClass, eventType, category);
+        writeEnvelope(envelope);
+        writeTimestamp(timezone, localDateTime);
+        writeProperties(properties);
+    }
+
+    @Override
+    public void encode(EventRecord event, String timezone) {
+        beginEvent(event.getEventClass(), event.getEventType(), event.getCategory());
+        writeEnvelope(event.getEnvelope());
+        field(KEY_TIMEZONE, timezone);
+        comma();
+        writeBytes(KEY_LOCAL_DATE_TIME);
+        ensureCapacity(EventClock.TIMESTAMP_LENGTH + 2);
+        buffer[count++] = '"';
+        count = EventClock.formatTimestamp(event.getTimestamp(), buffer, count);
+        buffer[count++] = '"';
+        writeOrdering(event.getEventIdHigh(), event.getEventIdLow(),
+                event.getSequence(), event.getClockOffset(), event.getSampleWeight());
+        writeProperties(event.getProperties());
+    }
+
+    /**
+     * Read the eventId of an encoded event into id[0] (high) and id[1] (low); false if it has none
+     * - Only a key before "properties" counts; quotes inside values are always escaped, so
+     *   neither key can appear earlier inside a value
+     */
+    public static boolean readEventId(byte[] event, long[] id) {
+        id[0] = 0;
+        id[1] = 0;
+        int start = indexOf(event, KEY_EVENT_ID);
+        if (start < 0 || start > indexOf(event, KEY_PROPERTIES) || start + KEY_EVENT_ID.length + 34 > event.length
+                || event[start + KEY_EVENT_ID.length] != '"') {
+            return false;
+        }
+        int pos = start + KEY_EVENT_ID.length + 1;
+        for (int half = 0; half < 2; half++) {
+            long value = 0;
+            for (int i = 0; i < 16; i++) {
+                int digit = Character.digit(event[pos++], 16);
+                if (digit < 0) {
+                    id[0] = 0;
+                    id[1] = 0;
+                    return false;
+                }
+                value = (value << 4) | digit;
+            }
+            id[half] = value;
+        }
+        return true;
+    }
+
+    /**
+     * Serialize the device and user fields on their own, without braces or a leading comma
+     */
+    static byte[] encodeEnvelope(String[] envelopeValues) {
+        JsonEventEncoder encoder = new JsonEventEncoder(256);
+        encoder.needsComma = false;
+        encoder.writeEnvelopeFields(envelopeValues);
+        return encoder.toByteArray();
+    }
+
+    private void beginEvent(String eventClass, String eventType, String category) {
+        count = 0;
+        writeByte('{');
+        needsComma = false;
+
+        field(KEY_TYPE, eventClass);
+        field(KEY_VALUE, eventType);
+        field(KEY_CATEGORY, category);
+    }
+
+    private void writeEnvelopeFields(String[] envelopeValues) {
+        // Device info, then user/session info
+        for (int i = 0; i < KEY_ENVELOPE.length; i++) {
+            field(KEY_ENVELOPE[i], envelopeValues[i]);
+        }
+    }
+
+    private void writeEnvelope(EventEnvelope envelope) {
+        byte[] fragment = envelope.getFragment();
+        if (fragment.length > 0) {
+            comma();
+            writeBytes(fragment);
+        }
+    }
+
+    private void writeTimestamp(String timezone, String localDateTime) {
+        field(KEY_TIMEZONE, timezone);
+        field(KEY_LOCAL_DATE_TIME, localDateTime);
+    }
+
+    private void writeOrdering(long eventIdHigh, long eventIdLow, long sequence, long clockOffset,
+                               double sampleWeight) {
+        if ((eventIdHigh | eventIdLow) != 0) {
+            comma();
+            writeBytes(KEY_EVENT_ID);
+            ensureCapacity(34);
+            buffer[count++] = '"';
+            writeHex(eventIdHigh);
+            writeHex(eventIdLow);
+            buffer[count++] = '"';
+        }
+        if (sequence >= 0) {
+            comma();
+            writeBytes(KEY_SEQUENCE);
+            writeLong(sequence);
+        }
+        if (clockOffset != EventClock.UNKNOWN_OFFSET) {
+            comma();
+            writeBytes(KEY_CLOCK_OFFSET);
+            writeLong(clockOffset);
+        }
+        if (sampleWeight != 1) {
+            comma();
+            writeBytes(KEY_SAMPLE_WEIGHT);
+            writeDouble(sampleWeight);
+        }
+    }
+
+    private void writeProperties(Map<String, String> properties) {
+        beginProperties();
+        if (properties != null) {
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                propertyKey(entry.getKey());
+                writeString(entry.getValue());
+            }
+        }
+        endProperties();
+    }
+
+    private void writeProperties(PropertyList properties) {
+        beginProperties();
+        for (int i = 0; i < properties.size(); i++) {
+            propertyKey(properties.getKey(i));
+            switch (properties.getType(i)) {
+                case PropertyList.LONG:
+                    writeLong(properties.getLong(i));
+                    break;
+                case PropertyList.DOUBLE:
+                    writeDouble(properties.getDouble(i));
+                    break;
+                case PropertyList.BOOLEAN:
+                    writeBytes(properties.getBoolean(i) ? TRUE : FALSE);
+                    break;
+                default:
+                    writeString(properties.getString(i));
+                    break;
+            }
+        }
+        endProperties();
+    }
+
+    private void beginProperties() {
+        comma();
+        writeBytes(KEY_PROPERTIES);
+        writeByte('{');
+        needsComma = false;
+    }
+
+    private void propertyKey(String key) {
+        comma();
+        writeString(key);
+        writeByte(':');
+    }
+
+    private void endProperties() {
+        writeByte('}');
+        writeByte('}');
+    }
+
+    /**
+     * Backing array; only the first {@link #size()} bytes are the encoded event
+     */
+    @Override
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    private void field(byte[] key, String value) {
+        if (value == null) {
+            return;
+        }
+        comma();
+        writeBytes(key);
+        writeString(value);
+    }
+
+    private void comma() {
+        if (needsComma) {
+            writeByte(',');
+        }
+        needsComma = true;
+    }
+
+    private void writeString(String value) {
+        int length = value.length();
+        ensureCapacity(length * 6 + 2);
+
+        byte[] out = buffer;
+        int pos = count;
+        out[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                switch (c) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        out[pos++] = '\\';
+                        out[pos++] = (byte) c;
+                        break;
+                    case '\t':
+                        out[pos++] = '\\';
+                        out[pos++] = 't';
+                        break;
+                    case '\b':
+                        out[pos++] = '\\';
+                        out[pos++] = 'b';
+                        break;
+                    case '\n':
+                        out[pos++] = '\\';
+                        out[pos++] = 'n';
+                        break;
+                    case '\r':
+                        out[pos++] = '\\';
+                        out[pos++] = 'r';
+                        break;
+                    case '\f':
+                        out[pos++] = '\\';
+                        out[pos++] = 'f';
+                        break;
+                    default:
+                        if (c <= 0x1F) {
+                            out[pos++] = '\\';
+                            out[pos++] = 'u';
+                            out[pos++] = '0';
+                            out[pos++] = '0';
+                            out[pos++] = HEX[c >> 4];
+                            out[pos++] = HEX[c & 0xF];
+                        } else {
+                            out[pos++] = (byte) c;
+                        }
+                        break;
+                }
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low = i + 1 < length ? value.charAt(i + 1) : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(low)) {
+                    int codePoint = Character.toCodePoint(c, low);
+                    out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                    i++;
+                } else {
+                    // Same replacement String.getBytes(UTF_8) uses for unpaired surrogates
+                    out[pos++] = '?';
+                }
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[pos++] = '"';
+        count = pos;
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(MIN_LONG);
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int pos = count + digits;
+        do {
+            buffer[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        count += digits;
+    }
+
+    private void writeHex(long value) {
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            buffer[count++] = HEX[(int) (value >>> shift) & 0xF];
+        }
+    }
+
+    private void writeDouble(double value) {
+        long whole = (long) value;
+        if (whole == value) {
+            writeLong(whole);
+            return;
+        }
+        // Same text as Double.toString(); fractional values only, so allocation is rare
+        String text = Double.toString(value);
+        int length = text.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[count++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (count + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + extra));
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] key(String name) {
+        return ("\"" + name + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+}
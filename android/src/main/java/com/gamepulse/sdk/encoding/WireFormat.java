@@ -0,0 +1,43 @@
+package com.gamepulse.sdk.encoding;
+
+import com.gamepulse.sdk.queue.BatchFormat;
+import com.gamepulse.sdk.queue.JsonBatchFormat;
+
+/**
+ * Encoding used for events on the wire
+ * - JSON: one JSON array per upload (default)
+ * - BINARY: varint/length-prefixed records with dictionary ids and a per-batch string table,
+ *   announced through its own Content-Type; falls back to JSON if the collector answers 415
+ */
+public enum WireFormat {
+    JSON("journal"),
+    BINARY("journal-binary");
+
+    private final String journalName;
+
+    WireFormat(String journalName) {
+        this.journalName = journalName;
+    }
+
+    public EventEncoder newEncoder() {
+        return this == BINARY ? new BinaryEventEncoder() : new JsonEventEncoder();
+    }
+
+    public BatchFormat newBatchFormat() {
+        return this == BINARY ? new BinaryBatchFormat() : new JsonBatchFormat();
+    }
+
+    /**
+     * Read the id of one journaled event into id[0] (high) and id[1] (low); false if it has none
+     */
+    public boolean readEventId(byte[] event, long[] id) {
+        return this == BINARY ? BinaryEventEncoder.readEventId(event, id) : JsonEventEncoder.readEventId(event, id);
+    }
+
+    /**
+     * Journal directory name; records of different formats are never mixed in one journal
+     */
+    public String getJournalName() {
+        return journalName;
+    }
+}
@@ -61,11 +61,11 @@ public class AndroidUsageExample extends Application {
         Map<String, String> levelProperties = new HashMap<>();
         levelProperties.put("level", "1");
         levelProperties.put("difficulty", "easy");
-        levelProperties.put("timestamp", String.valueOf(System.currentTimeMillis()));
         
         gamePulse.systemEvent()
                 .category(Gameplay.class).type(Gameplay.LEVEL_START)
                 .setProperties(levelProperties)
+                .setProperty("timestamp", System.currentTimeMillis())
                 .trigger();
 
         // Track IAP events
@@ -133,12 +133,12 @@ public class AndroidUsageExample extends Application {
 
         Map<String, String> properties = new HashMap<>();
         properties.put("product_id", productId);
-        properties.put("price", String.valueOf(price));
         properties.put("currency", currency);
         properties.put("platform", "Android");
 
         gamePulse.iapEvent(GamePulse.IAPEvents.PURCHASE)
                 .setProperties(properties)
+                .setProperty("price", price)
                 .track();
     }
 
@@ -149,10 +149,10 @@ public class AndroidUsageExample extends Application {
         Map<String, String> properties = new HashMap<>();
         properties.put("ad_type", adType);
         properties.put("placement", placement);
-        properties.put("timestamp", String.valueOf(System.currentTimeMillis()));
 
         gamePulse.customEvent("ad", "ad_viewed")
                 .setProperties(properties)
+                .setProperty("timestamp", System.currentTimeMillis())
                 .track();
     }
 
@@ -0,0 +1,137 @@
+package com.gamepulse.sdk.id;
+
+import com.gamepulse.sdk.queue.EventRecord;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 128-bit ids in the UUIDv7 layout, used for sessions and events
+ * - 48-bit Unix milliseconds, version 7, a 42-bit counter split over rand_a and the top of
+ *   rand_b, the variant, then 32 random bits
+ * - Ids from one generator strictly increase: each millisecond starts the counter at a random
+ *   value below half its range, and later ids in the same millisecond increment it; if the clock
+ *   steps back, or the counter runs out, the last timestamp is kept or advanced by one
+ * - State is per generator, and {@link #current()} keeps one per thread, so there is no lock
+ *   and {@link #assign} does not allocate
+ * - Randomness is xorshift64* seeded from the clocks, as ThreadLocalRandom does, instead of
+ *   SecureRandom, which can contend on a lock and block early in boot; ids are unique, not secret
+ *
+ * Instances are not thread-safe; use one per thread.
+ */
+public final class IdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final long COUNTER_MASK = (1L << 42) - 1;
+    private static final long COUNTER_START_MASK = (1L << 41) - 1;
+    private static final long RAND_B_COUNTER_MASK = (1L << 30) - 1;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // Hands out distinct seeds so generators created in the same nanosecond still differ
+    private static final AtomicLong SEEDER = new AtomicLong(mix(System.currentTimeMillis()) ^ mix(System.nanoTime()));
+    private static final ThreadLocal<IdGenerator> PER_THREAD = new ThreadLocal<IdGenerator>() {
+        @Override
+        protected IdGenerator initialValue() {
+            return new IdGenerator();
+        }
+    };
+
+    private long random;
+    private long lastMillis = Long.MIN_VALUE;
+    private long counter;
+    private long high;
+    private long low;
+
+    public IdGenerator() {
+        this(mix(SEEDER.getAndAdd(GOLDEN_GAMMA) + GOLDEN_GAMMA));
+    }
+
+    public IdGenerator(long seed) {
+        this.random = seed != 0 ? seed : GOLDEN_GAMMA;
+    }
+
+    /**
+     * The calling thread's generator
+     */
+    public static IdGenerator current() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * New id in canonical UUID form (8-4-4-4-12), e.g. for a session
+     */
+    public static String newUuid() {
+        IdGenerator generator = current();
+        generator.next(System.currentTimeMillis());
+        return toUuid(generator.high, generator.low);
+    }
+
+    /**
+     * Give the record the next id
+     */
+    public void assign(EventRecord record) {
+        next(System.currentTimeMillis());
+        record.setEventId(high, low);
+    }
+
+    void next(long nowMillis) {
+        if (nowMillis > lastMillis) {
+            lastMillis = nowMillis;
+            counter = nextRandom() & COUNTER_START_MASK;
+        } else if (++counter > COUNTER_MASK) {
+            lastMillis++;
+            counter = nextRandom() & COUNTER_START_MASK;
+        }
+        high = (lastMillis << 16) | VERSION | (counter >>> 30);
+        low = VARIANT | ((counter & RAND_B_COUNTER_MASK) << 32) | (nextRandom() >>> 32);
+    }
+
+    /**
+     * Halves of the last id from {@link #next}
+     */
+    long high() { return high; }
+    long low() { return low; }
+
+    /**
+     * 32 lowercase hex characters, high half first
+     */
+    public static String format(long high, long low) {
+        char[] out = new char[32];
+        for (int i = 0; i < 16; i++) {
+            out[i] = HEX[(int) (high >>> (60 - i * 4)) & 0xF];
+            out[16 + i] = HEX[(int) (low >>> (60 - i * 4)) & 0xF];
+        }
+        return new String(out);
+    }
+
+    /**
+     * Canonical UUID text, same as {@link java.util.UUID#toString()}
+     */
+    public static String toUuid(long high, long low) {
+        String hex = format(high, low);
+        return hex.substring(0, 8) + '-' + hex.substring(8, 12) + '-' + hex.substring(12, 16) + '-'
+                + hex.substring(16, 20) + '-' + hex.substring(20);
+    }
+
+    private long nextRandom() {
+        long x = random;
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        random = x;
+        return x * 0x2545F4914F6CDD1DL;
+    }
+
+    /**
+     * MurmurHash3 fmix64 finalizer
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,41 @@
+package com.gamepulse.sdk.location;
+
+/**
+ * Turns location fixes into geohash cells, taking at most one fix per refresh interval
+ * - A fix that arrives sooner than the interval after the last accepted one is ignored, even
+ *   if it is in another cell; providers may deliver faster than they were asked to
+ * - A cell is reported only when it differs from the current one
+ *
+ * Not thread-safe; {@link LocationCache} only calls it on its location thread.
+ */
+final class CellTracker {
+
+    private final long refreshIntervalMs;
+    private boolean hasFix;
+    private long lastFixAt;
+    private String cell;
+
+    CellTracker(long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    /**
+     * The new cell if this fix is accepted and moves to one, else null
+     *
+     * @param nowMs a monotonic clock in milliseconds, e.g. SystemClock.elapsedRealtime()
+     */
+    String accept(double latitude, double longitude, long nowMs) {
+        if (hasFix && nowMs - lastFixAt < refreshIntervalMs) {
+            return null;
+        }
+        hasFix = true;
+        lastFixAt = nowMs;
+
+        String next = Geohash.encode(latitude, longitude, LocationCache.PRECISION);
+        if (next.equals(cell)) {
+            return null;
+        }
+        cell = next;
+        return next;
+    }
+}
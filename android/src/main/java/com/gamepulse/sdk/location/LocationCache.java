@@ -0,0 +1,170 @@
+package com.gamepulse.sdk.location;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.location.Location;
+import android.location.LocationListener;
+import android.location.LocationManager;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.core.content.ContextCompat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coarse device location, refreshed in the background and attached to events by reference
+ * - Listens to the passive provider, which only sees fixes other apps already asked for; with
+ *   just coarse permission before Android 12 it uses the network provider instead. Never GPS
+ * - Asks for at most one update per refresh interval and ignores fixes that arrive sooner
+ * - Keeps a {@link #PRECISION}-character geohash, never the raw coordinates
+ * - Listeners hear about a cell only when it changes, so tracking never calls LocationManager
+ *
+ * Everything but {@link #getGeohash()} runs on the looper the cache was started with.
+ */
+public final class LocationCache {
+
+    /**
+     * Geohash length reported with events, a cell of about 5 km
+     */
+    public static final int PRECISION = 5;
+
+    public interface Listener {
+        /**
+         * Called on the location thread, first with the current cell, then with each new one
+         */
+        void onGeohash(String geohash);
+    }
+
+    private final LocationManager locationManager;
+    private final String provider;
+    private final long refreshIntervalMs;
+    private final Handler handler;
+    private volatile String geohash;
+
+    // Location thread only
+    private final List<Listener> listeners = new ArrayList<>();
+    private final CellTracker cells;
+
+    private final LocationListener updates = new LocationListener() {
+        @Override
+        public void onLocationChanged(Location location) {
+            accept(location);
+        }
+
+        @Override
+        public void onStatusChanged(String provider, int status, Bundle extras) {}
+
+        @Override
+        public void onProviderEnabled(String provider) {}
+
+        @Override
+        public void onProviderDisabled(String provider) {}
+    };
+
+    LocationCache(LocationManager locationManager, String provider, long refreshIntervalMs, Looper looper) {
+        if (refreshIntervalMs <= 0) {
+            throw new IllegalArgumentException("Refresh interval must be positive");
+        }
+        this.locationManager = locationManager;
+        this.provider = provider;
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.cells = new CellTracker(refreshIntervalMs);
+        this.handler = new Handler(looper);
+    }
+
+    /**
+     * Start a cache on its own thread, or return null without location permission
+     */
+    public static LocationCache start(Context context, long refreshIntervalMs) {
+        String provider = providerFor(context);
+        LocationManager locationManager = (LocationManager) context.getSystemService(Context.LOCATION_SERVICE);
+        if (provider == null || locationManager == null) {
+            return null;
+        }
+        HandlerThread thread = new HandlerThread("GamePulse-Location");
+        thread.setDaemon(true);
+        thread.start();
+        LocationCache cache = new LocationCache(locationManager, provider, refreshIntervalMs, thread.getLooper());
+        cache.start();
+        return cache;
+    }
+
+    /**
+     * The passive provider when permitted, else the network provider, else null
+     */
+    static String providerFor(Context context) {
+        boolean fine = granted(context, Manifest.permission.ACCESS_FINE_LOCATION);
+        boolean coarse = granted(context, Manifest.permission.ACCESS_COARSE_LOCATION);
+        // Before Android 12 the passive provider requires fine location
+        if (fine || (coarse && Build.VERSION.SDK_INT >= Build.VERSION_CODES.S)) {
+            return LocationManager.PASSIVE_PROVIDER;
+        }
+        return coarse ? LocationManager.NETWORK_PROVIDER : null;
+    }
+
+    private static boolean granted(Context context, String permission) {
+        return ContextCompat.checkSelfPermission(context, permission) == PackageManager.PERMISSION_GRANTED;
+    }
+
+    /**
+     * Seed from the provider's cached fix and register for updates, both on the location thread
+     */
+    void start() {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Location last = locationManager.getLastKnownLocation(provider);
+                    if (last != null) {
+                        accept(last);
+                    }
+                    locationManager.requestLocationUpdates(provider, refreshIntervalMs, 0, updates,
+                            handler.getLooper());
+                } catch (SecurityException | IllegalArgumentException e) {
+                    // Permission revoked or no such provider; events simply go out without a location
+                }
+            }
+        });
+    }
+
+    public void addListener(final Listener listener) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                listeners.add(listener);
+                if (geohash != null) {
+                    listener.onGeohash(geohash);
+                }
+            }
+        });
+    }
+
+    /**
+     * The current cell, or null before the first fix
+     */
+    public String getGeohash() {
+        return geohash;
+    }
+
+    String getProvider() {
+        return provider;
+    }
+
+    private void accept(Location location) {
+        String cell = cells.accept(location.getLatitude(), location.getLongitude(), SystemClock.elapsedRealtime());
+        if (cell == null) {
+            return;
+        }
+        geohash = cell;
+        for (Listener listener : listeners) {
+            listener.onGeohash(cell);
+        }
+    }
+}
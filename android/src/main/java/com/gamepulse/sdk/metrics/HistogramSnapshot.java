@@ -0,0 +1,62 @@
+package com.gamepulse.sdk.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Bucket counts of a {@link LatencyHistogram} at one point in time
+ */
+public final class HistogramSnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+
+    HistogramSnapshot(long[] counts, long count, long sum) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+    }
+
+    public long getCount() { return count; }
+    public long getSum() { return sum; }
+
+    public double getMean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile (0..1), so at most 2x the true value;
+     * 0 while empty
+     */
+    public long getQuantile(double quantile) {
+        // Buckets and count are read separately, so trust the buckets' own total
+        long total = 0;
+        for (long bucket : counts) {
+            total += bucket;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.max(0, Math.min(1, quantile)) * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return LatencyHistogram.upperBound(i);
+            }
+        }
+        return LatencyHistogram.upperBound(counts.length - 1);
+    }
+
+    /**
+     * Values recorded in one of the {@link LatencyHistogram#BUCKETS} buckets
+     */
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram{count=" + count + ", mean=" + getMean() + ", p50=" + getQuantile(0.5)
+                + ", p99=" + getQuantile(0.99) + ", buckets=" + Arrays.toString(counts) + "}";
+    }
+}
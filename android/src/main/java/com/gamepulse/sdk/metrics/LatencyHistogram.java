@@ -0,0 +1,61 @@
+package com.gamepulse.sdk.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-bucket histogram of non-negative values, striped like {@link StripedCounter}
+ * - Bucket 0 holds 0, bucket i holds [2^(i-1), 2^i); the last one also takes everything above
+ * - Recording is one leading-zero count and two atomic adds, with no allocation and no lock
+ * - The unit is the caller's: nanoseconds for track(), milliseconds for upload round trips
+ */
+public final class LatencyHistogram {
+
+    public static final int BUCKETS = 40;
+
+    // Per stripe: the buckets, then count and sum; padded so stripes never share a cache line
+    private static final int COUNT = BUCKETS;
+    private static final int SUM = BUCKETS + 1;
+    private static final int STRIDE = (BUCKETS + 2 + StripedCounter.PADDING - 1)
+            / StripedCounter.PADDING * StripedCounter.PADDING;
+
+    private final AtomicLongArray cells = new AtomicLongArray(StripedCounter.STRIPES * STRIDE);
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        int base = StripedCounter.stripe() * STRIDE;
+        cells.getAndIncrement(base + bucketOf(value));
+        cells.getAndIncrement(base + COUNT);
+        cells.getAndAdd(base + SUM, value);
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        long sum = 0;
+        for (int stripe = 0; stripe < StripedCounter.STRIPES; stripe++) {
+            int base = stripe * STRIDE;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += cells.get(base + i);
+            }
+            count += cells.get(base + COUNT);
+            sum += cells.get(base + SUM);
+        }
+        return new HistogramSnapshot(counts, count, sum);
+    }
+
+    static int bucketOf(long value) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * Largest value bucket i can hold; Long.MAX_VALUE for the last one
+     */
+    static long upperBound(int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.gamepulse.sdk.metrics;
+
+/**
+ * SDK metrics at one point in time; counters are totals since create(), so rates come from
+ * the difference between two snapshots
+ */
+public final class MetricsSnapshot {
+    private final long timestamp;
+    private final long eventsAccepted;
+    private final long eventsDropped;
+    private final long eventsRetried;
+    private final long eventsSent;
+    private final long rawBytes;
+    private final long wireBytes;
+    private final int queueDepth;
+    private final HistogramSnapshot trackLatencyNanos;
+    private final HistogramSnapshot uploadRttMillis;
+
+    MetricsSnapshot(long timestamp, long eventsAccepted, long eventsDropped, long eventsRetried, long eventsSent,
+                    long rawBytes, long wireBytes, int queueDepth,
+                    HistogramSnapshot trackLatencyNanos, HistogramSnapshot uploadRttMillis) {
+        this.timestamp = timestamp;
+        this.eventsAccepted = eventsAccepted;
+        this.eventsDropped = eventsDropped;
+        this.eventsRetried = eventsRetried;
+        this.eventsSent = eventsSent;
+        this.rawBytes = rawBytes;
+        this.wireBytes = wireBytes;
+        this.queueDepth = queueDepth;
+        this.trackLatencyNanos = trackLatencyNanos;
+        this.uploadRttMillis = uploadRttMillis;
+    }
+
+    public long getTimestamp() { return timestamp; }
+
+    /**
+     * Events handed to the background worker for upload
+     */
+    public long getEventsAccepted() { return eventsAccepted; }
+
+    /**
+     * Events shed under backlog, expired, or rejected by the collector
+     */
+    public long getEventsDropped() { return eventsDropped; }
+
+    /**
+     * Events in upload attempts that failed and were scheduled again; one event can count more than once
+     */
+    public long getEventsRetried() { return eventsRetried; }
+
+    /**
+     * Events the collector acknowledged
+     */
+    public long getEventsSent() { return eventsSent; }
+
+    /**
+     * Upload payload bytes before compression, over every attempt
+     */
+    public long getRawBytes() { return rawBytes; }
+
+    /**
+     * Upload payload bytes as sent, after compression
+     */
+    public long getWireBytes() { return wireBytes; }
+
+    public int getQueueDepth() { return queueDepth; }
+
+    /**
+     * Time track() spent on the caller's thread, in nanoseconds
+     */
+    public HistogramSnapshot getTrackLatencyNanos() { return trackLatencyNanos; }
+
+    /**
+     * Upload round trips, in milliseconds
+     */
+    public HistogramSnapshot getUploadRttMillis() { return uploadRttMillis; }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{accepted=" + eventsAccepted + ", dropped=" + eventsDropped
+                + ", retried=" + eventsRetried + ", sent=" + eventsSent + ", raw=" + rawBytes
+                + ", wire=" + wireBytes + ", queue=" + queueDepth
+                + ", trackP99Ns=" + trackLatencyNanos.getQuantile(0.99)
+                + ", rttP99Ms=" + uploadRttMillis.getQuantile(0.99) + "}";
+    }
+}
@@ -0,0 +1,79 @@
+package com.gamepulse.sdk.metrics;
+
+/**
+ * The SDK's own counters and latency histograms, cumulative since create()
+ * - Recording never locks or allocates, so it is safe on game threads
+ * - Queue depth and backlog drops live in the dispatcher already and are read at snapshot time
+ */
+public final class SdkMetrics {
+
+    /**
+     * Receives a snapshot at the configured interval, on the SDK's metrics thread
+     */
+    public interface Listener {
+        void onMetrics(MetricsSnapshot snapshot);
+    }
+
+    private final StripedCounter accepted = new StripedCounter();
+    private final StripedCounter uploadDropped = new StripedCounter();
+    private final StripedCounter retried = new StripedCounter();
+    private final StripedCounter sent = new StripedCounter();
+    private final StripedCounter rawBytes = new StripedCounter();
+    private final StripedCounter wireBytes = new StripedCounter();
+    private final LatencyHistogram trackLatency = new LatencyHistogram();
+    private final LatencyHistogram uploadRtt = new LatencyHistogram();
+
+    /**
+     * One event handed to the background worker
+     */
+    public void recordAccepted() {
+        accepted.increment();
+    }
+
+    /**
+     * Time a track() call spent on the caller's thread
+     */
+    public void recordTrackLatency(long nanos) {
+        trackLatency.record(nanos);
+    }
+
+    /**
+     * One upload attempt, whatever its outcome
+     */
+    public void recordUpload(long raw, long wire) {
+        rawBytes.add(raw);
+        wireBytes.add(wire);
+    }
+
+    /**
+     * Request sent to response received
+     */
+    public void recordUploadRtt(long millis) {
+        uploadRtt.record(millis);
+    }
+
+    public void recordSent(int events) {
+        sent.add(events);
+    }
+
+    public void recordRetried(int events) {
+        retried.add(events);
+    }
+
+    /**
+     * Events given up on after upload: expired, or rejected by the collector
+     */
+    public void recordUploadDropped(int events) {
+        uploadDropped.add(events);
+    }
+
+    /**
+     * @param queueDropped events shed before upload, by the queue or the init buffer
+     * @param queueDepth events waiting for the worker right now
+     */
+    public MetricsSnapshot snapshot(long queueDropped, int queueDepth) {
+        return new MetricsSnapshot(System.currentTimeMillis(), accepted.sum(), queueDropped + uploadDropped.sum(),
+                retried.sum(), sent.sum(), rawBytes.sum(), wireBytes.sum(), queueDepth,
+                trackLatency.snapshot(), uploadRtt.snapshot());
+    }
+}
@@ -0,0 +1,44 @@
+package com.gamepulse.sdk.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter that game threads can bump without contending on one cache line
+ * - Each thread adds to one of a fixed set of stripes, picked from its id
+ * - Stripes sit a cache line apart, so two threads on different stripes never share one
+ * - sum() adds the stripes up; it is exact once writers stop and close enough while they run
+ *
+ * LongAdder does the same but needs API 24.
+ */
+public final class StripedCounter {
+
+    static final int STRIPES = 8;
+    // Longs per 64-byte cache line
+    static final int PADDING = 8;
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long delta) {
+        cells.getAndAdd(stripe() * PADDING, delta);
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Stripe of the calling thread; spread so sequential thread ids land on different stripes
+     */
+    static int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 61) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,89 @@
+package com.gamepulse.sdk.network;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stops uploads while the collector is unreachable or shedding load
+ * - Closed: every upload goes out; consecutive failures are counted
+ * - Open: after the failure threshold no upload goes out until the cooldown ends
+ * - Half-open: one probe upload is let through; success closes the breaker,
+ *   failure opens it again with twice the cooldown (capped, jittered by +-20%)
+ */
+public final class CircuitBreaker {
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_COOLDOWN_MS = 30_000;
+    public static final long DEFAULT_MAX_COOLDOWN_MS = 10 * 60_000;
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long baseCooldownMs;
+    private final long maxCooldownMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long cooldownMs;
+    private long openUntil;
+    private boolean probeInFlight;
+
+    public CircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_COOLDOWN_MS, DEFAULT_MAX_COOLDOWN_MS);
+    }
+
+    public CircuitBreaker(int failureThreshold, long cooldownMs, long maxCooldownMs) {
+        this.failureThreshold = failureThreshold;
+        this.baseCooldownMs = cooldownMs;
+        this.maxCooldownMs = maxCooldownMs;
+        this.cooldownMs = cooldownMs;
+    }
+
+    /**
+     * Ask to send; returns 0 if the upload may go out now, otherwise milliseconds to wait
+     */
+    public synchronized long tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now < openUntil) {
+                return openUntil - now;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                // Give the probe time to come back before asking again
+                return Math.max(1000, cooldownMs / 10);
+            }
+            probeInFlight = true;
+        }
+        return 0;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        cooldownMs = baseCooldownMs;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure(long now) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            cooldownMs = Math.min(cooldownMs * 2, maxCooldownMs);
+            open(now);
+        } else if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            open(now);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        probeInFlight = false;
+        long jitter = cooldownMs / 5;
+        openUntil = now + cooldownMs - jitter + ThreadLocalRandom.current().nextLong(2 * jitter + 1);
+    }
+}
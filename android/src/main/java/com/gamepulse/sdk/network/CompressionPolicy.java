@@ -0,0 +1,47 @@
+package com.gamepulse.sdk.network;
+
+/**
+ * Decides whether an upload payload is worth gzipping
+ * - Payloads below the threshold are sent as-is, since gzip overhead outweighs the savings
+ * - If recent payloads barely shrink, the effective threshold backs off (up to 16x) and
+ *   recovers once compression pays off again
+ */
+public class CompressionPolicy {
+
+    public static final int DISABLED = -1;
+
+    private static final double POOR_RATIO = 0.9;
+    private static final int MAX_BACKOFF = 16;
+
+    private final int minBytes;
+    private volatile int backoff = 1;
+
+    public CompressionPolicy(int minBytes) {
+        this.minBytes = minBytes;
+    }
+
+    public boolean shouldCompress(int rawBytes) {
+        return minBytes >= 0 && rawBytes >= (long) minBytes * backoff;
+    }
+
+    /**
+     * Feed back the outcome of a compressed upload
+     */
+    public synchronized void record(long rawBytes, long wireBytes) {
+        if (rawBytes <= 0) {
+            return;
+        }
+        if ((double) wireBytes / rawBytes > POOR_RATIO) {
+            backoff = Math.min(backoff * 2, MAX_BACKOFF);
+        } else if (backoff > 1) {
+            backoff = backoff / 2;
+        }
+    }
+
+    /**
+     * Threshold currently in effect, in bytes
+     */
+    public int getEffectiveThreshold() {
+        return minBytes < 0 ? DISABLED : minBytes * backoff;
+    }
+}
@@ -0,0 +1,147 @@
+package com.gamepulse.sdk.network;
+
+/**
+ * Caps concurrent uploads and in-flight bytes, adapting the cap with AIMD
+ * - Additive increase: a fast response while the cap is in use grows it by 1/cap,
+ *   i.e. about one more request per round trip
+ * - Multiplicative decrease: a failed or throttled upload halves the cap; a round trip
+ *   above twice the minimum (and at least 50 ms over it) shrinks it by 10%, backing off
+ *   before the link saturates
+ * - The minimum RTT is re-measured every {@link #RTT_WINDOW} samples so it follows
+ *   network changes (Wi-Fi to cellular and back)
+ * - One upload is always allowed, however large, so a big batch cannot stall the queue
+ */
+public final class ConcurrencyLimiter {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 2;
+    public static final int DEFAULT_MAX_LIMIT = 8;
+    public static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 2 * 1024 * 1024;
+
+    static final int RTT_WINDOW = 64;
+
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double FAILURE_BACKOFF = 0.5;
+    private static final double LATENCY_BACKOFF = 0.9;
+    // Jitter below this is noise, not queueing; matters on fast links where minRtt is a few ms
+    private static final long MIN_QUEUEING_DELAY_MS = 50;
+
+    private final int maxLimit;
+    private final long maxInFlightBytes;
+
+    private double limit;
+    private int inFlight;
+    private long inFlightBytes;
+    private long smoothedRtt = -1;
+    private long minRtt = -1;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private int windowSamples;
+
+    public ConcurrencyLimiter() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_MAX_IN_FLIGHT_BYTES);
+    }
+
+    public ConcurrencyLimiter(int initialLimit, int maxLimit, long maxInFlightBytes) {
+        if (initialLimit < 1 || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Need 1 <= initialLimit <= maxLimit");
+        }
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.maxInFlightBytes = maxInFlightBytes;
+    }
+
+    /**
+     * Reserve a slot for an upload of this size; false if it has to wait for a running one
+     */
+    public synchronized boolean tryAcquire(long bytes) {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        if (inFlight > 0 && inFlightBytes + bytes > maxInFlightBytes) {
+            return false;
+        }
+        inFlight++;
+        inFlightBytes += bytes;
+        return true;
+    }
+
+    /**
+     * The collector answered; rttMs is request sent to response received
+     */
+    public synchronized void onSuccess(long bytes, long rttMs) {
+        boolean saturated = inFlight >= (int) limit;
+        release(bytes);
+        if (rttMs < 0) {
+            return;
+        }
+        recordRtt(rttMs);
+        if (rttMs > Math.max(minRtt * LATENCY_TOLERANCE, minRtt + MIN_QUEUEING_DELAY_MS)) {
+            limit = Math.max(1, limit * LATENCY_BACKOFF);
+        } else if (saturated) {
+            // Only grow while the cap is actually limiting us, or an idle game would inflate it
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * The upload failed or the collector asked us to slow down
+     */
+    public synchronized void onFailure(long bytes) {
+        release(bytes);
+        limit = Math.max(1, limit * FAILURE_BACKOFF);
+    }
+
+    /**
+     * Whether another upload could start right now, ignoring its size
+     */
+    public synchronized boolean hasCapacity() {
+        return inFlight < (int) limit;
+    }
+
+    /**
+     * Uploads currently allowed to run at once
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Exponentially weighted round trip, in milliseconds; -1 before the first response
+     */
+    public synchronized long getSmoothedRttMs() {
+        return smoothedRtt;
+    }
+
+    /**
+     * Fastest recent round trip, in milliseconds; -1 before the first response
+     */
+    public synchronized long getMinRttMs() {
+        return minRtt;
+    }
+
+    /**
+     * Give a slot back without feedback, for an upload that never went out
+     */
+    public synchronized void release(long bytes) {
+        inFlight = Math.max(0, inFlight - 1);
+        inFlightBytes = Math.max(0, inFlightBytes - bytes);
+    }
+
+    private void recordRtt(long rttMs) {
+        // Same 1/8 gain TCP uses for SRTT
+        smoothedRtt = smoothedRtt < 0 ? rttMs : smoothedRtt + (rttMs - smoothedRtt) / 8;
+
+        windowMinRtt = Math.min(windowMinRtt, rttMs);
+        if (minRtt < 0 || rttMs < minRtt) {
+            minRtt = rttMs;
+        }
+        if (++windowSamples >= RTT_WINDOW) {
+            minRtt = windowMinRtt;
+            windowMinRtt = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.gamepulse.sdk.network;
+
+import com.gamepulse.sdk.clock.EventClock;
+import com.gamepulse.sdk.diagnostics.LogLevel;
+import com.gamepulse.sdk.diagnostics.Logger;
+import com.gamepulse.sdk.diagnostics.Tracing;
+import com.gamepulse.sdk.encoding.BinaryBatchDecoder;
+import com.gamepulse.sdk.encoding.BinaryBatchFormat;
+import com.gamepulse.sdk.metrics.SdkMetrics;
+import com.gamepulse.sdk.queue.BatchFormat;
+import com.gamepulse.sdk.queue.EventBatch;
+import com.gamepulse.sdk.queue.EventBatcher;
+import com.gamepulse.sdk.queue.JsonBatchFormat;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Posts batch payloads produced by {@link EventBatcher} to the collector
+ * - Bodies above the compression threshold are sent with Content-Encoding: gzip
+ * - Every upload reports its raw and on-the-wire size to the listener
+ * - Binary batches are re-sent as JSON if the collector rejects the content type (415)
+ * - The Date header of every response feeds the clock's server offset estimate
+ * - Network errors, 408, 429 and 5xx are retried with jittered backoff and Retry-After;
+ *   repeated failures open the circuit breaker so nothing is sent until it cools down
+ * - Other 4xx responses and batches past the maximum event age are dropped
+ * - Concurrent uploads are capped by an AIMD {@link ConcurrencyLimiter}; batches over the
+ *   cap wait in memory and go out as running uploads complete
+ * - Every attempt of a batch carries the same Idempotency-Key header
+ * - Sizes, round trips and per-event outcomes are recorded in {@link SdkMetrics}
+ */
+public class EventUploader implements EventBatcher.Sender {
+
+    /**
+     * Receives size and outcome of each upload, on an OkHttp thread
+     */
+    public interface UploadListener {
+        void onUpload(UploadStats stats);
+    }
+
+    // Batches waiting in memory for a retry; beyond this they are only in the journal until next start
+    static final int MAX_PENDING_RETRIES = 64;
+    // Payload bytes waiting in memory for an upload slot; beyond this, same rule as retries
+    static final long MAX_WAITING_BYTES = 4 * 1024 * 1024;
+
+    private static final MediaType JSON = MediaType.get(JsonBatchFormat.CONTENT_TYPE);
+    private static final int REQUEST_TIMEOUT = 408;
+    private static final int UNSUPPORTED_MEDIA_TYPE = 415;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final OkHttpClient httpClient;
+    private final String url;
+    private final String apiKey;
+    private final Logger log;
+    private final CompressionPolicy compression;
+    private final UploadListener listener;
+    private final EventClock clock;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker breaker;
+    private final ConcurrencyLimiter limiter;
+    private final SdkMetrics metrics;
+    private final ArrayDeque<EventBatch> waiting = new ArrayDeque<>();
+    private long waitingBytes;
+    private final boolean binary;
+    private final MediaType mediaType;
+    private final ScheduledExecutorService retryScheduler;
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+    private volatile boolean binaryRejected = false;
+
+    public EventUploader(OkHttpClient httpClient, String url, String apiKey, boolean debug) {
+        this(httpClient, url, apiKey, debug, new JsonBatchFormat(),
+                new CompressionPolicy(CompressionPolicy.DISABLED), null, null,
+                new RetryPolicy(), new CircuitBreaker(), new ConcurrencyLimiter());
+    }
+
+    public EventUploader(OkHttpClient httpClient, String url, String apiKey, boolean debug, BatchFormat format,
+                         CompressionPolicy compression, UploadListener listener, EventClock clock,
+                         RetryPolicy retryPolicy, CircuitBreaker breaker, ConcurrencyLimiter limiter) {
+        this(httpClient, url, apiKey, new Logger(debug ? LogLevel.DEBUG : LogLevel.NONE), format, compression,
+                listener, clock, retryPolicy, breaker, limiter, new SdkMetrics());
+    }
+
+    public EventUploader(OkHttpClient httpClient, String url, String apiKey, Logger log, BatchFormat format,
+                         CompressionPolicy compression, UploadListener listener, EventClock clock,
+                         RetryPolicy retryPolicy, CircuitBreaker breaker, ConcurrencyLimiter limiter,
+                         SdkMetrics metrics) {
+        this(httpClient, url, apiKey, log, format, compression, listener, clock, retryPolicy, breaker, limiter,
+                metrics, null);
+    }
+
+    /**
+     * Same, scheduling retries on a scheduler shared with other components (null for its own)
+     */
+    public EventUploader(OkHttpClient httpClient, String url, String apiKey, Logger log, BatchFormat format,
+                         CompressionPolicy compression, UploadListener listener, EventClock clock,
+                         RetryPolicy retryPolicy, CircuitBreaker breaker, ConcurrencyLimiter limiter,
+                         SdkMetrics metrics, ScheduledExecutorService retryScheduler) {
+        this.httpClient = httpClient;
+        this.url = url;
+        this.apiKey = apiKey;
+        this.log = log;
+        this.compression = compression;
+        this.listener = listener;
+        this.clock = clock;
+        this.retryPolicy = retryPolicy;
+        this.breaker = breaker;
+        this.limiter = limiter;
+        this.metrics = metrics;
+        this.binary = format instanceof BinaryBatchFormat;
+        this.mediaType = MediaType.get(format.getContentType());
+        this.retryScheduler = retryScheduler != null ? retryScheduler
+                : Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "GamePulse-Retry");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    @Override
+    public void send(EventBatch batch) {
+        if (Tracing.ENABLED) Tracing.begin(Tracing.Section.UPLOAD);
+        try {
+            upload(batch);
+        } finally {
+            if (Tracing.ENABLED) Tracing.end(Tracing.Section.UPLOAD);
+        }
+    }
+
+    private void upload(final EventBatch batch) {
+        long now = System.currentTimeMillis();
+        if (retryPolicy.isExpired(batch.getCreatedAt(), now)) {
+            drop(batch, "older than the maximum event age");
+            return;
+        }
+
+        final boolean sendBinary = binary && !binaryRejected;
+        final byte[] payload = binary && !sendBinary
+                ? BinaryBatchDecoder.toJson(batch.getPayload())
+                : batch.getPayload();
+        final MediaType contentType = sendBinary ? mediaType : JSON;
+
+        synchronized (waiting) {
+            if (!limiter.tryAcquire(payload.length)) {
+                park(batch);
+                return;
+            }
+        }
+        // Checked after taking a slot so a half-open probe cannot get stuck waiting for one
+        long wait = breaker.tryAcquire(now);
+        if (wait > 0) {
+            limiter.release(payload.length);
+            schedule(batch, wait);
+            drainWaiting();
+            return;
+        }
+
+        final int eventCount = batch.getEventCount();
+        final boolean compressed = compression.shouldCompress(payload.length);
+        Request request = newRequest(payload, contentType, compressed, batch.getIdempotencyKey());
+        final RequestBody body = request.body();
+
+        httpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (log.isEnabled(LogLevel.INFO)) {
+                    log.info("Failed to send " + eventCount + " events: " + e.getMessage());
+                }
+                limiter.onFailure(payload.length);
+                breaker.onFailure(System.currentTimeMillis());
+                report(-1);
+                retry(batch, -1);
+                drainWaiting();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                if (Tracing.ENABLED) Tracing.begin(Tracing.Section.UPLOAD_RESPONSE);
+                try {
+                    handle(response);
+                } finally {
+                    if (Tracing.ENABLED) Tracing.end(Tracing.Section.UPLOAD_RESPONSE);
+                }
+            }
+
+            private void handle(Response response) {
+                int code = response.code();
+                if (log.isEnabled(LogLevel.DEBUG)) {
+                    log.debug("Batch of " + eventCount + " events sent: " + code);
+                }
+                Date serverDate = response.headers().getDate("Date");
+                if (clock != null && serverDate != null) {
+                    clock.recordServerDate(serverDate.getTime(),
+                            response.sentRequestAtMillis(), response.receivedResponseAtMillis());
+                }
+                long rtt = response.receivedResponseAtMillis() - response.sentRequestAtMillis();
+                metrics.recordUploadRtt(rtt);
+                long retryAfter = code == TOO_MANY_REQUESTS || code == SERVICE_UNAVAILABLE
+                        ? retryAfterMillis(response) : -1;
+                response.close();
+
+                // Only transient failures count against the breaker; any other answer proves the collector is up
+                boolean retryable = code == REQUEST_TIMEOUT || code == TOO_MANY_REQUESTS || code >= 500;
+                if (retryable) {
+                    limiter.onFailure(payload.length);
+                    breaker.onFailure(System.currentTimeMillis());
+                } else {
+                    limiter.onSuccess(payload.length, rtt);
+                    breaker.onSuccess();
+                }
+                report(code);
+
+                if (response.isSuccessful()) {
+                    metrics.recordSent(eventCount);
+                    batch.acknowledge();
+                } else if (sendBinary && code == UNSUPPORTED_MEDIA_TYPE) {
+                    // Collector doesn't speak the binary format; use JSON from now on
+                    binaryRejected = true;
+                    send(batch);
+                } else if (retryable) {
+                    retry(batch, retryAfter);
+                } else {
+                    // The collector will never accept this payload; retrying would only repeat the error
+                    drop(batch, "rejected with " + code);
+                }
+                drainWaiting();
+            }
+
+            private void report(int statusCode) {
+                long wireBytes = compressed ? ((GzipRequestBody) body).getWireBytes() : payload.length;
+                if (compressed && wireBytes > 0) {
+                    compression.record(payload.length, wireBytes);
+                }
+                metrics.recordUpload(payload.length, wireBytes);
+                if (listener != null) {
+                    listener.onUpload(new UploadStats(eventCount, payload.length, wireBytes, compressed, statusCode));
+                }
+            }
+        });
+    }
+
+    /**
+     * The POST for one payload; a compressed body is gzipped as OkHttp writes it
+     */
+    Request newRequest(byte[] payload, MediaType contentType, boolean compressed, String idempotencyKey) {
+        RequestBody body = compressed
+                ? new GzipRequestBody(payload, contentType)
+                : RequestBody.create(payload, contentType);
+        Request.Builder builder = new Request.Builder()
+                .url(url)
+                .addHeader("Content-Type", contentType.toString())
+                .addHeader("x-api-key", apiKey)
+                .post(body);
+        if (compressed) {
+            builder.addHeader("Content-Encoding", "gzip");
+        }
+        if (idempotencyKey != null) {
+            builder.addHeader("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return breaker.getState();
+    }
+
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return limiter;
+    }
+
+    private void park(EventBatch batch) {
+        int bytes = batch.getPayload().length;
+        if (!waiting.isEmpty() && waitingBytes + bytes > MAX_WAITING_BYTES) {
+            // Not acknowledged, so the journal replays it on next start
+            if (log.isEnabled(LogLevel.WARN)) {
+                log.warn("Upload queue full, " + batch.getEventCount() + " events deferred to next start");
+            }
+            return;
+        }
+        waiting.add(batch);
+        waitingBytes += bytes;
+    }
+
+    /**
+     * Start waiting batches while there are free slots
+     */
+    private void drainWaiting() {
+        // Bounded by the queue length on entry: a batch too large for the free bytes is parked again
+        int attempts;
+        synchronized (waiting) {
+            attempts = waiting.size();
+        }
+        while (attempts-- > 0) {
+            EventBatch next;
+            synchronized (waiting) {
+                if (!limiter.hasCapacity()) {
+                    return;
+                }
+                next = waiting.poll();
+                if (next == null) {
+                    return;
+                }
+                waitingBytes -= next.getPayload().length;
+            }
+            send(next);
+        }
+    }
+
+    private void retry(EventBatch batch, long retryAfterMs) {
+        metrics.recordRetried(batch.getEventCount());
+        int attempt = batch.recordFailedAttempt();
+        schedule(batch, retryPolicy.delay(attempt, retryAfterMs));
+    }
+
+    private void schedule(final EventBatch batch, long delayMs) {
+        if (pendingRetries.incrementAndGet() > MAX_PENDING_RETRIES) {
+            pendingRetries.decrementAndGet();
+            // Not acknowledged, so the journal replays it on next start
+            if (log.isEnabled(LogLevel.WARN)) {
+                log.warn("Retry queue full, " + batch.getEventCount() + " events deferred to next start");
+            }
+            return;
+        }
+        retryScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                pendingRetries.decrementAndGet();
+                send(batch);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void drop(EventBatch batch, String reason) {
+        if (log.isEnabled(LogLevel.WARN)) {
+            log.warn("Dropping " + batch.getEventCount() + " events, " + reason);
+        }
+        metrics.recordUploadDropped(batch.getEventCount());
+        // Remove from the journal as well, or it would come back on every start
+        batch.discard();
+    }
+
+    /**
+     * Retry-After as delta-seconds or an HTTP date, in milliseconds from now; -1 if absent or unparseable
+     */
+    private static long retryAfterMillis(Response response) {
+        String value = response.header("Retry-After");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+}
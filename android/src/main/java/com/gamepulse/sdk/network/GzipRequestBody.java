@@ -0,0 +1,58 @@
+package com.gamepulse.sdk.network;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * Gzips the payload while OkHttp writes it to the socket, without a second buffer
+ * - Sent chunked, since the compressed length is only known after writing
+ * - Records how many compressed bytes went on the wire
+ */
+class GzipRequestBody extends RequestBody {
+    private final byte[] payload;
+    private final MediaType contentType;
+    private volatile long wireBytes;
+
+    GzipRequestBody(byte[] payload, MediaType contentType) {
+        this.payload = payload;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        final long[] written = {0};
+        ForwardingSink counting = new ForwardingSink(sink) {
+            @Override
+            public void write(Buffer source, long byteCount) throws IOException {
+                written[0] += byteCount;
+                super.write(source, byteCount);
+            }
+        };
+
+        BufferedSink gzip = Okio.buffer(new GzipSink(counting));
+        gzip.write(payload);
+        gzip.close();
+        wireBytes = written[0];
+    }
+
+    long getWireBytes() {
+        return wireBytes;
+    }
+}
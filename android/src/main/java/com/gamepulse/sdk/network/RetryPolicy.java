@@ -0,0 +1,60 @@
+package com.gamepulse.sdk.network;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When to retry a failed upload and when to give up on it
+ * - Backoff is exponential with full jitter, so devices that failed together don't retry together
+ * - A Retry-After from the collector is honored as a lower bound, up to the maximum delay
+ * - Batches whose oldest event is older than the maximum age are dropped instead of retried
+ */
+public final class RetryPolicy {
+
+    public static final long DEFAULT_BASE_DELAY_MS = TimeUnit.SECONDS.toMillis(1);
+    public static final long DEFAULT_MAX_DELAY_MS = TimeUnit.MINUTES.toMillis(5);
+    public static final long DEFAULT_MAX_EVENT_AGE_MS = TimeUnit.DAYS.toMillis(3);
+
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final long maxEventAgeMs;
+
+    public RetryPolicy() {
+        this(DEFAULT_BASE_DELAY_MS, DEFAULT_MAX_DELAY_MS, DEFAULT_MAX_EVENT_AGE_MS);
+    }
+
+    public RetryPolicy(long baseDelayMs, long maxDelayMs, long maxEventAgeMs) {
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.maxEventAgeMs = maxEventAgeMs;
+    }
+
+    /**
+     * Delay before retry number {@code attempt} (1-based): uniform in [0, min(max, base * 2^(attempt - 1))]
+     */
+    public long backoff(int attempt) {
+        long ceiling = baseDelayMs << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxDelayMs) {
+            ceiling = maxDelayMs;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Delay honoring the collector's Retry-After (milliseconds, or -1 if absent)
+     */
+    public long delay(int attempt, long retryAfterMs) {
+        long delay = backoff(attempt);
+        if (retryAfterMs > delay) {
+            delay = Math.min(retryAfterMs, maxDelayMs);
+        }
+        return delay;
+    }
+
+    public boolean isExpired(long createdAt, long now) {
+        return now - createdAt > maxEventAgeMs;
+    }
+
+    public long getMaxDelayMs() { return maxDelayMs; }
+    public long getMaxEventAgeMs() { return maxEventAgeMs; }
+}
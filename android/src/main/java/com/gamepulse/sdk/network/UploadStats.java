@@ -0,0 +1,36 @@
+package com.gamepulse.sdk.network;
+
+/**
+ * Size and outcome of a single batch upload
+ */
+public class UploadStats {
+    private final int eventCount;
+    private final long rawBytes;
+    private final long wireBytes;
+    private final boolean compressed;
+    private final int statusCode;
+
+    UploadStats(int eventCount, long rawBytes, long wireBytes, boolean compressed, int statusCode) {
+        this.eventCount = eventCount;
+        this.rawBytes = rawBytes;
+        this.wireBytes = wireBytes;
+        this.compressed = compressed;
+        this.statusCode = statusCode;
+    }
+
+    public int getEventCount() { return eventCount; }
+    public long getRawBytes() { return rawBytes; }
+    public long getWireBytes() { return wireBytes; }
+    public boolean isCompressed() { return compressed; }
+
+    /**
+     * HTTP status, or -1 if the request failed before a response arrived
+     */
+    public int getStatusCode() { return statusCode; }
+
+    @Override
+    public String toString() {
+        return "UploadStats{events=" + eventCount + ", raw=" + rawBytes + ", wire=" + wireBytes
+                + ", gzip=" + compressed + ", status=" + statusCode + "}";
+    }
+}
@@ -10,6 +10,7 @@ import android.os.Build;
 import android.os.Bundle;
 import android.util.Log;
 import androidx.core.content.ContextCompat;
+import com.gamepulse.sdk.GamePulse;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -17,7 +18,7 @@ import java.util.HashMap;
  * Simplified permission manager for Gamepulse SDK
  * - Internet permission: Required by default, logs error if missing
  * - Storage permission: Required for retries/failures, logs error if missing
- * - Location permission: Optional, adds latitude/longitude to events if available
+ * - Location permission: Optional, lets InitBuilder.locationEnrichment() add a coarse cell to events
  * - No automatic permission requests - SDK ready only if permissions available
  */
 public class PermissionManager {
@@ -76,7 +77,10 @@ public class PermissionManager {
     
     /**
      * Initialize location services if permissions are available
+     * @deprecated Use {@link GamePulse.InitBuilder#locationEnrichment}, which listens passively
+     *             off the main thread instead of polling the network provider
      */
+    @Deprecated
     public static void initializeLocation(Context context) {
         if (!locationInitialized && hasLocationPermissions(context)) {
             try {
@@ -126,7 +130,10 @@ public class PermissionManager {
     
     /**
      * Get location data to add to events (if available)
+     * @deprecated Never attached to events; use {@link GamePulse.InitBuilder#locationEnrichment},
+     *             which reports a geohash cell rather than exact coordinates
      */
+    @Deprecated
     public static Map<String, String> getLocationData(Context context) {
         Map<String, String> locationData = new HashMap<>();
         
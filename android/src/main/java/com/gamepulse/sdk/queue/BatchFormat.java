@@ -0,0 +1,30 @@
+package com.gamepulse.sdk.queue;
+
+import okio.Buffer;
+
+/**
+ * How event records are framed in the pending buffer and turned into an upload payload
+ */
+public interface BatchFormat {
+
+    /**
+     * MIME type announced in the upload's Content-Type header
+     */
+    String getContentType();
+
+    /**
+     * False for a journaled record in a layout this format can no longer batch, e.g. one written
+     * by an older SDK version
+     */
+    boolean canBatch(byte[] record);
+
+    /**
+     * Append one encoded event; index is its position within the batch
+     */
+    void writeRecord(Buffer pending, int index, byte[] data, int offset, int length);
+
+    /**
+     * Drain the pending buffer into the final payload
+     */
+    byte[] finish(Buffer pending, int count);
+}
@@ -0,0 +1,98 @@
+package com.gamepulse.sdk.queue;
+
+import com.gamepulse.sdk.id.IdGenerator;
+import com.gamepulse.sdk.storage.AcknowledgedIds;
+import com.gamepulse.sdk.storage.EventJournal;
+
+/**
+ * One upload payload and the journal range it covers
+ * - Carries the time its oldest event was queued and how often it was attempted,
+ *   so the uploader can back off and eventually give up on it
+ * - Carries the ids of its events; the idempotency key is derived from all of them, so every
+ *   retry of the batch sends the same key
+ */
+public class EventBatch {
+    private final byte[] payload;
+    private final int eventCount;
+    private final long[] eventIds;
+    private final AcknowledgedIds acknowledgedIds;
+    private final String idempotencyKey;
+    private final EventJournal journal;
+    private final long journalStart;
+    private final long journalEnd;
+    private final long createdAt;
+    private int attempts;
+
+    EventBatch(byte[] payload, int eventCount, long[] eventIds, AcknowledgedIds acknowledgedIds,
+               EventJournal journal, long journalStart, long journalEnd, long createdAt) {
+        this.payload = payload;
+        this.eventCount = eventCount;
+        this.eventIds = eventIds;
+        this.acknowledgedIds = acknowledgedIds;
+        this.idempotencyKey = idempotencyKey(eventIds);
+        this.journal = journal;
+        this.journalStart = journalStart;
+        this.journalEnd = journalEnd;
+        this.createdAt = createdAt;
+    }
+
+    public byte[] getPayload() { return payload; }
+    public int getEventCount() { return eventCount; }
+
+    /**
+     * Stable key for the batch, or null if none of its events has an id
+     */
+    public String getIdempotencyKey() { return idempotencyKey; }
+
+    /**
+     * When the oldest event in the batch was queued, in epoch milliseconds
+     */
+    public long getCreatedAt() { return createdAt; }
+
+    /**
+     * Failed upload attempts so far; only the thread currently sending the batch touches it
+     */
+    public int getAttempts() { return attempts; }
+
+    public int recordFailedAttempt() {
+        return ++attempts;
+    }
+
+    /**
+     * Called after the collector accepted the batch, so its ids count as delivered and its events
+     * leave the journal
+     */
+    public void acknowledge() {
+        if (acknowledgedIds != null) {
+            for (int i = 0; i < eventIds.length; i += 2) {
+                if ((eventIds[i] | eventIds[i + 1]) != 0) {
+                    acknowledgedIds.add(eventIds[i], eventIds[i + 1]);
+                }
+            }
+        }
+        discard();
+    }
+
+    /**
+     * Called when the batch is given up on; its events leave the journal but were never delivered,
+     * so their ids are not remembered
+     */
+    public void discard() {
+        if (journal != null) {
+            journal.acknowledge(journalStart, journalEnd);
+        }
+    }
+
+    private static String idempotencyKey(long[] eventIds) {
+        // Two independent 64-bit hashes over the ordered ids; the ids themselves are already random
+        long first = 0;
+        long second = eventIds.length;
+        boolean any = false;
+        for (int i = 0; i < eventIds.length; i += 2) {
+            any |= (eventIds[i] | eventIds[i + 1]) != 0;
+            first = (first ^ eventIds[i]) * 0x9E3779B97F4A7C15L + eventIds[i + 1];
+            second = (second ^ eventIds[i + 1]) * 0xC2B2AE3D27D4EB4FL + eventIds[i];
+        }
+        return any ? IdGenerator.format(first, second) : null;
+    }
+}
@@ -0,0 +1,220 @@
+package com.gamepulse.sdk.queue;
+
+import com.gamepulse.sdk.diagnostics.Tracing;
+import com.gamepulse.sdk.storage.AcknowledgedIds;
+import com.gamepulse.sdk.storage.EventJournal;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import okio.Buffer;
+
+/**
+ * Collects serialized events and hands them off as a single payload (a JSON array by default)
+ * - Flushes when the pending batch reaches maxEvents or maxBytes
+ * - Flushes on a fixed interval so slow event streams are still delivered
+ * - flush() forces delivery of whatever is pending
+ * - When a journal is attached, every event is written to it before it is batched
+ * - Event ids ride along with each batch, which records them as acknowledged once delivered
+ */
+public class EventBatcher {
+
+    /**
+     * Receives a complete batch payload
+     */
+    public interface Sender {
+        void send(EventBatch batch);
+    }
+
+    public static final int DEFAULT_MAX_EVENTS = 100;
+    public static final long DEFAULT_MAX_BYTES = 256 * 1024;
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 10_000;
+
+    private final Sender sender;
+    private final EventJournal journal;
+    private final AcknowledgedIds acknowledgedIds;
+    private final BatchFormat format;
+    private final int maxEvents;
+    private final long maxBytes;
+    private final ScheduledExecutorService scheduler;
+    // False when the scheduler is shared with other SDK instances and must outlive this batcher
+    private final boolean ownsScheduler;
+    private final ScheduledFuture<?> flushTask;
+
+    private final Object lock = new Object();
+    private Buffer pending = new Buffer();
+    private int pendingCount = 0;
+    // High and low half of each pending event's id, interleaved
+    private long[] pendingIds = new long[32];
+    private long pendingJournalStart;
+    private long pendingSince;
+
+    public EventBatcher(Sender sender, int maxEvents, long maxBytes, long flushIntervalMs) {
+        this(sender, null, new JsonBatchFormat(), maxEvents, maxBytes, flushIntervalMs);
+    }
+
+    public EventBatcher(Sender sender, EventJournal journal, BatchFormat format,
+                        int maxEvents, long maxBytes, long flushIntervalMs) {
+        this(sender, journal, null, format, maxEvents, maxBytes, flushIntervalMs);
+    }
+
+    public EventBatcher(Sender sender, EventJournal journal, AcknowledgedIds acknowledgedIds, BatchFormat format,
+                        int maxEvents, long maxBytes, long flushIntervalMs) {
+        this(sender, journal, acknowledgedIds, format, maxEvents, maxBytes, flushIntervalMs, null);
+    }
+
+    /**
+     * Same, running the flush timer on a scheduler shared with other components (null for its own)
+     */
+    public EventBatcher(Sender sender, EventJournal journal, AcknowledgedIds acknowledgedIds, BatchFormat format,
+                        int maxEvents, long maxBytes, long flushIntervalMs, ScheduledExecutorService scheduler) {
+        if (maxEvents <= 0) {
+            throw new IllegalArgumentException("maxEvents must be positive");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.sender = sender;
+        this.journal = journal;
+        this.acknowledgedIds = acknowledgedIds;
+        this.format = format;
+        this.maxEvents = maxEvents;
+        this.maxBytes = maxBytes;
+
+        this.ownsScheduler = scheduler == null;
+        this.scheduler = scheduler != null ? scheduler
+                : Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "GamePulse-Batcher");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        this.flushTask = flushIntervalMs > 0
+                ? this.scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs,
+                        TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    /**
+     * Append one serialized event to the current batch, flushing if a limit is hit
+     */
+    public void add(byte[] event) {
+        add(event, 0, event.length);
+    }
+
+    /**
+     * Append bytes [offset, offset + length) of a reusable encoder buffer; the bytes are copied
+     */
+    public void add(byte[] event, int offset, int length) {
+        add(event, offset, length, 0, 0);
+    }
+
+    /**
+     * Same, for an event carrying a 128-bit id; (0, 0) means it has none
+     */
+    public void add(byte[] event, int offset, int length, long eventIdHigh, long eventIdLow) {
+        EventBatch full = null;
+
+        synchronized (lock) {
+            if (pendingCount == 0) {
+                pendingJournalStart = journalPosition();
+                pendingSince = System.currentTimeMillis();
+            }
+            if (journal != null) {
+                if (Tracing.ENABLED) Tracing.begin(Tracing.Section.JOURNAL_WRITE);
+                try {
+                    journal.append(event, offset, length);
+                } catch (IOException e) {
+                    // Still deliver from memory; only crash safety is lost for this event
+                } finally {
+                    if (Tracing.ENABLED) Tracing.end(Tracing.Section.JOURNAL_WRITE);
+                }
+            }
+
+            format.writeRecord(pending, pendingCount, event, offset, length);
+            if (pendingCount * 2 + 2 > pendingIds.length) {
+                pendingIds = Arrays.copyOf(pendingIds, pendingIds.length * 2);
+            }
+            pendingIds[pendingCount * 2] = eventIdHigh;
+            pendingIds[pendingCount * 2 + 1] = eventIdLow;
+            pendingCount++;
+
+            if (pendingCount >= maxEvents || pending.size() >= maxBytes) {
+                full = cutBatch();
+            }
+        }
+
+        if (full != null) {
+            sender.send(full);
+        }
+    }
+
+    /**
+     * Re-add an event journaled by an earlier process; false, and nothing is added, if the
+     * format can no longer batch its layout
+     */
+    public boolean replay(byte[] event, long eventIdHigh, long eventIdLow) {
+        if (!format.canBatch(event)) {
+            return false;
+        }
+        add(event, 0, event.length, eventIdHigh, eventIdLow);
+        return true;
+    }
+
+    /**
+     * Send the pending batch now, regardless of size
+     */
+    public void flush() {
+        EventBatch full;
+
+        synchronized (lock) {
+            if (pendingCount == 0) {
+                return;
+            }
+            full = cutBatch();
+        }
+
+        sender.send(full);
+    }
+
+    /**
+     * Number of events waiting for the next flush
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pendingCount;
+        }
+    }
+
+    /**
+     * Flush pending events and stop the interval timer
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        if (ownsScheduler) {
+            scheduler.shutdown();
+        }
+        flush();
+    }
+
+    private EventBatch cutBatch() {
+        EventBatch batch = new EventBatch(format.finish(pending, pendingCount), pendingCount,
+                Arrays.copyOf(pendingIds, pendingCount * 2), acknowledgedIds,
+                journal, pendingJournalStart, journalPosition(), pendingSince);
+        pendingCount = 0;
+        return batch;
+    }
+
+    private long journalPosition() {
+        return journal != null ? journal.position() : 0;
+    }
+}
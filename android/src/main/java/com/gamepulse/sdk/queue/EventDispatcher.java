@@ -0,0 +1,379 @@
+package com.gamepulse.sdk.queue;
+
+import com.gamepulse.sdk.encoding.EventEnvelope;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves events from game threads to a single SDK worker thread
+ * - Producers only claim a ring slot and copy references into it
+ * - The worker drains the ring and does all encoding, journaling and I/O
+ * - The worker parks when idle; producers unpark it only if it is actually parked
+ * - Under backlog each category is shed by its {@link OverflowPolicy}; the ring never
+ *   grows, so memory stays flat at any event rate
+ * - NEVER_DROP events that miss the ring wait in a spill list and still reach the handler in
+ *   the order they were offered, between the ring events claimed before and after them
+ * - Several SDK instances can share the ring and worker, each through its own {@link Channel}
+ *   with its own handler, policies and drop counts
+ */
+public class EventDispatcher {
+
+    /**
+     * Runs on the worker thread
+     */
+    public interface Handler extends EventRingBuffer.Consumer {
+        /**
+         * Everything published before the flush request has been handed to onEvent
+         */
+        void onFlush();
+    }
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    /**
+     * SAMPLE categories keep one event in this many while the queue is over half full
+     */
+    public static final int SAMPLE_RATE = 4;
+    private static final int DRAIN_CHUNK = 256;
+    private static final long SPILLED = -2;
+
+    private final EventRingBuffer ring;
+    private final Thread worker;
+    private final CopyOnWriteArrayList<Channel> channels = new CopyOnWriteArrayList<>();
+    // Set by the single-handler constructors, which the plain offer() methods go through
+    private final Channel defaultChannel;
+    // Slots at the end of the ring only NEVER_DROP events may take; also the spill list limit
+    private final int reserved;
+    private final int sampleDepth;
+    private final int shedDepth;
+    private final ConcurrentLinkedQueue<EventRecord> spill = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger spillSize = new AtomicInteger();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final EventRingBuffer.Consumer shedOldest = new EventRingBuffer.Consumer() {
+        @Override
+        public void onEvent(EventRecord record) {
+            deliverSpilled();
+            Channel channel = record.getChannel();
+            if (ring.size() > shedDepth && channel.policyFor(record.getCategory()) == OverflowPolicy.DROP_OLDEST) {
+                channel.shed(record.getCategory());
+                return;
+            }
+            channel.handler.onEvent(record);
+        }
+    };
+
+    private volatile boolean parked = false;
+    private volatile boolean flushRequested = false;
+
+    /**
+     * Producers and their handlers come in through {@link #openChannel}
+     */
+    public EventDispatcher(int capacity) {
+        this(capacity, null, null);
+    }
+
+    public EventDispatcher(int capacity, Handler handler) {
+        this(capacity, handler, OverflowPolicy.defaults());
+    }
+
+    public EventDispatcher(int capacity, Handler handler, Map<String, OverflowPolicy> policies) {
+        this.ring = new EventRingBuffer(capacity);
+        int size = ring.capacity();
+        this.reserved = Math.max(1, size / 8);
+        this.sampleDepth = size / 2;
+        this.shedDepth = size * 3 / 4;
+        this.defaultChannel = handler != null ? openChannel(handler, policies) : null;
+        this.worker = new Thread(this::runWorker, "GamePulse-Worker");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Add a producer whose events go to its own handler, shed by its own policies
+     */
+    public Channel openChannel(Handler handler, Map<String, OverflowPolicy> policies) {
+        Channel channel = new Channel(handler, policies);
+        channels.add(channel);
+        return channel;
+    }
+
+    /**
+     * Copy one event into the ring; returns false (and counts a drop) if it was shed
+     */
+    public boolean offer(String eventClass, String eventType, String category,
+                         EventEnvelope envelope, Map<String, String> properties, PropertyList typedProperties) {
+        return defaultChannel.offer(eventClass, eventType, category, envelope, properties, typedProperties, 1,
+                System.currentTimeMillis());
+    }
+
+    public boolean offer(String eventClass, String eventType, String category, EventEnvelope envelope,
+                         Map<String, String> properties, PropertyList typedProperties, double sampleWeight) {
+        return defaultChannel.offer(eventClass, eventType, category, envelope, properties, typedProperties,
+                sampleWeight, System.currentTimeMillis());
+    }
+
+    /**
+     * Same, keeping the time the event was originally tracked, e.g. for events buffered before init
+     */
+    public boolean offer(String eventClass, String eventType, String category, EventEnvelope envelope,
+                         Map<String, String> properties, PropertyList typedProperties, double sampleWeight,
+                         long timestamp) {
+        return defaultChannel.offer(eventClass, eventType, category, envelope, properties, typedProperties,
+                sampleWeight, timestamp);
+    }
+
+    /**
+     * Copy a filled handle into the ring without allocating
+     */
+    public boolean offer(EventHandle event, EventEnvelope envelope) {
+        return defaultChannel.offer(event, envelope, 1);
+    }
+
+    public boolean offer(EventHandle event, EventEnvelope envelope, double sampleWeight) {
+        return defaultChannel.offer(event, envelope, sampleWeight);
+    }
+
+    /**
+     * Ask the worker to drain the ring and then call {@link Handler#onFlush()} on every channel
+     */
+    public void requestFlush() {
+        flushRequested = true;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Events shed across all categories and channels
+     */
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (Channel channel : channels) {
+            dropped += channel.getDroppedCount();
+        }
+        return dropped;
+    }
+
+    /**
+     * Events of one category shed by its overflow policy or a full queue, across all channels
+     */
+    public long getDroppedCount(String category) {
+        long dropped = 0;
+        for (Channel channel : channels) {
+            dropped += channel.getDroppedCount(category);
+        }
+        return dropped;
+    }
+
+    public int getQueueDepth() {
+        return ring.size() + spillSize.get();
+    }
+
+    /**
+     * One producer's view of the shared ring
+     */
+    public final class Channel {
+        private final Handler handler;
+        private final Map<String, OverflowPolicy> policies;
+        private final AtomicLong dropped = new AtomicLong();
+        private final ConcurrentHashMap<String, AtomicLong> shedByCategory = new ConcurrentHashMap<>();
+
+        private Channel(Handler handler, Map<String, OverflowPolicy> policies) {
+            this.handler = handler;
+            this.policies = new HashMap<>(policies);
+        }
+
+        /**
+         * Same as {@link EventDispatcher#offer(String, String, String, EventEnvelope, Map, PropertyList, double, long)}
+         */
+        public boolean offer(String eventClass, String eventType, String category, EventEnvelope envelope,
+                             Map<String, String> properties, PropertyList typedProperties, double sampleWeight,
+                             long timestamp) {
+            OverflowPolicy policy = policyFor(category);
+            boolean loadSampled = policy == OverflowPolicy.SAMPLE && ring.size() >= sampleDepth;
+            long sequence = claim(this, category, policy, loadSampled);
+            if (sequence == -1) {
+                return false;
+            }
+            EventRecord record = sequence == SPILLED ? new EventRecord() : ring.get(sequence);
+            record.set(eventClass, eventType, category, envelope, timestamp);
+            record.setChannel(this);
+            record.getProperties().putAll(properties);
+            if (typedProperties != null) {
+                record.getProperties().addAll(typedProperties);
+            }
+            record.setSampleWeight(loadSampled ? sampleWeight * SAMPLE_RATE : sampleWeight);
+            publish(sequence, record);
+            return true;
+        }
+
+        /**
+         * Same as {@link EventDispatcher#offer(EventHandle, EventEnvelope, double)}
+         */
+        public boolean offer(EventHandle event, EventEnvelope envelope, double sampleWeight) {
+            OverflowPolicy policy = policyFor(event.getCategory());
+            boolean loadSampled = policy == OverflowPolicy.SAMPLE && ring.size() >= sampleDepth;
+            long sequence = claim(this, event.getCategory(), policy, loadSampled);
+            if (sequence == -1) {
+                return false;
+            }
+            EventRecord record = sequence == SPILLED ? new EventRecord() : ring.get(sequence);
+            record.set(event.getEventClass(), event.getType(), event.getCategory(), envelope,
+                    System.currentTimeMillis());
+            record.setChannel(this);
+            record.getProperties().addAll(event.getProperties());
+            record.setSampleWeight(loadSampled ? sampleWeight * SAMPLE_RATE : sampleWeight);
+            publish(sequence, record);
+            return true;
+        }
+
+        /**
+         * Flushes every channel; they share one worker
+         */
+        public void requestFlush() {
+            EventDispatcher.this.requestFlush();
+        }
+
+        public long getDroppedCount() {
+            return dropped.get();
+        }
+
+        public long getDroppedCount(String category) {
+            AtomicLong count = category != null ? shedByCategory.get(category) : null;
+            return count != null ? count.get() : 0;
+        }
+
+        /**
+         * Events waiting for the shared worker, from every channel
+         */
+        public int getQueueDepth() {
+            return EventDispatcher.this.getQueueDepth();
+        }
+
+        private OverflowPolicy policyFor(String category) {
+            OverflowPolicy policy = category != null ? policies.get(category) : null;
+            return policy != null ? policy : OverflowPolicy.DROP_NEWEST;
+        }
+
+        private void shed(String category) {
+            dropped.incrementAndGet();
+            if (category == null) {
+                return;
+            }
+            AtomicLong count = shedByCategory.get(category);
+            if (count == null) {
+                AtomicLong created = new AtomicLong();
+                count = shedByCategory.putIfAbsent(category, created);
+                if (count == null) {
+                    count = created;
+                }
+            }
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * Slot sequence, {@link #SPILLED} for a NEVER_DROP event that missed the ring, or -1 if shed
+     */
+    private long claim(Channel channel, String category, OverflowPolicy policy, boolean loadSampled) {
+        if (policy != OverflowPolicy.NEVER_DROP) {
+            if (ring.size() >= ring.capacity() - reserved
+                    || (loadSampled && sampleCounter.getAndIncrement() % SAMPLE_RATE != 0)) {
+                channel.shed(category);
+                return -1;
+            }
+        }
+        long sequence = ring.tryClaim();
+        if (sequence >= 0) {
+            return sequence;
+        }
+        if (policy == OverflowPolicy.NEVER_DROP && spillSize.incrementAndGet() <= reserved) {
+            return SPILLED;
+        }
+        if (policy == OverflowPolicy.NEVER_DROP) {
+            spillSize.decrementAndGet();
+        }
+        channel.shed(category);
+        return -1;
+    }
+
+    private void publish(long sequence, EventRecord record) {
+        if (sequence == SPILLED) {
+            // Read after the failed claim, so every ring event offered before this one is below it
+            record.setSpilledAt(ring.nextClaim());
+            spill.add(record);
+        } else {
+            ring.publish(sequence);
+        }
+        wakeWorker();
+    }
+
+    private void wakeWorker() {
+        if (parked) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void runWorker() {
+        while (true) {
+            int drained = drainSafely();
+
+            if (flushRequested) {
+                flushRequested = false;
+                while (drainSafely() > 0) {
+                    // Drain everything published before the request
+                }
+                for (Channel channel : channels) {
+                    try {
+                        channel.handler.onFlush();
+                    } catch (RuntimeException e) {
+                        // Never let a failing flush kill the worker or skip the other channels
+                    }
+                }
+                continue;
+            }
+
+            if (drained == 0) {
+                parked = true;
+                if (ring.isEmpty() && spill.isEmpty() && !flushRequested) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        }
+    }
+
+    private int drainSafely() {
+        int drained = deliverSpilled();
+        try {
+            return drained + ring.drain(shedOldest, DRAIN_CHUNK);
+        } catch (RuntimeException e) {
+            // The failing slot was released by drain(); keep going with the next one
+            return drained + 1;
+        }
+    }
+
+    /**
+     * Hand over the spilled events whose turn has come: everything offered to the ring before
+     * them has been drained. Checked before every ring slot, so they go in offer order
+     */
+    private int deliverSpilled() {
+        int delivered = 0;
+        EventRecord spilled;
+        while ((spilled = spill.peek()) != null && spilled.getSpilledAt() <= ring.nextDrain()) {
+            spill.poll();
+            spillSize.decrementAndGet();
+            delivered++;
+            try {
+                spilled.getChannel().handler.onEvent(spilled);
+            } catch (RuntimeException e) {
+                // Same rule as ring slots: skip the event, keep the worker alive
+            }
+        }
+        return delivered;
+    }
+}
@@ -0,0 +1,87 @@
+package com.gamepulse.sdk.queue;
+
+/**
+ * Reusable, allocation-free event for hot paths such as per-frame tracking
+ * - Fill it with category(), type() and put(), then commit() it
+ * - Properties are kept in typed flat arrays that grow once and are then reused
+ * - Values are copied by reference, so pass strings that are not mutated afterwards
+ *
+ * Handles are not thread-safe; GamePulse hands out one per thread.
+ */
+public final class EventHandle {
+
+    /**
+     * Receives a filled handle on commit
+     */
+    public interface Sink {
+        boolean commit(EventHandle event);
+    }
+
+    private final Sink sink;
+    private String eventClass;
+    private String category;
+    private String type;
+    private final PropertyList properties = new PropertyList();
+
+    public EventHandle(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Start a new event, discarding anything that was not committed
+     */
+    public EventHandle reset(String eventClass) {
+        this.eventClass = eventClass;
+        this.category = null;
+        this.type = null;
+        this.properties.clear();
+        return this;
+    }
+
+    public EventHandle category(String category) {
+        this.category = category;
+        return this;
+    }
+
+    public EventHandle type(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public EventHandle put(String key, String value) {
+        properties.put(key, value);
+        return this;
+    }
+
+    public EventHandle put(String key, long value) {
+        properties.put(key, value);
+        return this;
+    }
+
+    public EventHandle put(String key, double value) {
+        properties.put(key, value);
+        return this;
+    }
+
+    public EventHandle put(String key, boolean value) {
+        properties.put(key, value);
+        return this;
+    }
+
+    /**
+     * Queue the event; returns false if it was sampled out, rate limited or shed from a full queue
+     */
+    public boolean commit() {
+        if (category == null || type == null) {
+            throw new IllegalArgumentException("Category and type are required");
+        }
+        boolean queued = sink.commit(this);
+        reset(eventClass);
+        return queued;
+    }
+
+    public String getEventClass() { return eventClass; }
+    public String getCategory() { return category; }
+    public String getType() { return type; }
+    public PropertyList getProperties() { return properties; }
+}
@@ -0,0 +1,124 @@
+package com.gamepulse.sdk.queue;
+
+import com.gamepulse.sdk.clock.EventClock;
+import com.gamepulse.sdk.encoding.EventEnvelope;
+
+/**
+ * Preallocated, reusable holder for one tracked event
+ * - Producers copy fields in; the worker encodes and then clears the slot
+ * - Property arrays grow on demand and are kept for the next event
+ */
+public final class EventRecord {
+    private String eventClass;
+    private String eventType;
+    private String category;
+    private EventEnvelope envelope;
+    private long timestamp;
+    private long sequence = -1;
+    private long clockOffset = EventClock.UNKNOWN_OFFSET;
+    private double sampleWeight = 1;
+    private long eventIdHigh;
+    private long eventIdLow;
+    private final PropertyList properties = new PropertyList();
+    // Which SDK instance the event belongs to, when several share the dispatcher
+    private EventDispatcher.Channel channel;
+    // For a spilled event, the ring sequence it goes before; everything below it was claimed first
+    private long spilledAt;
+
+    public void set(String eventClass, String eventType, String category, EventEnvelope envelope, long timestamp) {
+        this.eventClass = eventClass;
+        this.eventType = eventType;
+        this.category = category;
+        this.envelope = envelope;
+        this.timestamp = timestamp;
+        this.properties.clear();
+    }
+
+    /**
+     * Set by the worker just before encoding
+     */
+    public void stamp(long sequence, long clockOffset) {
+        this.sequence = sequence;
+        this.clockOffset = clockOffset;
+    }
+
+    /**
+     * How many tracked events this one stands for after client-side sampling
+     */
+    public void setSampleWeight(double sampleWeight) {
+        this.sampleWeight = sampleWeight;
+    }
+
+    /**
+     * Set by the worker before encoding; the id travels with the event through retries and replays
+     */
+    public void setEventId(long high, long low) {
+        this.eventIdHigh = high;
+        this.eventIdLow = low;
+    }
+
+    void setChannel(EventDispatcher.Channel channel) {
+        this.channel = channel;
+    }
+
+    EventDispatcher.Channel getChannel() {
+        return channel;
+    }
+
+    void setSpilledAt(long spilledAt) {
+        this.spilledAt = spilledAt;
+    }
+
+    long getSpilledAt() {
+        return spilledAt;
+    }
+
+    public String getEventClass() { return eventClass; }
+    public String getEventType() { return eventType; }
+    public String getCategory() { return category; }
+    public EventEnvelope getEnvelope() { return envelope; }
+    public PropertyList getProperties() { return properties; }
+
+    /**
+     * Wall-clock time the event was tracked, in epoch milliseconds
+     */
+    public long getTimestamp() { return timestamp; }
+
+    /**
+     * Position within the session, or -1 if not stamped
+     */
+    public long getSequence() { return sequence; }
+
+    /**
+     * Estimated server minus device time, or {@link EventClock#UNKNOWN_OFFSET}
+     */
+    public long getClockOffset() { return clockOffset; }
+
+    /**
+     * 1 unless the event's type is sampled
+     */
+    public double getSampleWeight() { return sampleWeight; }
+
+    /**
+     * Halves of the event's 128-bit id; both 0 if not assigned
+     */
+    public long getEventIdHigh() { return eventIdHigh; }
+    public long getEventIdLow() { return eventIdLow; }
+
+    /**
+     * Drop references so a slot waiting for reuse doesn't keep caller data alive
+     */
+    void clear() {
+        eventClass = null;
+        eventType = null;
+        category = null;
+        envelope = null;
+        channel = null;
+        sequence = -1;
+        clockOffset = EventClock.UNKNOWN_OFFSET;
+        sampleWeight = 1;
+        eventIdHigh = 0;
+        eventIdLow = 0;
+        properties.clear();
+    }
+}
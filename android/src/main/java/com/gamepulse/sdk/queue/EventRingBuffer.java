@@ -0,0 +1,124 @@
+package com.gamepulse.sdk.queue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free multi-producer/single-consumer ring of preallocated event slots
+ * - Producers claim a sequence with one CAS, fill the slot and publish it
+ * - Each slot carries its own sequence number, so the consumer never reads a half-written slot
+ * - When the ring is full tryClaim() fails instead of blocking the caller
+ *
+ * Slot sequence protocol: seq == n means free for claim n, seq == n + 1 means published.
+ */
+public final class EventRingBuffer {
+
+    /**
+     * Called on the consumer thread for every published slot
+     */
+    public interface Consumer {
+        void onEvent(EventRecord record);
+    }
+
+    private final EventRecord[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    public EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new EventRecord[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new EventRecord();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Reserve the next slot; returns its sequence, or -1 if the ring is full
+     */
+    public long tryClaim() {
+        while (true) {
+            long claim = tail.get();
+            long sequence = sequences.get((int) claim & mask);
+            if (sequence == claim) {
+                if (tail.compareAndSet(claim, claim + 1)) {
+                    return claim;
+                }
+            } else if (sequence < claim) {
+                return -1;
+            }
+            // Another producer took this slot first; retry with the new tail
+        }
+    }
+
+    /**
+     * Slot for a claimed sequence; only the claiming producer may write to it
+     */
+    public EventRecord get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * Hand a filled slot to the consumer
+     */
+    public void publish(long sequence) {
+        // Full volatile store: pairs with the consumer's parked flag in EventDispatcher
+        sequences.set((int) sequence & mask, sequence + 1);
+    }
+
+    /**
+     * Consume up to max published slots in order; single consumer thread only
+     */
+    public int drain(Consumer consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            EventRecord record = slots[index];
+            try {
+                consumer.onEvent(record);
+            } finally {
+                record.clear();
+                sequences.lazySet(index, head + slots.length);
+                head++;
+            }
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Sequence the next claim gets; every sequence below it is already claimed
+     */
+    public long nextClaim() {
+        return tail.get();
+    }
+
+    /**
+     * Sequence of the next slot drain() consumes; single consumer thread only
+     */
+    public long nextDrain() {
+        return head;
+    }
+
+    public boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Approximate number of claimed slots not yet consumed
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
@@ -0,0 +1,34 @@
+package com.gamepulse.sdk.queue;
+
+import okio.Buffer;
+
+/**
+ * Batches JSON events as a plain JSON array
+ */
+public class JsonBatchFormat implements BatchFormat {
+
+    public static final String CONTENT_TYPE = "application/json; charset=utf-8";
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public boolean canBatch(byte[] record) {
+        // JSON records are self-describing and stay valid across versions
+        return true;
+    }
+
+    @Override
+    public void writeRecord(Buffer pending, int index, byte[] data, int offset, int length) {
+        pending.writeByte(index == 0 ? '[' : ',');
+        pending.write(data, offset, length);
+    }
+
+    @Override
+    public byte[] finish(Buffer pending, int count) {
+        pending.writeByte(']');
+        return pending.readByteArray();
+    }
+}
@@ -0,0 +1,39 @@
+package com.gamepulse.sdk.queue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What the dispatcher gives up first when the game tracks faster than the worker drains
+ */
+public enum OverflowPolicy {
+    /**
+     * Uses slots held back from every other category, then a small spill list; for events
+     * that carry money or cannot be reconstructed
+     */
+    NEVER_DROP,
+    /**
+     * Keeps the newest events: under backlog the worker discards the oldest ones unencoded
+     */
+    DROP_OLDEST,
+    /**
+     * Rejects new events once the queue is nearly full; the default
+     */
+    DROP_NEWEST,
+    /**
+     * Keeps one in {@link EventDispatcher#SAMPLE_RATE} once the queue is half full; kept events
+     * carry that factor in their sample weight
+     */
+    SAMPLE;
+
+    /**
+     * Purchases are never dropped, gameplay keeps the latest state, ad impressions are sampled
+     */
+    public static Map<String, OverflowPolicy> defaults() {
+        Map<String, OverflowPolicy> policies = new HashMap<>();
+        policies.put("iap", NEVER_DROP);
+        policies.put("gameplay", DROP_OLDEST);
+        policies.put("ad", SAMPLE);
+        return policies;
+    }
+}
@@ -0,0 +1,97 @@
+package com.gamepulse.sdk.queue;
+
+import com.gamepulse.sdk.GamePulse.UserConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded holding area for events tracked before the SDK can queue them
+ * - Used before create() and while device info is still being gathered in the background
+ * - Each event keeps its own copy of the properties, the user config at track time and the
+ *   time it was tracked, so a late drain sends what the caller tracked, when they tracked it
+ * - Past capacity new events are dropped and counted; the earliest events are the ones kept
+ */
+public final class PendingEvents {
+
+    /**
+     * Receives buffered events in the order they were tracked
+     */
+    public interface Consumer {
+        void onEvent(String eventClass, String eventType, String category, UserConfig userConfig,
+                     Map<String, String> properties, PropertyList typedProperties, long timestamp);
+    }
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final class Entry {
+        String eventClass;
+        String eventType;
+        String category;
+        UserConfig userConfig;
+        Map<String, String> properties;
+        PropertyList typedProperties;
+        long timestamp;
+    }
+
+    private final int capacity;
+    private List<Entry> entries = new ArrayList<>();
+    private long dropped;
+
+    public PendingEvents(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Copy one event in; false (and counted) if the buffer is full
+     */
+    public synchronized boolean add(String eventClass, String eventType, String category, UserConfig userConfig,
+                                    Map<String, String> properties, PropertyList typedProperties, long timestamp) {
+        if (entries.size() >= capacity) {
+            dropped++;
+            return false;
+        }
+        Entry entry = new Entry();
+        entry.eventClass = eventClass;
+        entry.eventType = eventType;
+        entry.category = category;
+        entry.userConfig = userConfig;
+        entry.properties = properties != null ? new HashMap<>(properties) : null;
+        if (typedProperties != null && typedProperties.size() > 0) {
+            entry.typedProperties = new PropertyList();
+            entry.typedProperties.addAll(typedProperties);
+        }
+        entry.timestamp = timestamp;
+        entries.add(entry);
+        return true;
+    }
+
+    /**
+     * Hand every buffered event to the consumer and empty the buffer; returns how many were handed over
+     */
+    public synchronized int drain(Consumer consumer) {
+        List<Entry> drained = entries;
+        entries = new ArrayList<>();
+        for (Entry entry : drained) {
+            consumer.onEvent(entry.eventClass, entry.eventType, entry.category, entry.userConfig,
+                    entry.properties, entry.typedProperties, entry.timestamp);
+        }
+        return drained.size();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Events rejected because the buffer was full
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+}
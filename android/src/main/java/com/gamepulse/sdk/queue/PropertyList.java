@@ -0,0 +1,132 @@
+package com.gamepulse.sdk.queue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Flat, reusable list of typed event properties
+ * - Keys, type tags, string values and numeric values live in parallel arrays
+ * - Numbers and booleans are stored unboxed; doubles as their raw long bits
+ * - Arrays grow on demand and are kept, so a warm list never allocates
+ * - Keys are unique: putting a key again replaces its type and value in place, so the last
+ *   write wins and the key keeps its first position
+ */
+public final class PropertyList {
+
+    public static final byte STRING = 0;
+    public static final byte LONG = 1;
+    public static final byte DOUBLE = 2;
+    public static final byte BOOLEAN = 3;
+
+    private String[] keys = new String[8];
+    private byte[] types = new byte[8];
+    private String[] strings = new String[8];
+    private long[] numbers = new long[8];
+    private int size;
+
+    public void put(String key, String value) {
+        if (key == null || value == null) {
+            return;
+        }
+        strings[slot(key, STRING)] = value;
+    }
+
+    public void put(String key, long value) {
+        if (key == null) {
+            return;
+        }
+        numbers[slot(key, LONG)] = value;
+    }
+
+    /**
+     * NaN and infinities are skipped; JSON has no representation for them
+     */
+    public void put(String key, double value) {
+        if (key == null || Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+        numbers[slot(key, DOUBLE)] = Double.doubleToRawLongBits(value);
+    }
+
+    public void put(String key, boolean value) {
+        if (key == null) {
+            return;
+        }
+        numbers[slot(key, BOOLEAN)] = value ? 1 : 0;
+    }
+
+    public void putAll(Map<String, String> properties) {
+        if (properties == null) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Put every entry of another list; its values win over ones already here
+     */
+    public void addAll(PropertyList other) {
+        ensureCapacity(size + other.size);
+        for (int i = 0; i < other.size; i++) {
+            int slot = slot(other.keys[i], other.types[i]);
+            strings[slot] = other.strings[i];
+            numbers[slot] = other.numbers[i];
+        }
+    }
+
+    /**
+     * Drop references so a reused list doesn't keep caller data alive
+     */
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(strings, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Index of the first property with this key, or -1
+     */
+    public int indexOf(String key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int size() { return size; }
+    public String getKey(int index) { return keys[index]; }
+    public byte getType(int index) { return types[index]; }
+    public String getString(int index) { return strings[index]; }
+    public long getLong(int index) { return numbers[index]; }
+    public double getDouble(int index) { return Double.longBitsToDouble(numbers[index]); }
+    public boolean getBoolean(int index) { return numbers[index] != 0; }
+
+    /**
+     * Index to write the value at: the key's existing entry, retyped, or a new one at the end
+     */
+    private int slot(String key, byte type) {
+        int index = indexOf(key);
+        if (index < 0) {
+            ensureCapacity(size + 1);
+            index = size++;
+            keys[index] = key;
+        }
+        types[index] = type;
+        strings[index] = null;
+        return index;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int length = Math.max(keys.length * 2, capacity);
+            keys = Arrays.copyOf(keys, length);
+            types = Arrays.copyOf(types, length);
+            strings = Arrays.copyOf(strings, length);
+            numbers = Arrays.copyOf(numbers, length);
+        }
+    }
+}
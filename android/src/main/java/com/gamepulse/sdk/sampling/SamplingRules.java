@@ -0,0 +1,171 @@
+package com.gamepulse.sdk.sampling;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Declarative sampling rates and rate limits keyed by category and type
+ * - Checked on the caller's thread before the event is copied, encoded or queued
+ * - Sampling is a pure function of the sampling key (user or session id) and the event
+ *   type, so a user is either in or out for a whole funnel rather than per event
+ * - Rate limits are token buckets applied to events that survived sampling
+ * - A rule for a type wins over a rule for its whole category (type null)
+ *
+ * GamePulse admits events against a {@link #copy()} taken at create(), whose rule maps are never
+ * written again, so game threads read them without locking.
+ */
+public final class SamplingRules {
+
+    /**
+     * Returned by {@link #admit} for an event that should not be sent
+     */
+    public static final double REJECTED = 0;
+
+    private static final double UNIT = 1.0 / (1L << 53);
+
+    private static final class Rule {
+        double rate = 1;
+        // Mixed into the key hash so each type samples a different subset of users
+        long salt;
+        TokenBucket bucket;
+        double eventsPerSecond;
+        int burst;
+
+        Rule copy() {
+            Rule copy = new Rule();
+            copy.rate = rate;
+            copy.salt = salt;
+            copy.eventsPerSecond = eventsPerSecond;
+            copy.burst = burst;
+            // A fresh, full bucket: the copy does not share tokens with the original
+            copy.bucket = bucket != null ? new TokenBucket(eventsPerSecond, burst) : null;
+            return copy;
+        }
+    }
+
+    private final Map<String, Map<String, Rule>> rules = new HashMap<>();
+    private final Map<String, Rule> categoryRules = new HashMap<>();
+    private final AtomicLong sampledOut = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    /**
+     * Keep this fraction of users (or sessions) for the type; type null applies to the whole category
+     */
+    public SamplingRules sample(String category, String type, double rate) {
+        if (!(rate > 0 && rate <= 1)) {
+            throw new IllegalArgumentException("Sample rate must be in (0, 1]: " + rate);
+        }
+        rule(category, type).rate = rate;
+        return this;
+    }
+
+    /**
+     * Send at most eventsPerSecond on average, with bursts of up to burst events
+     */
+    public SamplingRules rateLimit(String category, String type, double eventsPerSecond, int burst) {
+        TokenBucket bucket = new TokenBucket(eventsPerSecond, burst);
+        Rule rule = rule(category, type);
+        rule.bucket = bucket;
+        rule.eventsPerSecond = eventsPerSecond;
+        rule.burst = burst;
+        return this;
+    }
+
+    /**
+     * Weight to stamp on the event (1 / sample rate), or {@link #REJECTED}
+     */
+    public double admit(String category, String type, String samplingKey, long nowNanos) {
+        Rule rule = find(category, type);
+        if (rule == null) {
+            return 1;
+        }
+        if (rule.rate < 1 && !inSample(samplingKey, rule)) {
+            sampledOut.incrementAndGet();
+            return REJECTED;
+        }
+        if (rule.bucket != null && !rule.bucket.tryAcquire(nowNanos)) {
+            rateLimited.incrementAndGet();
+            return REJECTED;
+        }
+        return 1 / rule.rate;
+    }
+
+    /**
+     * Independent copy of the rules, with fresh counters and full token buckets
+     */
+    public SamplingRules copy() {
+        SamplingRules copy = new SamplingRules();
+        for (Map.Entry<String, Map<String, Rule>> category : rules.entrySet()) {
+            Map<String, Rule> types = new HashMap<>();
+            for (Map.Entry<String, Rule> type : category.getValue().entrySet()) {
+                types.put(type.getKey(), type.getValue().copy());
+            }
+            copy.rules.put(category.getKey(), types);
+        }
+        for (Map.Entry<String, Rule> category : categoryRules.entrySet()) {
+            copy.categoryRules.put(category.getKey(), category.getValue().copy());
+        }
+        return copy;
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty() && categoryRules.isEmpty();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.get();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    private Rule find(String category, String type) {
+        if (category == null) {
+            return null;
+        }
+        Map<String, Rule> types = rules.get(category);
+        Rule rule = types != null && type != null ? types.get(type) : null;
+        return rule != null ? rule : categoryRules.get(category);
+    }
+
+    private Rule rule(String category, String type) {
+        if (category == null || category.isEmpty()) {
+            throw new IllegalArgumentException("Category is required");
+        }
+        Map<String, Rule> target = categoryRules;
+        if (type != null) {
+            target = rules.get(category);
+            if (target == null) {
+                target = new HashMap<>();
+                rules.put(category, target);
+            }
+        }
+        String key = type != null ? type : category;
+        Rule rule = target.get(key);
+        if (rule == null) {
+            rule = new Rule();
+            rule.salt = (category + ':' + type).hashCode();
+            target.put(key, rule);
+        }
+        return rule;
+    }
+
+    private static boolean inSample(String samplingKey, Rule rule) {
+        long hash = mix((samplingKey != null ? samplingKey.hashCode() : 0) * 0x9E3779B97F4A7C15L + rule.salt);
+        return (hash >>> 11) * UNIT < rule.rate;
+    }
+
+    /**
+     * MurmurHash3 fmix64 finalizer: spreads String.hashCode() over all 64 bits
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
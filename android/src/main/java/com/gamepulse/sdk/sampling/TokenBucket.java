@@ -0,0 +1,41 @@
+package com.gamepulse.sdk.sampling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as a single "theoretical arrival time" (GCRA)
+ * - Refills at a fixed rate up to the burst size; each admitted event takes one token
+ * - One CAS per admitted event and none for a rejected one, so game threads never block
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    // Time at which the bucket would be full again; behind "now" means it already is
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE / 2);
+
+    public TokenBucket(double eventsPerSecond, int burst) {
+        if (!(eventsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / eventsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+    }
+
+    /**
+     * Take one token if available
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, nowNanos);
+            long next = start + intervalNanos;
+            if (next - nowNanos > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
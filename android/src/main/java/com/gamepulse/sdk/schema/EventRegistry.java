@@ -0,0 +1,229 @@
+package com.gamepulse.sdk.schema;
+
+import com.gamepulse.sdk.GamePulse;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Known event categories and types, with optional property schemas
+ * - Wire ids for the binary format live in EventDictionary, which must stay stable across releases
+ * - Lookups are hash lookups on the caller's String, so validating an event allocates nothing
+ * - Built-in categories are always present; games add their own at init
+ *
+ * GamePulse validates against a {@link #copy()} taken at create(), which is never written again,
+ * so game threads read it without locking.
+ */
+public final class EventRegistry {
+
+    private static final EventRegistry BUILT_IN = new EventRegistry();
+
+    // Class-based categories for SystemEventBuilder.category(Class), resolved once per class
+    private static final Map<Class<?>, String> CLASS_CATEGORIES = new ConcurrentHashMap<>();
+
+    static {
+        CLASS_CATEGORIES.put(GamePulse.User.class, GamePulse.UserEvents.CATEGORY);
+        CLASS_CATEGORIES.put(GamePulse.Gameplay.class, GamePulse.GameplayEvents.CATEGORY);
+        CLASS_CATEGORIES.put(GamePulse.Progression.class, GamePulse.ProgressionEvents.CATEGORY);
+        CLASS_CATEGORIES.put(GamePulse.Ad.class, GamePulse.AdEvents.CATEGORY);
+        CLASS_CATEGORIES.put(GamePulse.IAP.class, GamePulse.IAPEvents.CATEGORY);
+    }
+
+    private static final class Category {
+        final boolean builtIn;
+        final Map<String, Type> types = new HashMap<>();
+        // Registered without a type list: any type is accepted
+        boolean open;
+
+        Category(boolean builtIn) {
+            this.builtIn = builtIn;
+        }
+    }
+
+    private static final class Type {
+        EventSchema schema;
+    }
+
+    private final Map<String, Category> categories = new HashMap<>();
+
+    public EventRegistry() {
+        builtIn(GamePulse.UserEvents.CATEGORY,
+                GamePulse.UserEvents.SESSION_START, GamePulse.UserEvents.SESSION_END,
+                GamePulse.UserEvents.USER_LOGIN, GamePulse.UserEvents.USER_LOGOUT,
+                GamePulse.UserEvents.USER_REGISTER);
+        builtIn(GamePulse.GameplayEvents.CATEGORY,
+                GamePulse.GameplayEvents.LEVEL_START, GamePulse.GameplayEvents.LEVEL_END,
+                GamePulse.GameplayEvents.LEVEL_UP, GamePulse.GameplayEvents.GAME_START,
+                GamePulse.GameplayEvents.GAME_END, GamePulse.GameplayEvents.BOSS_FIGHT,
+                GamePulse.Gameplay.CHECKPOINT_REACHED);
+        builtIn(GamePulse.EconomyEvents.CATEGORY,
+                GamePulse.EconomyEvents.CURRENCY_EARNED, GamePulse.EconomyEvents.CURRENCY_SPENT,
+                GamePulse.EconomyEvents.ITEM_PURCHASED, GamePulse.EconomyEvents.ITEM_SOLD,
+                GamePulse.EconomyEvents.SHOP_VIEWED);
+        builtIn(GamePulse.ProgressionEvents.CATEGORY,
+                GamePulse.ProgressionEvents.TUTORIAL_COMPLETE, GamePulse.ProgressionEvents.ACHIEVEMENT_UNLOCKED,
+                GamePulse.ProgressionEvents.MILESTONE_REACHED, GamePulse.ProgressionEvents.QUEST_COMPLETED);
+        builtIn(GamePulse.AdEvents.CATEGORY,
+                GamePulse.AdEvents.AD_VIEWED, GamePulse.AdEvents.AD_CLICKED,
+                GamePulse.AdEvents.AD_REWARDED, GamePulse.AdEvents.AD_FAILED);
+        builtIn(GamePulse.IAPEvents.CATEGORY,
+                GamePulse.IAPEvents.PURCHASE, GamePulse.IAPEvents.PURCHASE_FAILED,
+                GamePulse.IAPEvents.PURCHASE_RESTORED, GamePulse.IAPEvents.SUBSCRIPTION_STARTED,
+                GamePulse.IAPEvents.SUBSCRIPTION_CANCELLED);
+    }
+
+    private EventRegistry(EventRegistry source) {
+        for (Map.Entry<String, Category> entry : source.categories.entrySet()) {
+            Category original = entry.getValue();
+            Category category = new Category(original.builtIn);
+            category.open = original.open;
+            for (Map.Entry<String, Type> type : original.types.entrySet()) {
+                Type copy = new Type();
+                copy.schema = type.getValue().schema != null ? type.getValue().schema.copy() : null;
+                category.types.put(type.getKey(), copy);
+            }
+            categories.put(entry.getKey(), category);
+        }
+    }
+
+    /**
+     * Registry with only the categories the SDK ships with
+     */
+    public static EventRegistry builtIn() {
+        return BUILT_IN;
+    }
+
+    /**
+     * Lower-case simple class name, computed once per class
+     */
+    public static String categoryOf(Class<?> categoryClass) {
+        String category = CLASS_CATEGORIES.get(categoryClass);
+        if (category == null) {
+            category = categoryClass.getSimpleName().toLowerCase(Locale.ROOT);
+            CLASS_CATEGORIES.put(categoryClass, category);
+        }
+        return category;
+    }
+
+    /**
+     * Add a custom category; with no types listed, any type is accepted in it
+     */
+    public EventRegistry registerCategory(String name, String... types) {
+        Category category = categories.get(name);
+        if (category != null && category.builtIn) {
+            throw new IllegalArgumentException("Category already exists: " + name);
+        }
+        if (category == null) {
+            category = new Category(false);
+            categories.put(name, category);
+        }
+        category.open = types.length == 0;
+        for (String type : types) {
+            addType(category, type);
+        }
+        return this;
+    }
+
+    /**
+     * Attach a property schema to a type, registering its category and type if needed
+     */
+    public EventRegistry registerSchema(EventSchema schema) {
+        Category category = categories.get(schema.getCategory());
+        if (category == null) {
+            registerCategory(schema.getCategory(), schema.getType());
+            category = categories.get(schema.getCategory());
+        }
+        addType(category, schema.getType()).schema = schema;
+        return this;
+    }
+
+    /**
+     * Independent copy; later registrations on either side do not affect the other
+     */
+    public EventRegistry copy() {
+        return new EventRegistry(this);
+    }
+
+    public boolean isValidType(String category, String type) {
+        Category entry = category != null ? categories.get(category) : null;
+        return entry != null && type != null && (entry.open || entry.types.containsKey(type));
+    }
+
+    /**
+     * Throws IllegalArgumentException if the event breaks a registered rule
+     * - Types are only enforced in categories registered with a type list; built-in categories
+     *   accept any type, as SystemEventBuilder always has
+     * - Schemas registered on a built-in type apply to SYSTEM events only; custom events may
+     *   reuse built-in category names
+     * - Unregistered categories are not checked
+     */
+    public void check(String eventClass, String category, String type,
+                      Map<String, String> properties, PropertyList typedProperties) {
+        Category entry = categories.get(category);
+        if (entry == null || (entry.builtIn && !"SYSTEM".equals(eventClass))) {
+            return;
+        }
+        Type typeEntry = entry.types.get(type);
+        if (typeEntry == null) {
+            if (entry.open || entry.builtIn) {
+                return;
+            }
+            throw new IllegalArgumentException("Invalid " + category + " event type: " + type);
+        }
+        EventSchema schema = typeEntry.schema;
+        if (schema == null) {
+            return;
+        }
+
+        int required = 0;
+        if (properties != null && !properties.isEmpty()) {
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                if (property.getValue() != null) {
+                    required += checkProperty(schema, property.getKey(), PropertyList.STRING);
+                }
+            }
+        }
+        if (typedProperties != null) {
+            for (int i = 0; i < typedProperties.size(); i++) {
+                required += checkProperty(schema, typedProperties.getKey(i), typedProperties.getType(i));
+            }
+        }
+        if (required < schema.getRequiredCount()) {
+            throw new IllegalArgumentException("Missing required properties for " + category + "/" + type);
+        }
+    }
+
+    private static int checkProperty(EventSchema schema, String key, byte type) {
+        EventSchema.Property property = schema.property(key);
+        if (property == null) {
+            return 0;
+        }
+        boolean matches = property.type == type
+                || (property.type == PropertyList.DOUBLE && type == PropertyList.LONG);
+        if (!matches) {
+            throw new IllegalArgumentException("Property " + key + " of " + schema.getCategory() + "/"
+                    + schema.getType() + " has the wrong type");
+        }
+        return property.required ? 1 : 0;
+    }
+
+    private void builtIn(String name, String... types) {
+        Category category = new Category(true);
+        categories.put(name, category);
+        for (String type : types) {
+            addType(category, type);
+        }
+    }
+
+    private Type addType(Category category, String type) {
+        Type entry = category.types.get(type);
+        if (entry == null) {
+            entry = new Type();
+            category.types.put(type, entry);
+        }
+        return entry;
+    }
+}
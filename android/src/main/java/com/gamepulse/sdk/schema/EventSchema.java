@@ -0,0 +1,79 @@
+package com.gamepulse.sdk.schema;
+
+import com.gamepulse.sdk.queue.PropertyList;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Expected properties of one event type
+ * - Types are the {@link PropertyList} tags; a DOUBLE property also accepts whole numbers
+ * - Properties that are not declared are allowed and not checked
+ *
+ * Build it fully before registering it; it is read concurrently afterwards.
+ */
+public final class EventSchema {
+
+    static final class Property {
+        final byte type;
+        final boolean required;
+
+        Property(byte type, boolean required) {
+            this.type = type;
+            this.required = required;
+        }
+    }
+
+    private final String category;
+    private final String type;
+    private final Map<String, Property> properties = new HashMap<>();
+    private int requiredCount;
+
+    private EventSchema(String category, String type) {
+        this.category = category;
+        this.type = type;
+    }
+
+    public static EventSchema of(String category, String type) {
+        if (category == null || type == null) {
+            throw new IllegalArgumentException("Category and type are required");
+        }
+        return new EventSchema(category, type);
+    }
+
+    public EventSchema required(String key, byte propertyType) {
+        return declare(key, propertyType, true);
+    }
+
+    public EventSchema optional(String key, byte propertyType) {
+        return declare(key, propertyType, false);
+    }
+
+    public String getCategory() { return category; }
+    public String getType() { return type; }
+
+    Property property(String key) {
+        return properties.get(key);
+    }
+
+    int getRequiredCount() {
+        return requiredCount;
+    }
+
+    EventSchema copy() {
+        EventSchema copy = new EventSchema(category, type);
+        copy.properties.putAll(properties);
+        copy.requiredCount = requiredCount;
+        return copy;
+    }
+
+    private EventSchema declare(String key, byte propertyType, boolean required) {
+        if (properties.put(key, new Property(propertyType, required)) != null) {
+            throw new IllegalArgumentException("Property declared twice: " + key);
+        }
+        if (required) {
+            requiredCount++;
+        }
+        return this;
+    }
+}
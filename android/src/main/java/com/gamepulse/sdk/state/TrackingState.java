@@ -0,0 +1,130 @@
+package com.gamepulse.sdk.state;
+
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+import com.gamepulse.sdk.encoding.EventEnvelope;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * User, session and device context shared by every tracking thread
+ * - Held as one immutable {@link Snapshot} behind a single atomic reference, so track() reads
+ *   it once, without a lock, and never sees a user from one update with an envelope from another
+ * - Updates copy the current snapshot and compare-and-set it back, retrying if another thread
+ *   got in first; a new session keeps whatever user ids are current when it lands
+ * - The envelope stays null until device info is published, then follows every user change
+ * - The coarse location rides along in the envelope, so events pick it up with the same read
+ */
+public final class TrackingState {
+
+    /**
+     * Immutable view of the context at one point in time
+     */
+    public static final class Snapshot {
+        private final UserConfig userConfig;
+        private final DeviceInfo deviceInfo;
+        private final String geohash;
+        private final EventEnvelope envelope;
+
+        Snapshot(UserConfig userConfig, DeviceInfo deviceInfo, String geohash) {
+            this.userConfig = userConfig;
+            this.deviceInfo = deviceInfo;
+            this.geohash = geohash;
+            this.envelope = deviceInfo != null ? new EventEnvelope(deviceInfo, userConfig, geohash) : null;
+        }
+
+        public UserConfig getUserConfig() { return userConfig; }
+
+        /**
+         * Null until device info is published
+         */
+        public DeviceInfo getDeviceInfo() { return deviceInfo; }
+
+        /**
+         * Null until a location is published
+         */
+        public String getGeohash() { return geohash; }
+
+        /**
+         * Null until device info is published; always built from this snapshot's user and device
+         */
+        public EventEnvelope getEnvelope() { return envelope; }
+    }
+
+    private final AtomicReference<Snapshot> current;
+
+    public TrackingState(UserConfig userConfig) {
+        if (userConfig == null) {
+            throw new IllegalArgumentException("UserConfig is required");
+        }
+        this.current = new AtomicReference<>(new Snapshot(userConfig, null, null));
+    }
+
+    public Snapshot get() {
+        return current.get();
+    }
+
+    /**
+     * Switch to a new session id, keeping the user and anonymous ids current at the time
+     */
+    public Snapshot startSession(String sessionId) {
+        while (true) {
+            Snapshot previous = current.get();
+            UserConfig user = previous.userConfig;
+            UserConfig next = UserConfig.builder()
+                    .setSessionId(sessionId)
+                    .setUserId(user.getUserId())
+                    .setAnonymous(user.getAnonymousId())
+                    .build();
+            Snapshot updated = new Snapshot(next, previous.deviceInfo, previous.geohash);
+            if (current.compareAndSet(previous, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    public Snapshot updateUserConfig(UserConfig userConfig) {
+        if (userConfig == null) {
+            throw new IllegalArgumentException("UserConfig is required");
+        }
+        while (true) {
+            Snapshot previous = current.get();
+            Snapshot updated = new Snapshot(userConfig, previous.deviceInfo, previous.geohash);
+            if (current.compareAndSet(previous, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Attach device info, which makes the envelope available from then on
+     */
+    public Snapshot publishDeviceInfo(DeviceInfo deviceInfo) {
+        if (deviceInfo == null) {
+            throw new IllegalArgumentException("DeviceInfo is required");
+        }
+        while (true) {
+            Snapshot previous = current.get();
+            Snapshot updated = new Snapshot(previous.userConfig, deviceInfo, previous.geohash);
+            if (current.compareAndSet(previous, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Switch to a new coarse location cell; the envelope is only rebuilt when the cell changes
+     */
+    public Snapshot publishGeohash(String geohash) {
+        while (true) {
+            Snapshot previous = current.get();
+            if (geohash == null ? previous.geohash == null : geohash.equals(previous.geohash)) {
+                return previous;
+            }
+            Snapshot updated = new Snapshot(previous.userConfig, previous.deviceInfo, geohash);
+            if (current.compareAndSet(previous, updated)) {
+                return updated;
+            }
+        }
+    }
+}
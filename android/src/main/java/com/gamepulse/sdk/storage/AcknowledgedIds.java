@@ -0,0 +1,162 @@
+package com.gamepulse.sdk.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Persistent Bloom filter of event ids the collector has acknowledged
+ * - Journal replay skips events found here: a segment stays on disk until every record in it
+ *   is acknowledged, so a crash right after an upload would otherwise resend its events
+ * - Two generations of capacity ids each; when the current one is full the older one is
+ *   cleared and reused, so the most recent capacity to 2 x capacity ids are remembered
+ * - The bits live in a memory-mapped file, so an add survives a process crash without a write call
+ * - A false positive skips an undelivered event on replay; with 16 bits and 7 hashes per id
+ *   that is under 0.1% of replayed events, and live uploads never consult the filter
+ */
+public class AcknowledgedIds {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final int BITS_PER_ID = 16;
+    private static final int HASHES = 7;
+    private static final int MAGIC = 0x47504944;
+    // magic, capacity, current generation, id count of each generation; padded so bit words stay aligned
+    private static final int HEADER_SIZE = 24;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int CURRENT_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+
+    private final int capacity;
+    private final int mask;
+    private final int generationBytes;
+    private RandomAccessFile raf;
+    private MappedByteBuffer buffer;
+
+    public AcknowledgedIds(File file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    public AcknowledgedIds(File file, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create directory " + parent);
+        }
+        int bits = 64;
+        while (bits < capacity * BITS_PER_ID) {
+            bits <<= 1;
+        }
+        this.capacity = capacity;
+        this.mask = bits - 1;
+        this.generationBytes = bits / 8;
+
+        int size = HEADER_SIZE + 2 * generationBytes;
+        raf = new RandomAccessFile(file, "rw");
+        boolean sized = raf.length() == size;
+        raf.setLength(size);
+        buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (!sized || buffer.getInt(0) != MAGIC || buffer.getInt(CAPACITY_OFFSET) != capacity) {
+            // New file, or one written with another capacity: start empty
+            for (int offset = 0; offset < size; offset += 8) {
+                buffer.putLong(offset, 0);
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+        }
+    }
+
+    /**
+     * Remember an acknowledged id, retiring the older generation if the current one is full
+     */
+    public synchronized void add(long high, long low) {
+        if (buffer == null) {
+            return;
+        }
+        int current = buffer.getInt(CURRENT_OFFSET);
+        int count = buffer.getInt(COUNT_OFFSET + current * 4);
+        if (count >= capacity) {
+            current ^= 1;
+            int base = HEADER_SIZE + current * generationBytes;
+            for (int offset = 0; offset < generationBytes; offset += 8) {
+                buffer.putLong(base + offset, 0);
+            }
+            buffer.putInt(CURRENT_OFFSET, current);
+            count = 0;
+        }
+
+        long hash = hash(high, low);
+        int base = HEADER_SIZE + current * generationBytes;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = index(hash, i);
+            int word = base + (bit >>> 6) * 8;
+            buffer.putLong(word, buffer.getLong(word) | (1L << bit));
+        }
+        buffer.putInt(COUNT_OFFSET + current * 4, count + 1);
+    }
+
+    /**
+     * True if the id was probably acknowledged recently; false means it certainly was not
+     */
+    public synchronized boolean mightContain(long high, long low) {
+        if (buffer == null) {
+            return false;
+        }
+        long hash = hash(high, low);
+        return contains(0, hash) || contains(1, hash);
+    }
+
+    public synchronized void close() {
+        if (raf == null) {
+            return;
+        }
+        try {
+            raf.close();
+        } catch (IOException e) {
+            // Mapping stays valid until collected; nothing else to release
+        }
+        raf = null;
+        buffer = null;
+    }
+
+    private boolean contains(int generation, long hash) {
+        int base = HEADER_SIZE + generation * generationBytes;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = index(hash, i);
+            if ((buffer.getLong(base + (bit >>> 6) * 8) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Double hashing: probe i is h1 + i * h2, both taken from one well-mixed 64-bit hash
+     */
+    private int index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + i * h2) & mask;
+    }
+
+    private static long hash(long high, long low) {
+        // Ids from one generator share their timestamp bits and count up in the middle
+        return mix(mix(high) ^ low);
+    }
+
+    /**
+     * MurmurHash3 fmix64 finalizer
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
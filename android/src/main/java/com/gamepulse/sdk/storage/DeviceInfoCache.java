@@ -0,0 +1,58 @@
+package com.gamepulse.sdk.storage;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
+
+import java.io.File;
+
+/**
+ * App version from the previous launch, so startup skips PackageManager
+ * - Keyed by the installed APK (path and modification time), which changes with every install
+ *   or update; reading the key needs no binder call, unlike PackageManager.getPackageInfo
+ * - Only package-derived values are cached; OS version, model and manufacturer come from Build
+ *   constants, and the screen size can change between launches (resolution setting, foldables),
+ *   so those are read every launch
+ */
+public final class DeviceInfoCache {
+
+    private static final String PREFERENCES = "gamepulse_device_info";
+    private static final String KEY_VERSION = "versionKey";
+    private static final String KEY_APP_VERSION = "appVersion";
+
+    private final SharedPreferences preferences;
+    private final String versionKey;
+
+    public DeviceInfoCache(Context context) {
+        this.preferences = context.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+        this.versionKey = versionKey(context);
+    }
+
+    /**
+     * Cached app version if it was stored by this install, otherwise null
+     */
+    public String loadAppVersion() {
+        if (versionKey == null || !versionKey.equals(preferences.getString(KEY_VERSION, null))) {
+            return null;
+        }
+        return preferences.getString(KEY_APP_VERSION, null);
+    }
+
+    public void storeAppVersion(String appVersion) {
+        if (versionKey == null) {
+            return;
+        }
+        preferences.edit()
+                .putString(KEY_VERSION, versionKey)
+                .putString(KEY_APP_VERSION, appVersion)
+                .apply();
+    }
+
+    private static String versionKey(Context context) {
+        ApplicationInfo app = context.getApplicationInfo();
+        if (app == null || app.sourceDir == null) {
+            return null;
+        }
+        return app.sourceDir + ':' + new File(app.sourceDir).lastModified();
+    }
+}
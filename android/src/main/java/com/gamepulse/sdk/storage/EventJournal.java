@@ -0,0 +1,261 @@
+package com.gamepulse.sdk.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segment-based journal of events waiting for upload
+ * - Each segment is a fixed-size memory-mapped file, so an append is a memory copy
+ * - Records are [length][crc32][bytes]; a zero length marks the end of a segment
+ * - A segment is deleted once it is full and every record in it was acknowledged
+ * - Segments left over from a previous process are exposed for replay on startup
+ *
+ * Positions are encoded as (segmentId << 32 | recordIndex) so a batch can acknowledge
+ * the contiguous range of records it carried with two longs.
+ */
+public class EventJournal {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+    public static final int DEFAULT_MAX_SEGMENTS = 32;
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_SIZE = 8;
+
+    private final File directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final CRC32 crc = new CRC32();
+
+    private final TreeMap<Long, Segment> liveSegments = new TreeMap<>();
+    private final List<File> recoveredSegments = new ArrayList<>();
+    private Segment current;
+
+    private static class Segment {
+        final long id;
+        final File file;
+        RandomAccessFile raf;
+        MappedByteBuffer buffer;
+        int appended;
+        int acknowledged;
+        boolean sealed;
+
+        Segment(long id, File file) {
+            this.id = id;
+            this.file = file;
+        }
+    }
+
+    public EventJournal(File directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SEGMENTS);
+    }
+
+    public EventJournal(File directory, int segmentSize, int maxSegments) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create journal directory " + directory);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        long nextId = 0;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            Arrays.sort(files);
+            for (File file : files) {
+                long id = parseSegmentId(file);
+                if (id < 0) {
+                    continue;
+                }
+                recoveredSegments.add(file);
+                nextId = Math.max(nextId, id + 1);
+            }
+        }
+        current = openSegment(nextId, segmentSize);
+    }
+
+    /**
+     * Append one event, rolling to a new segment when the current one is full
+     */
+    public void append(byte[] data) throws IOException {
+        append(data, 0, data.length);
+    }
+
+    public synchronized void append(byte[] data, int offset, int length) throws IOException {
+        int recordSize = HEADER_SIZE + length;
+        if (current.buffer.remaining() < recordSize) {
+            roll(recordSize);
+        }
+
+        crc.reset();
+        crc.update(data, offset, length);
+
+        MappedByteBuffer buffer = current.buffer;
+        buffer.putInt(length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(data, offset, length);
+        current.appended++;
+    }
+
+    /**
+     * Position just past the last appended record
+     */
+    public synchronized long position() {
+        return encode(current.id, current.appended);
+    }
+
+    /**
+     * Mark the records in [start, end) as delivered
+     */
+    public synchronized void acknowledge(long start, long end) {
+        long startSegment = start >>> 32;
+        long endSegment = end >>> 32;
+
+        for (Segment segment : new ArrayList<>(liveSegments.subMap(startSegment, true, endSegment, true).values())) {
+            int from = segment.id == startSegment ? (int) start : 0;
+            int to = segment.id == endSegment ? (int) end : segment.appended;
+            segment.acknowledged += Math.max(0, to - from);
+            deleteIfDone(segment);
+        }
+    }
+
+    /**
+     * Segment files written by a previous process that still hold undelivered events
+     */
+    public synchronized List<File> getRecoveredSegments() {
+        return new ArrayList<>(recoveredSegments);
+    }
+
+    /**
+     * Read every intact record from a recovered segment, stopping at the first torn write
+     */
+    public static List<byte[]> readSegment(File file) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        CRC32 check = new CRC32();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            ByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            while (buffer.remaining() >= HEADER_SIZE) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                byte[] data = new byte[length];
+                buffer.get(data);
+
+                check.reset();
+                check.update(data, 0, length);
+                if ((int) check.getValue() != checksum) {
+                    break;
+                }
+                records.add(data);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Delete a recovered segment once its events have been re-queued
+     */
+    public synchronized void discardRecovered(File file) {
+        recoveredSegments.remove(file);
+        file.delete();
+    }
+
+    /**
+     * Number of segment files currently on disk
+     */
+    public synchronized int getSegmentCount() {
+        return liveSegments.size() + recoveredSegments.size();
+    }
+
+    public synchronized void close() {
+        for (Segment segment : liveSegments.values()) {
+            closeSegment(segment);
+        }
+    }
+
+    private void roll(int minimumSize) throws IOException {
+        current.sealed = true;
+        closeSegment(current);
+        Segment previous = current;
+        current = openSegment(previous.id + 1, Math.max(segmentSize, minimumSize));
+        deleteIfDone(previous);
+        enforceLimit();
+    }
+
+    private Segment openSegment(long id, int size) throws IOException {
+        File file = new File(directory, String.format("%016d%s", id, SEGMENT_SUFFIX));
+        Segment segment = new Segment(id, file);
+        segment.raf = new RandomAccessFile(file, "rw");
+        segment.raf.setLength(size);
+        segment.buffer = segment.raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        liveSegments.put(id, segment);
+        return segment;
+    }
+
+    private void closeSegment(Segment segment) {
+        if (segment.raf == null) {
+            return;
+        }
+        try {
+            segment.raf.close();
+        } catch (IOException e) {
+            // Mapping stays valid until collected; nothing else to release
+        }
+        segment.raf = null;
+        segment.buffer = null;
+    }
+
+    private void deleteIfDone(Segment segment) {
+        if (segment.sealed && segment.acknowledged >= segment.appended) {
+            liveSegments.remove(segment.id);
+            segment.file.delete();
+        }
+    }
+
+    private void enforceLimit() {
+        // Bound disk usage during long offline sessions by dropping the oldest data first
+        while (getSegmentCount() > maxSegments) {
+            if (!recoveredSegments.isEmpty()) {
+                recoveredSegments.remove(0).delete();
+                continue;
+            }
+            Iterator<Map.Entry<Long, Segment>> oldest = liveSegments.entrySet().iterator();
+            Segment segment = oldest.next().getValue();
+            if (segment == current) {
+                return;
+            }
+            closeSegment(segment);
+            oldest.remove();
+            segment.file.delete();
+        }
+    }
+
+    private static long parseSegmentId(File file) {
+        String name = file.getName();
+        if (!name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long encode(long segmentId, int recordIndex) {
+        return (segmentId << 32) | (recordIndex & 0xFFFFFFFFL);
+    }
+}
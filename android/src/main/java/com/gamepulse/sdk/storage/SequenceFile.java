@@ -0,0 +1,98 @@
+package com.gamepulse.sdk.storage;
+
+import com.gamepulse.sdk.clock.EventClock;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Persistent next sequence number of the current session, so a restart continues it
+ * - Holds one session; switching sessions overwrites it, as a new session restarts at 0 anyway
+ * - The value lives in a memory-mapped file, so saving it on every event is a memory write
+ *   that survives a process crash without a write call
+ * - Session ids longer than {@link #MAX_SESSION_BYTES} bytes are not persisted
+ *
+ * Not thread-safe; only the worker thread stamps sequences.
+ */
+public class SequenceFile implements EventClock.SequenceStore {
+
+    public static final int MAX_SESSION_BYTES = 256;
+
+    private static final int MAGIC = 0x47505351;
+    // magic, session length (-1 for none), next sequence, session bytes
+    private static final int LENGTH_OFFSET = 4;
+    private static final int NEXT_OFFSET = 8;
+    private static final int SESSION_OFFSET = 16;
+    private static final int SIZE = SESSION_OFFSET + MAX_SESSION_BYTES;
+
+    private RandomAccessFile raf;
+    private MappedByteBuffer buffer;
+    private String session;
+
+    public SequenceFile(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create directory " + parent);
+        }
+        raf = new RandomAccessFile(file, "rw");
+        boolean sized = raf.length() == SIZE;
+        raf.setLength(SIZE);
+        buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+        int length = buffer.getInt(LENGTH_OFFSET);
+        if (!sized || buffer.getInt(0) != MAGIC || length < -1 || length > MAX_SESSION_BYTES) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(LENGTH_OFFSET, -1);
+            buffer.putLong(NEXT_OFFSET, 0);
+        } else if (length >= 0) {
+            byte[] bytes = new byte[length];
+            buffer.position(SESSION_OFFSET);
+            buffer.get(bytes);
+            session = new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public long load(String sessionId) {
+        return buffer != null && sessionId.equals(session) ? buffer.getLong(NEXT_OFFSET) : 0;
+    }
+
+    @Override
+    public void save(String sessionId, long next) {
+        if (buffer == null) {
+            return;
+        }
+        if (!sessionId.equals(session)) {
+            byte[] bytes = sessionId.getBytes(StandardCharsets.UTF_8);
+            // Mark the slot empty while it is rewritten, so a crash midway leaves no wrong session
+            buffer.putInt(LENGTH_OFFSET, -1);
+            session = null;
+            if (bytes.length > MAX_SESSION_BYTES) {
+                return;
+            }
+            buffer.position(SESSION_OFFSET);
+            buffer.put(bytes);
+            buffer.putLong(NEXT_OFFSET, next);
+            buffer.putInt(LENGTH_OFFSET, bytes.length);
+            session = sessionId;
+            return;
+        }
+        buffer.putLong(NEXT_OFFSET, next);
+    }
+
+    public void close() {
+        if (raf == null) {
+            return;
+        }
+        try {
+            raf.close();
+        } catch (IOException e) {
+            // Mapping stays valid until collected; nothing else to release
+        }
+        raf = null;
+        buffer = null;
+    }
+}
@@ -0,0 +1,273 @@
+package com.gamepulse.sdk.aggregation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.gamepulse.sdk.GamePulse;
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+import com.gamepulse.sdk.encoding.EventEnvelope;
+import com.gamepulse.sdk.queue.EventRecord;
+import com.gamepulse.sdk.queue.EventRingBuffer;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EventAggregatorTest {
+
+    private static final EventEnvelope ENVELOPE = new EventEnvelope(
+            new DeviceInfo("ANDROID", "14", "1.2.3", "Pixel 8", "1080x2400", null),
+            UserConfig.builder().setSessionId("session-123").setAnonymous("anon-9").build());
+    private static final String ECONOMY = GamePulse.EconomyEvents.CATEGORY;
+    private static final String EARNED = GamePulse.EconomyEvents.CURRENCY_EARNED;
+
+    @Test
+    public void rollsUpCountSumMinMaxPerGroup() {
+        EventAggregator aggregator = started(new EventAggregator().aggregate(ECONOMY, EARNED, "amount", "currency"));
+
+        earn(aggregator, "gold", 10);
+        earn(aggregator, "gold", 250);
+        earn(aggregator, "gems", 3);
+        Map<String, String> legacy = new HashMap<>();
+        legacy.put("currency", "gold");
+        legacy.put("amount", "40");
+        assertTrue(aggregator.add(ECONOMY, EARNED, legacy, null));
+        assertFalse(aggregator.add(ECONOMY, GamePulse.EconomyEvents.CURRENCY_SPENT, legacy, null));
+
+        Map<String, String> rollups = drain(aggregator, 1_000);
+        assertEquals(2, rollups.size());
+        assertEquals("gold count=3 field=amount sum=300.0 min=10.0 max=250.0 windowStart=0 windowMs=1000",
+                rollups.get("gold"));
+        assertEquals("gems count=1 field=amount sum=3.0 min=3.0 max=3.0 windowStart=0 windowMs=1000",
+                rollups.get("gems"));
+        assertEquals(4, aggregator.getAggregatedCount());
+
+        // The next window starts empty
+        assertTrue(drain(aggregator, 2_000).isEmpty());
+        earn(aggregator, "gems", 7);
+        assertEquals("gems count=1 field=amount sum=7.0 min=7.0 max=7.0 windowStart=2000 windowMs=1000",
+                drain(aggregator, 3_000).get("gems"));
+    }
+
+    @Test
+    public void countsWithoutValueOrGroups() {
+        EventAggregator aggregator = started(new EventAggregator()
+                .aggregate(GamePulse.AdEvents.CATEGORY, GamePulse.AdEvents.AD_VIEWED, null));
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(aggregator.add(GamePulse.AdEvents.CATEGORY, GamePulse.AdEvents.AD_VIEWED, null, null));
+        }
+        Map<String, String> rollups = drain(aggregator, 10);
+        assertEquals(1, rollups.size());
+        assertEquals(" count=1000 windowStart=0 windowMs=10", rollups.get(""));
+    }
+
+    @Test
+    public void sendsEventsForTooManyGroupsUnaggregated() {
+        EventAggregator aggregator = started(new EventAggregator().aggregate(ECONOMY, EARNED, "amount", "currency"));
+        for (int i = 0; i < EventAggregator.MAX_GROUPS; i++) {
+            assertTrue(earn(aggregator, "currency-" + i, 1));
+        }
+        assertFalse(earn(aggregator, "one-too-many", 1));
+        assertTrue(earn(aggregator, "currency-0", 1));
+    }
+
+    @Test
+    public void groupsIdleForAWindowFreeTheirSlots() {
+        EventAggregator aggregator = started(new EventAggregator().aggregate(ECONOMY, EARNED, "amount", "currency"));
+        for (int i = 0; i < EventAggregator.MAX_GROUPS; i++) {
+            assertTrue(earn(aggregator, "currency-" + i, 1));
+        }
+        assertEquals(EventAggregator.MAX_GROUPS, drain(aggregator, 1_000).size());
+        // Emitted groups are kept for the next window
+        assertFalse(earn(aggregator, "new-currency", 1));
+
+        assertTrue(earn(aggregator, "currency-0", 2));
+        assertEquals(1, drain(aggregator, 2_000).size());
+        assertTrue(earn(aggregator, "new-currency", 1));
+        assertTrue(earn(aggregator, "currency-1", 4));
+        Map<String, String> rollups = drain(aggregator, 3_000);
+        assertEquals("currency-1 count=1 field=amount sum=4.0 min=4.0 max=4.0 windowStart=2000 windowMs=1000",
+                rollups.get("currency-1"));
+        assertEquals(2, rollups.size());
+    }
+
+    @Test
+    public void copyKeepsRulesButIgnoresLaterChanges() {
+        EventAggregator builder = new EventAggregator().aggregate(ECONOMY, EARNED, "amount", "currency");
+        EventAggregator frozen = started(builder.copy());
+        builder.aggregate(ECONOMY, GamePulse.EconomyEvents.CURRENCY_SPENT, "amount");
+
+        assertTrue(earn(frozen, "gold", 5));
+        assertFalse(frozen.add(ECONOMY, GamePulse.EconomyEvents.CURRENCY_SPENT, null, new PropertyList()));
+        assertEquals(0, builder.getAggregatedCount());
+        assertEquals("gold count=1 field=amount sum=5.0 min=5.0 max=5.0 windowStart=0 windowMs=10",
+                drain(frozen, 10).get("gold"));
+    }
+
+    @Test
+    public void concurrentUpdatesAreNotLost() throws Exception {
+        final EventAggregator aggregator = started(new EventAggregator().aggregate(ECONOMY, EARNED, "amount", "currency"));
+        final int perThread = 100_000;
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    PropertyList properties = new PropertyList();
+                    for (int i = 0; i < perThread; i++) {
+                        properties.clear();
+                        properties.put("currency", "gold");
+                        properties.put("amount", (long) (i % 100 + offset));
+                        aggregator.add(ECONOMY, EARNED, null, properties);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long expectedSum = 0;
+        for (int t = 0; t < threads.length; t++) {
+            for (int i = 0; i < perThread; i++) {
+                expectedSum += i % 100 + t;
+            }
+        }
+        assertEquals("gold count=" + threads.length * perThread + " field=amount sum=" + (double) expectedSum
+                + " min=0.0 max=102.0 windowStart=0 windowMs=5", drain(aggregator, 5).get("gold"));
+    }
+
+    @Test
+    public void valuesRacingTheWindowBoundaryAreNotLost() throws Exception {
+        final EventAggregator aggregator = started(new EventAggregator().aggregate(ECONOMY, EARNED, "amount", "currency"));
+        final int perThread = 200_000;
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    PropertyList properties = new PropertyList();
+                    for (int i = 0; i < perThread; i++) {
+                        properties.clear();
+                        // Many groups, so most see windows without events and are retired in between
+                        properties.put("currency", "currency-" + (i * 7 + offset) % 64);
+                        properties.put("amount", 1L);
+                        aggregator.add(ECONOMY, EARNED, null, properties);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        final double[] totals = new double[2];
+        EventRingBuffer.Consumer sum = new EventRingBuffer.Consumer() {
+            @Override
+            public void onEvent(EventRecord record) {
+                PropertyList properties = record.getProperties();
+                totals[0] += properties.getLong(properties.indexOf("count"));
+                totals[1] += properties.getDouble(properties.indexOf("sum"));
+            }
+        };
+        long now = 0;
+        boolean adding = true;
+        while (adding) {
+            aggregator.drain(ENVELOPE, ++now, new EventRecord(), sum);
+            adding = false;
+            for (Thread thread : threads) {
+                adding |= thread.isAlive();
+            }
+        }
+        // Once for the last window, once more for values that landed after it was reset
+        aggregator.drain(ENVELOPE, ++now, new EventRecord(), sum);
+        aggregator.drain(ENVELOPE, ++now, new EventRecord(), sum);
+
+        assertEquals("count", threads.length * perThread, totals[0], 0);
+        assertEquals("sum", threads.length * perThread, totals[1], 0);
+    }
+
+    @Test
+    public void addingToAnExistingGroupDoesNotAllocate() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        EventAggregator aggregator = started(new EventAggregator().aggregate(ECONOMY, EARNED, "amount", "currency"));
+        PropertyList properties = new PropertyList();
+        properties.put("currency", "gold");
+        properties.put("amount", 25L);
+
+        int iterations = 100_000;
+        for (int i = 0; i < iterations; i++) {
+            aggregator.add(ECONOMY, EARNED, null, properties);
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            aggregator.add(ECONOMY, EARNED, null, properties);
+        }
+        assertEquals(0, (threads.getThreadAllocatedBytes(threadId) - before) / iterations);
+    }
+
+    /**
+     * Open the first window at time 0
+     */
+    private static EventAggregator started(EventAggregator aggregator) {
+        drain(aggregator, 0);
+        return aggregator;
+    }
+
+    private static boolean earn(EventAggregator aggregator, String currency, long amount) {
+        PropertyList properties = new PropertyList();
+        properties.put("currency", currency);
+        properties.put("amount", amount);
+        return aggregator.add(ECONOMY, EARNED, null, properties);
+    }
+
+    /**
+     * Summary events by their first property value, each rendered as "value key=value ..."
+     */
+    private static Map<String, String> drain(EventAggregator aggregator, long now) {
+        final Map<String, String> rollups = new HashMap<>();
+        aggregator.drain(ENVELOPE, now, new EventRecord(), new EventRingBuffer.Consumer() {
+            @Override
+            public void onEvent(EventRecord record) {
+                assertEquals(EventAggregator.EVENT_CLASS, record.getEventClass());
+                PropertyList properties = record.getProperties();
+                List<String> parts = new ArrayList<>();
+                String group = "";
+                for (int i = 0; i < properties.size(); i++) {
+                    String value;
+                    switch (properties.getType(i)) {
+                        case PropertyList.LONG:
+                            value = Long.toString(properties.getLong(i));
+                            break;
+                        case PropertyList.DOUBLE:
+                            value = Double.toString(properties.getDouble(i));
+                            break;
+                        default:
+                            value = properties.getString(i);
+                            break;
+                    }
+                    if (i == 0 && properties.getType(i) == PropertyList.STRING && !"field".equals(properties.getKey(i))) {
+                        group = value;
+                    } else {
+                        parts.add(properties.getKey(i) + "=" + value);
+                    }
+                }
+                rollups.put(group, group + " " + String.join(" ", parts));
+            }
+        });
+        return Collections.unmodifiableMap(rollups);
+    }
+}
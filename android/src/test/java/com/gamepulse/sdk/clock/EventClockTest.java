@@ -0,0 +1,67 @@
+package com.gamepulse.sdk.clock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+public class EventClockTest {
+
+    @Test
+    public void formatsLikeIsoUtcWithMillis() {
+        SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ROOT);
+        iso.setTimeZone(TimeZone.getTimeZone("UTC"));
+        byte[] buffer = new byte[EventClock.TIMESTAMP_LENGTH + 2];
+
+        Random random = new Random(42);
+        long[] samples = new long[10_000];
+        samples[0] = 0;
+        samples[1] = 951_782_400_000L; // 2000-02-29
+        samples[2] = 4_107_542_399_999L; // 2100-02-28T23:59:59.999
+        for (int i = 3; i < samples.length; i++) {
+            samples[i] = (long) (random.nextDouble() * 253_402_300_799_999L);
+        }
+
+        for (long millis : samples) {
+            int end = EventClock.formatTimestamp(millis, buffer, 1);
+            assertEquals(1 + EventClock.TIMESTAMP_LENGTH, end);
+            assertEquals(iso.format(new Date(millis)),
+                    new String(buffer, 1, EventClock.TIMESTAMP_LENGTH, StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void sequenceRestartsPerSession() {
+        EventClock clock = new EventClock();
+        assertEquals(0, clock.nextSequence("a"));
+        assertEquals(1, clock.nextSequence("a"));
+        assertEquals(2, clock.nextSequence("a"));
+        assertEquals(0, clock.nextSequence("b"));
+        assertEquals(1, clock.nextSequence("b"));
+        assertEquals(0, clock.nextSequence(null));
+    }
+
+    @Test
+    public void offsetIgnoresSlowRoundTrips() {
+        EventClock clock = new EventClock();
+        assertEquals(EventClock.UNKNOWN_OFFSET, clock.getServerOffset());
+
+        // Server 10 s ahead; Date header truncated to whole seconds
+        clock.recordServerDate(1_010_000, 1_000_000 - 400, 1_000_000 + 400);
+        assertEquals(10_500, clock.getServerOffset());
+
+        // A 30 s round trip says nothing useful about the offset
+        clock.recordServerDate(1_100_000, 1_000_000, 1_030_000);
+        assertEquals(10_500, clock.getServerOffset());
+
+        clock.recordServerDate(2_010_000, 2_000_000 - 100, 2_000_000 + 100);
+        assertEquals(10_500, clock.getServerOffset());
+    }
+}
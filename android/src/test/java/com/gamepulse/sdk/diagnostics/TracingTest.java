@@ -0,0 +1,41 @@
+package com.gamepulse.sdk.diagnostics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.gamepulse.sdk.metrics.HistogramSnapshot;
+
+import org.junit.Test;
+
+public class TracingTest {
+
+    @Test
+    public void timesNestedSectionsOnTheJvm() throws Exception {
+        long uploads = Tracing.snapshot(Tracing.Section.UPLOAD).getCount();
+        long responses = Tracing.snapshot(Tracing.Section.UPLOAD_RESPONSE).getCount();
+
+        // A 415 response re-sends from inside the response handler
+        Tracing.begin(Tracing.Section.UPLOAD_RESPONSE);
+        Thread.sleep(5);
+        Tracing.begin(Tracing.Section.UPLOAD);
+        Tracing.end(Tracing.Section.UPLOAD);
+        Tracing.end(Tracing.Section.UPLOAD_RESPONSE);
+
+        HistogramSnapshot outer = Tracing.snapshot(Tracing.Section.UPLOAD_RESPONSE);
+        assertEquals(uploads + 1, Tracing.snapshot(Tracing.Section.UPLOAD).getCount());
+        assertEquals(responses + 1, outer.getCount());
+        assertTrue(outer.getQuantile(1) >= 5_000_000);
+    }
+
+    @Test
+    public void logLevelsIncludeMoreSevereOnes() {
+        Logger log = new Logger(LogLevel.WARN);
+        assertTrue(log.isEnabled(LogLevel.ERROR));
+        assertTrue(log.isEnabled(LogLevel.WARN));
+        assertFalse(log.isEnabled(LogLevel.INFO));
+        assertFalse(log.isEnabled(LogLevel.DEBUG));
+        assertFalse(new Logger(LogLevel.NONE).isEnabled(LogLevel.ERROR));
+        assertTrue(new Logger(LogLevel.DEBUG).isEnabled(LogLevel.DEBUG));
+    }
+}
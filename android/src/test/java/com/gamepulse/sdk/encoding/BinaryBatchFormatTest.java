@@ -0,0 +1,178 @@
+package com.gamepulse.sdk.encoding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.gamepulse.sdk.GamePulse;
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+import com.gamepulse.sdk.queue.EventBatch;
+import com.gamepulse.sdk.queue.EventBatcher;
+import com.gamepulse.sdk.queue.EventRecord;
+import com.gamepulse.sdk.queue.JsonBatchFormat;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import org.json.JSONArray;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import okio.Buffer;
+
+public class BinaryBatchFormatTest {
+
+    private static final EventEnvelope ENVELOPE = new EventEnvelope(
+            new DeviceInfo("ANDROID", "14", "1.2.3", "Pixel 8", "1080x2400", null),
+            UserConfig.builder().setSessionId("session-123").setAnonymous("anon-9").build(), "u4pru");
+
+    @Test
+    public void roundTripsToTheJsonBatch() {
+        Buffer jsonPending = new Buffer();
+        Buffer binaryPending = new Buffer();
+        JsonBatchFormat jsonFormat = new JsonBatchFormat();
+        BinaryBatchFormat binaryFormat = new BinaryBatchFormat();
+        JsonEventEncoder json = new JsonEventEncoder();
+        BinaryEventEncoder binary = new BinaryEventEncoder();
+
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            String eventClass = i % 7 == 0 ? "CUSTOM" : "SYSTEM";
+            String category = i % 5 == 0 ? "ui" : GamePulse.EconomyEvents.CATEGORY;
+            String type = i % 5 == 0 ? "button_click" : GamePulse.EconomyEvents.CURRENCY_EARNED;
+            Map<String, String> properties = new LinkedHashMap<>();
+            properties.put("amount", String.valueOf(i * 10));
+            properties.put("currency", "gold");
+            if (i % 3 == 0) {
+                properties.put("note", "bonus/\"x\" 🎁");
+            }
+            String timestamp = "2026-10-16T12:00:" + (i % 60 < 10 ? "0" : "") + (i % 60) + "Z";
+
+            json.encode(eventClass, type, category, ENVELOPE, "Europe/Berlin", timestamp, properties);
+            jsonFormat.writeRecord(jsonPending, i, json.buffer(), 0, json.size());
+            binary.encode(eventClass, type, category, ENVELOPE, "Europe/Berlin", timestamp, properties);
+            binaryFormat.writeRecord(binaryPending, i, binary.buffer(), 0, binary.size());
+        }
+
+        byte[] jsonBatch = jsonFormat.finish(jsonPending, count);
+        byte[] binaryBatch = binaryFormat.finish(binaryPending, count);
+
+        assertEquals(new String(jsonBatch, StandardCharsets.UTF_8),
+                new String(BinaryBatchDecoder.toJson(binaryBatch), StandardCharsets.UTF_8));
+        assertTrue("JSON " + jsonBatch.length + " B, binary " + binaryBatch.length + " B",
+                binaryBatch.length * 4 < jsonBatch.length);
+    }
+
+    @Test
+    public void roundTripsTypedProperties() {
+        EventRecord record = new EventRecord();
+        record.set("SYSTEM", GamePulse.IAP.PURCHASE, GamePulse.IAPEvents.CATEGORY, ENVELOPE, 1_792_152_000_123L);
+        record.stamp(41, -1500);
+        record.setSampleWeight(4);
+        record.setEventId(0x0123456789abcdefL, -2);
+        PropertyList properties = record.getProperties();
+        properties.put("price", 9.99);
+        properties.put("quantity", 3);
+        properties.put("refund", -42L);
+        properties.put("big", Long.MAX_VALUE);
+        properties.put("first", true);
+        properties.put("currency", "USD");
+
+        JsonEventEncoder json = new JsonEventEncoder();
+        json.encode(record, "UTC");
+        BinaryEventEncoder binary = new BinaryEventEncoder();
+        binary.encode(record, "UTC");
+
+        Buffer jsonPending = new Buffer();
+        new JsonBatchFormat().writeRecord(jsonPending, 0, json.buffer(), 0, json.size());
+        Buffer binaryPending = new Buffer();
+        new BinaryBatchFormat().writeRecord(binaryPending, 0, binary.buffer(), 0, binary.size());
+
+        String expected = new String(new JsonBatchFormat().finish(jsonPending, 1), StandardCharsets.UTF_8);
+        assertTrue(expected, expected.contains(
+                "\"eventId\":\"0123456789abcdeffffffffffffffffe\",\"sequence\":41,\"clockOffset\":-1500,\"sampleWeight\":4,"));
+        assertEquals(expected, new String(BinaryBatchDecoder.toJson(new BinaryBatchFormat().finish(binaryPending, 1)),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void readsEventIdFromJournaledRecords() {
+        EventRecord record = new EventRecord();
+        record.set("SYSTEM", GamePulse.IAP.PURCHASE, GamePulse.IAPEvents.CATEGORY, ENVELOPE, 1_792_152_000_123L);
+        record.setEventId(Long.MIN_VALUE, 42);
+        record.getProperties().put("eventId", "not-the-id");
+        long[] id = new long[2];
+
+        for (WireFormat format : WireFormat.values()) {
+            EventEncoder encoder = format.newEncoder();
+            encoder.encode(record, "UTC");
+            byte[] event = Arrays.copyOf(encoder.buffer(), encoder.size());
+            assertTrue(format.name(), format.readEventId(event, id));
+            assertEquals(Long.MIN_VALUE, id[0]);
+            assertEquals(42, id[1]);
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("eventId", "0123456789abcdef0123456789abcdef");
+        JsonEventEncoder legacy = new JsonEventEncoder();
+        legacy.encode("SYSTEM", "level_start", "gameplay", ENVELOPE, "UTC", "2026-10-16T00:00:00Z", properties);
+        assertFalse(WireFormat.JSON.readEventId(legacy.toByteArray(), id));
+        assertEquals(0, id[0] | id[1]);
+    }
+
+    @Test
+    public void knownNamesUseDictionaryIds() {
+        assertEquals(1, EventDictionary.eventClassId("SYSTEM"));
+        assertTrue(EventDictionary.categoryId(GamePulse.IAPEvents.CATEGORY) > 0);
+        assertTrue(EventDictionary.typeId(GamePulse.Gameplay.CHECKPOINT_REACHED) > 0);
+        assertEquals(0, EventDictionary.typeId("button_click"));
+        assertEquals(GamePulse.AdEvents.AD_VIEWED,
+                EventDictionary.type(EventDictionary.typeId(GamePulse.AdEvents.AD_VIEWED)));
+    }
+
+    /**
+     * A journal from the previous SDK version must not wedge the batcher: the old record is
+     * dropped on replay, and a bad record that still reaches finish() is left out of its batch
+     */
+    @Test
+    public void replayDropsRecordsOfThePreviousVersion() {
+        BinaryEventEncoder encoder = new BinaryEventEncoder();
+        encoder.encode("SYSTEM", "level_start", "gameplay", ENVELOPE, "UTC", "2026-10-16T00:00:00Z",
+                new LinkedHashMap<String, String>());
+        byte[] current = Arrays.copyOf(encoder.buffer(), encoder.size());
+        byte[] previous = current.clone();
+        previous[0] = (byte) (BinaryEventEncoder.RECORD_VERSION - 1);
+
+        final List<EventBatch> sent = new ArrayList<>();
+        EventBatcher batcher = new EventBatcher(new EventBatcher.Sender() {
+            @Override
+            public void send(EventBatch batch) {
+                sent.add(batch);
+            }
+        }, null, new BinaryBatchFormat(), 10, EventBatcher.DEFAULT_MAX_BYTES, 0);
+
+        assertFalse(batcher.replay(previous, 0, 0));
+        assertTrue(batcher.replay(current, 0, 0));
+        batcher.add(previous);
+        batcher.flush();
+        batcher.add(current);
+        batcher.flush();
+
+        assertEquals(2, sent.size());
+        for (EventBatch batch : sent) {
+            assertEquals(1, new JSONArray(new String(BinaryBatchDecoder.toJson(batch.getPayload()),
+                    StandardCharsets.UTF_8)).length());
+        }
+    }
+
+    @Test
+    public void emptyBatchDecodesToEmptyArray() {
+        byte[] batch = new BinaryBatchFormat().finish(new Buffer(), 0);
+        assertEquals("[]", new String(BinaryBatchDecoder.toJson(batch), StandardCharsets.UTF_8));
+    }
+}
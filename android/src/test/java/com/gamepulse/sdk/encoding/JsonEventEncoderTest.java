@@ -0,0 +1,125 @@
+package com.gamepulse.sdk.encoding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+import com.gamepulse.sdk.clock.EventClock;
+import com.gamepulse.sdk.queue.EventRecord;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class JsonEventEncoderTest {
+
+    private static final DeviceInfo DEVICE = new DeviceInfo(
+            "ANDROID", "14", "1.2.3", "Pixel 8", "1080x2400", "Google");
+    private static final UserConfig USER = UserConfig.builder()
+            .setSessionId("session-123")
+            .setUserId("user-456")
+            .build();
+    private static final String TIMEZONE = "Europe/Berlin";
+    private static final String LOCAL_DATE_TIME = "2026-10-16T12:34:56.789Z";
+
+    @Test
+    public void encodesEventInSchemaOrder() throws Exception {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("level", "1");
+        properties.put("difficulty", "easy");
+
+        assertEquals("{\"type\":\"SYSTEM\",\"value\":\"level_start\",\"category\":\"gameplay\","
+                        + "\"platform\":\"ANDROID\",\"osVersion\":\"14\",\"deviceModel\":\"Pixel 8\","
+                        + "\"deviceManufacturer\":\"Google\",\"appVersion\":\"1.2.3\",\"screenResolution\":\"1080x2400\","
+                        + "\"userId\":\"user-456\",\"anonymousId\":\"\",\"sessionId\":\"session-123\","
+                        + "\"timezone\":\"Europe\\/Berlin\",\"localDateTime\":\"2026-10-16T12:34:56.789Z\","
+                        + "\"properties\":{\"level\":\"1\",\"difficulty\":\"easy\"}}",
+                encode("SYSTEM", "level_start", "gameplay", properties));
+    }
+
+    @Test
+    public void escapesLikeOrgJson() throws Exception {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("quote\"key", "a/b\\c");
+        properties.put("controls", "\t\b\n\r\f\u0001\u001f");
+        properties.put("unicode", "é€😀 ");
+        properties.put("dropped", null);
+
+        String json = encode("CUSTOM", "button_click", "ui", properties);
+        assertTrue(json.endsWith("\"properties\":{\"quote\\\"key\":\"a\\/b\\\\c\","
+                + "\"controls\":\"\\t\\b\\n\\r\\f\\u0001\\u001f\","
+                + "\"unicode\":\"é€😀 \"}}"));
+        assertEquals(properties.size() - 1, new JSONObject(json).getJSONObject("properties").length());
+    }
+
+    @Test
+    public void matchesLegacyJsonObjectOutput() {
+        // What trackEventInternal's JSONObject produced on Android, whose org.json keeps insertion order
+        String envelope = "\"platform\":\"ANDROID\",\"osVersion\":\"14\",\"deviceModel\":\"Pixel 8\","
+                + "\"deviceManufacturer\":\"Google\",\"appVersion\":\"1.2.3\",\"screenResolution\":\"1080x2400\","
+                + "\"userId\":\"user-456\",\"anonymousId\":\"\",\"sessionId\":\"session-123\","
+                + "\"timezone\":\"Europe\\/Berlin\",\"localDateTime\":\"2026-10-16T12:34:56.789Z\",";
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("item_id", "premium_upgrade");
+        properties.put("price", "9.99");
+        properties.put("note", "50% off / \"today\" \u0007 ünïcödé 🎮");
+
+        assertEquals("{\"type\":\"SYSTEM\",\"value\":\"purchase\",\"category\":\"iap\"," + envelope
+                        + "\"properties\":{\"item_id\":\"premium_upgrade\",\"price\":\"9.99\","
+                        + "\"note\":\"50% off \\/ \\\"today\\\" \\u0007 ünïcödé 🎮\"}}",
+                encode("SYSTEM", "purchase", "iap", properties));
+        assertEquals("{\"type\":\"CUSTOM\",\"value\":\"x\",\"category\":\"y\"," + envelope + "\"properties\":{}}",
+                encode("CUSTOM", "x", "y", new LinkedHashMap<String, String>()));
+    }
+
+    @Test
+    public void cachedEnvelopeEncodesSameBytes() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("ad_type", "rewarded");
+
+        EventEnvelope envelope = new EventEnvelope(DEVICE, USER);
+        JsonEventEncoder encoder = new JsonEventEncoder();
+        encoder.encode("SYSTEM", "ad_viewed", "ad", envelope, TIMEZONE, LOCAL_DATE_TIME, properties);
+
+        assertEquals(encode("SYSTEM", "ad_viewed", "ad", properties),
+                new String(encoder.buffer(), 0, encoder.size(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void encodesTypedPropertiesAsJsonValues() throws Exception {
+        EventRecord record = new EventRecord();
+        record.set("SYSTEM", "level_end", "gameplay", new EventEnvelope(DEVICE, USER),
+                java.time.Instant.parse(LOCAL_DATE_TIME).toEpochMilli());
+        record.stamp(7, EventClock.UNKNOWN_OFFSET);
+        PropertyList properties = record.getProperties();
+        properties.put("score", 48200);
+        properties.put("min", Long.MIN_VALUE);
+        properties.put("ratio", 0.125);
+        properties.put("duration", 90.0);
+        properties.put("won", true);
+        properties.put("nan", Double.NaN);
+        properties.put("name", "arena");
+
+        JsonEventEncoder encoder = new JsonEventEncoder(16);
+        encoder.encode(record, TIMEZONE);
+        String json = new String(encoder.buffer(), 0, encoder.size(), StandardCharsets.UTF_8);
+
+        assertTrue(json, json.contains("\"localDateTime\":\"" + LOCAL_DATE_TIME + "\",\"sequence\":7,\"properties\""));
+        assertTrue(json, json.endsWith("\"properties\":{\"score\":48200,\"min\":-9223372036854775808,"
+                + "\"ratio\":0.125,\"duration\":90,\"won\":true,\"name\":\"arena\"}}"));
+        JSONObject parsed = new JSONObject(json).getJSONObject("properties");
+        assertEquals(48200, parsed.getInt("score"));
+        assertEquals(true, parsed.getBoolean("won"));
+    }
+
+    private static String encode(String eventClass, String type, String category, Map<String, String> properties) {
+        JsonEventEncoder encoder = new JsonEventEncoder(16);
+        encoder.encode(eventClass, type, category, DEVICE, USER, TIMEZONE, LOCAL_DATE_TIME, properties);
+        return new String(encoder.buffer(), 0, encoder.size(), StandardCharsets.UTF_8);
+    }
+}
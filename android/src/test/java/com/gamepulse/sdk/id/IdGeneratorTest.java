@@ -0,0 +1,82 @@
+package com.gamepulse.sdk.id;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class IdGeneratorTest {
+
+    @Test
+    public void idsAreUuidV7WithTheTimestamp() {
+        long now = 1_792_152_000_123L;
+        IdGenerator generator = new IdGenerator(42);
+        generator.next(now);
+
+        UUID uuid = UUID.fromString(IdGenerator.toUuid(generator.high(), generator.low()));
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(now, uuid.getMostSignificantBits() >>> 16);
+        assertEquals(uuid.toString(), IdGenerator.toUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+    }
+
+    @Test
+    public void idsIncreaseWithinAMillisecondAndWhenTheClockStepsBack() {
+        IdGenerator generator = new IdGenerator(7);
+        long[] clock = { 1000, 1000, 1000, 999, 990, 1000, 1001, 1001 };
+        long previousHigh = Long.MIN_VALUE;
+        long previousLow = Long.MIN_VALUE;
+        Set<String> seen = new HashSet<>();
+
+        for (int round = 0; round < 1000; round++) {
+            generator.next(clock[round % clock.length] + round / clock.length * 2);
+            long high = generator.high();
+            long low = generator.low();
+            int order = Long.compare(high, previousHigh);
+            assertTrue(order > 0 || (order == 0 && Long.compareUnsigned(low, previousLow) > 0));
+            assertTrue(seen.add(IdGenerator.format(high, low)));
+            previousHigh = high;
+            previousLow = low;
+        }
+    }
+
+    @Test
+    public void threadLocalGeneratorsNeverCollide() throws Exception {
+        int threads = 4;
+        final int perThread = 20_000;
+        final Set<String> seen = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    IdGenerator generator = IdGenerator.current();
+                    for (int i = 0; i < perThread; i++) {
+                        generator.next(System.currentTimeMillis());
+                        seen.add(IdGenerator.format(generator.high(), generator.low()));
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+    }
+}
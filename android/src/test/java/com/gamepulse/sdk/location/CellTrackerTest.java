@@ -0,0 +1,40 @@
+package com.gamepulse.sdk.location;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class CellTrackerTest {
+
+    private static final long REFRESH_MS = TimeUnit.MINUTES.toMillis(10);
+
+    @Test
+    public void reportsTheFirstFix() {
+        assertEquals("u4pru", new CellTracker(REFRESH_MS).accept(57.64911, 10.40744, 0));
+    }
+
+    @Test
+    public void dropsFixesWithinTheRefreshInterval() {
+        CellTracker cells = new CellTracker(REFRESH_MS);
+        assertEquals("u4pru", cells.accept(57.64911, 10.40744, 1_000));
+
+        // Another cell, but too soon: ignored, and the interval still counts from the last accepted fix
+        assertNull(cells.accept(40.4168, -3.7038, 1_000 + REFRESH_MS - 1));
+        assertEquals("ezjmg", cells.accept(40.4168, -3.7038, 1_000 + REFRESH_MS));
+    }
+
+    @Test
+    public void reportsOnlyCellChanges() {
+        CellTracker cells = new CellTracker(REFRESH_MS);
+        assertEquals("u4pru", cells.accept(57.64911, 10.40744, 0));
+        assertNull(cells.accept(57.6495, 10.4080, REFRESH_MS));
+
+        // The unchanged fix was still accepted, so the next one must wait a full interval after it
+        assertNull(cells.accept(40.4168, -3.7038, REFRESH_MS * 2 - 1));
+        assertEquals("ezjmg", cells.accept(40.4168, -3.7038, REFRESH_MS * 2));
+        assertEquals("u4pru", cells.accept(57.64911, 10.40744, REFRESH_MS * 3));
+    }
+}
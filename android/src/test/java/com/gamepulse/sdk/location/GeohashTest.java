@@ -0,0 +1,32 @@
+package com.gamepulse.sdk.location;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class GeohashTest {
+
+    @Test
+    public void matchesReferenceHashes() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("ezs42", Geohash.encode(42.6, -5.6, 5));
+        assertEquals("r3gx2", Geohash.encode(-33.8688, 151.2093, 5));
+    }
+
+    @Test
+    public void nearbyFixesShareACell() {
+        assertEquals(Geohash.encode(57.64911, 10.40744, LocationCache.PRECISION),
+                Geohash.encode(57.6495, 10.4080, LocationCache.PRECISION));
+    }
+
+    @Test
+    public void coversTheCorners() {
+        assertEquals("00000", Geohash.encode(-90, -180, 5));
+        assertEquals("zzzzz", Geohash.encode(90, 180, 5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOutOfRangeCoordinates() {
+        Geohash.encode(91, 0, 5);
+    }
+}
@@ -0,0 +1,134 @@
+package com.gamepulse.sdk.location;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.Manifest;
+import android.app.Application;
+import android.content.Context;
+import android.location.Location;
+import android.location.LocationManager;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLocationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+public class LocationCacheTest {
+
+    private static final long REFRESH_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private Application application;
+    private LocationManager locationManager;
+    private ShadowLocationManager shadowLocationManager;
+
+    @Before
+    public void setUp() {
+        application = RuntimeEnvironment.getApplication();
+        locationManager = (LocationManager) application.getSystemService(Context.LOCATION_SERVICE);
+        shadowLocationManager = shadowOf(locationManager);
+    }
+
+    @Test
+    public void startsNothingWithoutPermission() {
+        assertNull(LocationCache.start(application, REFRESH_MS));
+    }
+
+    @Test
+    public void listensPassivelyWithFineLocation() {
+        shadowOf(application).grantPermissions(Manifest.permission.ACCESS_FINE_LOCATION);
+        assertEquals(LocationManager.PASSIVE_PROVIDER, LocationCache.providerFor(application));
+    }
+
+    @Test
+    @Config(sdk = 30)
+    public void usesTheNetworkProviderWithCoarseLocationBeforeAndroid12() {
+        shadowOf(application).grantPermissions(Manifest.permission.ACCESS_COARSE_LOCATION);
+        assertEquals(LocationManager.NETWORK_PROVIDER, LocationCache.providerFor(application));
+    }
+
+    @Test
+    public void seedsFromTheLastKnownFix() {
+        shadowOf(application).grantPermissions(Manifest.permission.ACCESS_FINE_LOCATION);
+        shadowLocationManager.setLastKnownLocation(LocationManager.PASSIVE_PROVIDER, fix(57.64911, 10.40744));
+
+        LocationCache cache = startOnMainLooper();
+        List<String> cells = listen(cache);
+
+        assertEquals("u4pru", cache.getGeohash());
+        assertEquals(Collections.singletonList("u4pru"), cells);
+    }
+
+    @Test
+    public void refreshesAtMostOncePerIntervalAndOnlyReportsNewCells() {
+        shadowOf(application).grantPermissions(Manifest.permission.ACCESS_FINE_LOCATION);
+        LocationCache cache = startOnMainLooper();
+        List<String> cells = listen(cache);
+        assertNull(cache.getGeohash());
+
+        deliver(fix(57.64911, 10.40744));
+        assertEquals("u4pru", cache.getGeohash());
+
+        // Too soon: ignored even though it is in another cell
+        deliver(fix(40.4168, -3.7038));
+        assertEquals("u4pru", cache.getGeohash());
+
+        // Same cell after the interval: nothing to republish
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(REFRESH_MS));
+        deliver(fix(57.6495, 10.4080));
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(REFRESH_MS));
+        deliver(fix(40.4168, -3.7038));
+        assertEquals("ezjmg", cache.getGeohash());
+        assertEquals(Arrays.asList("u4pru", "ezjmg"), cells);
+    }
+
+    private LocationCache startOnMainLooper() {
+        LocationCache cache = new LocationCache(locationManager, LocationCache.providerFor(application), REFRESH_MS,
+                Looper.getMainLooper());
+        cache.start();
+        shadowOf(Looper.getMainLooper()).idle();
+        return cache;
+    }
+
+    private static List<String> listen(LocationCache cache) {
+        final List<String> cells = new ArrayList<>();
+        cache.addListener(new LocationCache.Listener() {
+            @Override
+            public void onGeohash(String geohash) {
+                cells.add(geohash);
+            }
+        });
+        shadowOf(Looper.getMainLooper()).idle();
+        return cells;
+    }
+
+    private void deliver(Location location) {
+        shadowLocationManager.simulateLocation(location);
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private static Location fix(double latitude, double longitude) {
+        Location location = new Location(LocationManager.PASSIVE_PROVIDER);
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        location.setAccuracy(500);
+        location.setTime(System.currentTimeMillis());
+        location.setElapsedRealtimeNanos(SystemClock.elapsedRealtimeNanos());
+        return location;
+    }
+}
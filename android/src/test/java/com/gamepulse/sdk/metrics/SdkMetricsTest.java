@@ -0,0 +1,85 @@
+package com.gamepulse.sdk.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SdkMetricsTest {
+
+    @Test
+    public void stripedCounterIsExactAcrossThreads() throws Exception {
+        final StripedCounter counter = new StripedCounter();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 100_000; i++) {
+                        counter.increment();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1_600_000, counter.sum());
+    }
+
+    @Test
+    public void histogramBucketsByPowerOfTwo() {
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        assertEquals(1, LatencyHistogram.bucketOf(1));
+        assertEquals(2, LatencyHistogram.bucketOf(2));
+        assertEquals(2, LatencyHistogram.bucketOf(3));
+        assertEquals(11, LatencyHistogram.bucketOf(1024));
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void quantilesAreBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(99 * 100 + 5000, snapshot.getSum());
+        // 100 lies in [64, 128), 5000 in [4096, 8192)
+        assertEquals(127, snapshot.getQuantile(0.5));
+        assertEquals(127, snapshot.getQuantile(0.99));
+        assertEquals(8191, snapshot.getQuantile(1));
+        assertEquals(99, snapshot.getCount(LatencyHistogram.bucketOf(100)));
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        HistogramSnapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getQuantile(0.99));
+        assertEquals(0, snapshot.getMean(), 0);
+    }
+
+    @Test
+    public void snapshotAddsQueueDropsToUploadDrops() {
+        SdkMetrics metrics = new SdkMetrics();
+        metrics.recordAccepted();
+        metrics.recordAccepted();
+        metrics.recordUploadDropped(3);
+        metrics.recordTrackLatency(250);
+
+        MetricsSnapshot snapshot = metrics.snapshot(4, 7);
+        assertEquals(2, snapshot.getEventsAccepted());
+        assertEquals(7, snapshot.getEventsDropped());
+        assertEquals(7, snapshot.getQueueDepth());
+        assertEquals(1, snapshot.getTrackLatencyNanos().getCount());
+        assertTrue(snapshot.getTimestamp() > 0);
+    }
+}
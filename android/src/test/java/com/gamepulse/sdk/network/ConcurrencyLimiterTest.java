@@ -0,0 +1,110 @@
+package com.gamepulse.sdk.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ConcurrencyLimiterTest {
+
+    private static final long MAX_BYTES = 1024 * 1024;
+
+    @Test
+    public void growsAdditivelyWhileSaturated() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 8, MAX_BYTES);
+
+        // One round trip at the cap adds roughly one slot
+        for (int round = 0; round < 3; round++) {
+            int limit = limiter.getLimit();
+            fillAndComplete(limiter, 20);
+            assertTrue(limiter.getLimit() <= limit + 1);
+        }
+        for (int round = 0; round < 100; round++) {
+            fillAndComplete(limiter, 20);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void doesNotGrowWhenIdle() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 8, MAX_BYTES);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(100));
+            limiter.onSuccess(100, 20);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void decreasesMultiplicativelyOnFailure() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, 8, MAX_BYTES);
+
+        assertTrue(limiter.tryAcquire(100));
+        limiter.onFailure(100);
+        assertEquals(4, limiter.getLimit());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(100));
+            limiter.onFailure(100);
+        }
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void backsOffWhenLatencyRises() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, 8, MAX_BYTES);
+        limiter.tryAcquire(100);
+        limiter.onSuccess(100, 40);
+
+        // Jitter on a fast link is not queueing
+        limiter.tryAcquire(100);
+        limiter.onSuccess(100, 85);
+        assertEquals(8, limiter.getLimit());
+
+        limiter.tryAcquire(100);
+        limiter.onSuccess(100, 400);
+        assertEquals(7, limiter.getLimit());
+        assertEquals(40, limiter.getMinRttMs());
+        assertTrue(limiter.getSmoothedRttMs() > 40 && limiter.getSmoothedRttMs() < 400);
+    }
+
+    @Test
+    public void minimumRttFollowsNetworkChanges() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, MAX_BYTES);
+        limiter.tryAcquire(100);
+        limiter.onSuccess(100, 10);
+        assertEquals(10, limiter.getMinRttMs());
+
+        // Moved to a slower network; the old minimum ages out after one window
+        for (int i = 0; i < 2 * ConcurrencyLimiter.RTT_WINDOW; i++) {
+            limiter.tryAcquire(100);
+            limiter.onSuccess(100, 300);
+        }
+        assertEquals(300, limiter.getMinRttMs());
+    }
+
+    @Test
+    public void capsInFlightBytesButAlwaysAdmitsOne() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 4, 1000);
+
+        assertTrue(limiter.tryAcquire(800));
+        assertFalse(limiter.tryAcquire(300));
+        assertTrue(limiter.tryAcquire(200));
+        limiter.release(800);
+        limiter.release(200);
+
+        assertTrue(limiter.tryAcquire(5000));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    private static void fillAndComplete(ConcurrencyLimiter limiter, long rttMs) {
+        int acquired = 0;
+        while (limiter.tryAcquire(100)) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.onSuccess(100, rttMs);
+        }
+    }
+}
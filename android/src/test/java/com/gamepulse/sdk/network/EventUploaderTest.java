@@ -0,0 +1,402 @@
+package com.gamepulse.sdk.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.gamepulse.sdk.GamePulse;
+import com.gamepulse.sdk.clock.EventClock;
+import com.gamepulse.sdk.diagnostics.LogLevel;
+import com.gamepulse.sdk.diagnostics.Logger;
+import com.gamepulse.sdk.encoding.BinaryBatchFormat;
+import com.gamepulse.sdk.encoding.BinaryEventEncoder;
+import com.gamepulse.sdk.encoding.EventEnvelope;
+import com.gamepulse.sdk.metrics.MetricsSnapshot;
+import com.gamepulse.sdk.metrics.SdkMetrics;
+import com.gamepulse.sdk.queue.EventBatcher;
+import com.gamepulse.sdk.queue.JsonBatchFormat;
+import com.gamepulse.sdk.storage.AcknowledgedIds;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.GzipSource;
+
+public class EventUploaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private final LinkedBlockingQueue<UploadStats> stats = new LinkedBlockingQueue<>();
+    private ConcurrencyLimiter limiter = new ConcurrencyLimiter();
+    private final SdkMetrics metrics = new SdkMetrics();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.dispatcher().executorService().shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    public void gzipsPayloadsAboveThreshold() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200));
+        EventBatcher batcher = batcher(new CompressionPolicy(512));
+
+        for (int i = 0; i < 50; i++) {
+            batcher.add(bytes("{\"type\":\"SYSTEM\",\"value\":\"currency_earned\",\"category\":\"economy\",\"platform\":\"ANDROID\"}"));
+        }
+        batcher.flush();
+
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("gzip", request.getHeader("Content-Encoding"));
+
+        Buffer body = new Buffer();
+        body.writeAll(new GzipSource(request.getBody()));
+        String json = body.readUtf8();
+        assertTrue(json.startsWith("[{\"type\":\"SYSTEM\""));
+
+        UploadStats upload = stats.poll(5, TimeUnit.SECONDS);
+        assertNotNull(upload);
+        assertTrue(upload.isCompressed());
+        assertEquals(json.length(), upload.getRawBytes());
+        assertEquals(request.getBodySize(), upload.getWireBytes());
+        assertTrue(upload.getWireBytes() < upload.getRawBytes() / 5);
+    }
+
+    @Test
+    public void sendsSmallPayloadsUncompressed() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200));
+        EventBatcher batcher = batcher(new CompressionPolicy(512));
+
+        batcher.add(bytes("{\"value\":\"level_start\"}"));
+        batcher.flush();
+
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertNull(request.getHeader("Content-Encoding"));
+        assertNull(request.getHeader("Idempotency-Key"));
+        assertEquals("[{\"value\":\"level_start\"}]", request.getBody().readUtf8());
+
+        UploadStats upload = stats.poll(5, TimeUnit.SECONDS);
+        assertFalse(upload.isCompressed());
+        assertEquals(upload.getRawBytes(), upload.getWireBytes());
+        assertEquals(200, upload.getStatusCode());
+    }
+
+    @Test
+    public void fallsBackToJsonWhenBinaryIsRejected() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(415));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        EventUploader uploader = new EventUploader(client, server.url("/batch").toString(), "test-key", false,
+                new BinaryBatchFormat(), new CompressionPolicy(CompressionPolicy.DISABLED), null, null,
+                new RetryPolicy(), new CircuitBreaker(), limiter);
+        EventBatcher batcher = new EventBatcher(uploader, null, new BinaryBatchFormat(), 1000, EventBatcher.DEFAULT_MAX_BYTES, 0);
+
+        EventEnvelope envelope = new EventEnvelope(
+                new GamePulse.DeviceInfo("ANDROID", "14", "1.0", "Pixel", "1x1", "Google"),
+                GamePulse.UserConfig.builder().setSessionId("s").setUserId("u").build());
+        BinaryEventEncoder encoder = new BinaryEventEncoder();
+        encoder.encode("SYSTEM", "level_start", "gameplay", envelope, "UTC", "2026-10-16T00:00:00Z", null);
+        batcher.add(encoder.buffer(), 0, encoder.size());
+        batcher.flush();
+
+        RecordedRequest binaryRequest = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals(BinaryBatchFormat.CONTENT_TYPE, binaryRequest.getHeader("Content-Type"));
+
+        RecordedRequest jsonRequest = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(jsonRequest);
+        assertEquals(JsonBatchFormat.CONTENT_TYPE, jsonRequest.getHeader("Content-Type"));
+        assertTrue(jsonRequest.getBody().readUtf8().startsWith("[{\"type\":\"SYSTEM\",\"value\":\"level_start\""));
+    }
+
+    @Test
+    public void estimatesServerClockOffsetFromDateHeader() throws Exception {
+        long skew = 3_600_000;
+        server.enqueue(new MockResponse().setResponseCode(200)
+                .setHeaders(new Headers.Builder().set("Date", new Date(System.currentTimeMillis() + skew)).build()));
+        EventClock clock = new EventClock();
+        EventBatcher batcher = batcher(new CompressionPolicy(CompressionPolicy.DISABLED), clock);
+
+        assertEquals(EventClock.UNKNOWN_OFFSET, clock.getServerOffset());
+        batcher.add(bytes("{\"value\":\"level_end\"}"));
+        batcher.flush();
+
+        assertNotNull(stats.poll(5, TimeUnit.SECONDS));
+        assertTrue(String.valueOf(clock.getServerOffset()), Math.abs(clock.getServerOffset() - skew) < 2000);
+    }
+
+    @Test
+    public void retriesServerErrorsUntilAccepted() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        EventBatcher batcher = batcher(new RetryPolicy(10, 50, TimeUnit.DAYS.toMillis(1)), new CircuitBreaker());
+
+        batcher.add(bytes("{\"value\":\"level_end\"}"));
+        batcher.flush();
+
+        for (int expected : new int[] {500, 502, 200}) {
+            assertEquals(expected, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals("[{\"value\":\"level_end\"}]", server.takeRequest().getBody().readUtf8());
+        }
+    }
+
+    @Test
+    public void recordsOutcomesInMetrics() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        EventBatcher batcher = batcher(new RetryPolicy(10, 50, TimeUnit.DAYS.toMillis(1)), new CircuitBreaker());
+
+        batcher.add(bytes("{\"value\":\"level_end\"}"));
+        batcher.add(bytes("{\"value\":\"level_up\"}"));
+        batcher.flush();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        MetricsSnapshot snapshot = metrics.snapshot(0, 0);
+        while (snapshot.getEventsSent() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            snapshot = metrics.snapshot(0, 0);
+        }
+        assertEquals(2, snapshot.getEventsSent());
+        assertEquals(2, snapshot.getEventsRetried());
+        assertEquals(0, snapshot.getEventsDropped());
+        int payload = "[{\"value\":\"level_end\"},{\"value\":\"level_up\"}]".length();
+        assertEquals(2 * payload, snapshot.getRawBytes());
+        assertEquals(snapshot.getRawBytes(), snapshot.getWireBytes());
+        assertEquals(2, snapshot.getUploadRttMillis().getCount());
+    }
+
+    @Test
+    public void retriesSendTheSameIdempotencyKey() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        EventBatcher batcher = batcher(new RetryPolicy(10, 50, TimeUnit.DAYS.toMillis(1)), new CircuitBreaker());
+
+        byte[] event = bytes("{\"value\":\"level_end\"}");
+        batcher.add(event, 0, event.length, 0x1234L, 1);
+        batcher.add(event, 0, event.length, 0x1234L, 2);
+        batcher.flush();
+
+        String key = server.takeRequest(5, TimeUnit.SECONDS).getHeader("Idempotency-Key");
+        assertNotNull(key);
+        assertEquals(32, key.length());
+        assertEquals(key, server.takeRequest(5, TimeUnit.SECONDS).getHeader("Idempotency-Key"));
+    }
+
+    @Test
+    public void honorsRetryAfterOnTooManyRequests() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        EventBatcher batcher = batcher(new RetryPolicy(1, 5_000, TimeUnit.DAYS.toMillis(1)), new CircuitBreaker());
+
+        batcher.add(bytes("{\"value\":\"level_end\"}"));
+        batcher.flush();
+
+        assertEquals(429, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+        long rejectedAt = System.nanoTime();
+        assertEquals(200, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - rejectedAt) >= 900);
+    }
+
+    @Test
+    public void dropsBatchesTheCollectorRejects() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400));
+        EventBatcher batcher = batcher(new RetryPolicy(1, 10, TimeUnit.DAYS.toMillis(1)), new CircuitBreaker());
+
+        batcher.add(bytes("{\"value\":\"level_end\"}"));
+        batcher.flush();
+
+        assertEquals(400, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+        server.takeRequest(5, TimeUnit.SECONDS);
+        assertNull(server.takeRequest(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, metrics.snapshot(0, 0).getEventsDropped());
+    }
+
+    @Test
+    public void remembersIdsOnlyOfBatchesTheCollectorAccepted() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        AcknowledgedIds ids = new AcknowledgedIds(folder.newFile("ids"), 1024);
+        EventBatcher batcher = new EventBatcher(uploader(new CompressionPolicy(CompressionPolicy.DISABLED), null,
+                new RetryPolicy(1, 10, TimeUnit.DAYS.toMillis(1)), new CircuitBreaker()),
+                null, ids, new JsonBatchFormat(), 1000, EventBatcher.DEFAULT_MAX_BYTES, 0);
+
+        byte[] rejected = bytes("{\"value\":\"level_start\"}");
+        batcher.add(rejected, 0, rejected.length, 1, 2);
+        batcher.flush();
+        assertEquals(400, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+
+        byte[] accepted = bytes("{\"value\":\"level_end\"}");
+        batcher.add(accepted, 0, accepted.length, 3, 4);
+        batcher.flush();
+        assertEquals(200, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!ids.mightContain(3, 4) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(ids.mightContain(3, 4));
+        assertFalse(ids.mightContain(1, 2));
+    }
+
+    @Test
+    public void dropsBatchesPastMaximumAge() throws Exception {
+        EventBatcher batcher = batcher(new RetryPolicy(1, 10, 1), new CircuitBreaker());
+
+        batcher.add(bytes("{\"value\":\"level_end\"}"));
+        Thread.sleep(20);
+        batcher.flush();
+
+        assertNull(server.takeRequest(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void circuitBreakerStopsUploadsUntilCooldown() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+        server.enqueue(new MockResponse().setResponseCode(200));
+        CircuitBreaker breaker = new CircuitBreaker(2, 1_000, 1_000);
+        EventBatcher batcher = batcher(new RetryPolicy(1, 10, TimeUnit.DAYS.toMillis(1)), breaker);
+
+        batcher.add(bytes("{\"value\":\"level_end\"}"));
+        batcher.flush();
+
+        assertEquals(503, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(503, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+        long openedAt = System.nanoTime();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // Nothing goes out while open; the half-open probe fails and reopens the breaker
+        assertEquals(503, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt) >= 700);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        assertEquals(200, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    public void capsConcurrentUploads() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int now = running.incrementAndGet();
+                peak.accumulateAndGet(now, Math::max);
+                Thread.sleep(50);
+                running.decrementAndGet();
+                return new MockResponse().setResponseCode(200);
+            }
+        });
+        limiter = new ConcurrencyLimiter(2, 2, ConcurrencyLimiter.DEFAULT_MAX_IN_FLIGHT_BYTES);
+        EventBatcher batcher = batcher(new CompressionPolicy(CompressionPolicy.DISABLED));
+
+        int batches = 12;
+        for (int i = 0; i < batches; i++) {
+            batcher.add(bytes("{\"value\":\"level_end\",\"seq\":" + i + "}"));
+            batcher.flush();
+        }
+
+        for (int i = 0; i < batches; i++) {
+            assertEquals(200, stats.poll(5, TimeUnit.SECONDS).getStatusCode());
+        }
+        assertEquals(batches, server.getRequestCount());
+        assertEquals(2, peak.get());
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.getSmoothedRttMs() >= 50);
+    }
+
+    @Test
+    public void backoffIsJitteredAndCapped() {
+        RetryPolicy policy = new RetryPolicy(100, 1_000, TimeUnit.DAYS.toMillis(1));
+        long sum = 0;
+        for (int i = 0; i < 1_000; i++) {
+            long first = policy.backoff(1);
+            assertTrue(first >= 0 && first <= 100);
+            long late = policy.backoff(40);
+            assertTrue(late >= 0 && late <= 1_000);
+            sum += late;
+        }
+        // Full jitter: the mean sits near half the cap, not at the cap
+        assertTrue(sum / 1_000 > 350 && sum / 1_000 < 650);
+        assertEquals(1_000, policy.delay(1, 60_000));
+    }
+
+    @Test
+    public void thresholdBacksOffWhenCompressionDoesNotPay() {
+        CompressionPolicy policy = new CompressionPolicy(1024);
+        assertTrue(policy.shouldCompress(1024));
+
+        policy.record(1024, 1000);
+        assertEquals(2048, policy.getEffectiveThreshold());
+        assertFalse(policy.shouldCompress(1024));
+
+        policy.record(4096, 400);
+        assertEquals(1024, policy.getEffectiveThreshold());
+    }
+
+    private EventBatcher batcher(CompressionPolicy policy) {
+        return batcher(policy, null);
+    }
+
+    private EventBatcher batcher(RetryPolicy retryPolicy, CircuitBreaker breaker) {
+        return batcher(new CompressionPolicy(CompressionPolicy.DISABLED), null, retryPolicy, breaker);
+    }
+
+    private EventBatcher batcher(CompressionPolicy policy, EventClock clock) {
+        return batcher(policy, clock, new RetryPolicy(), new CircuitBreaker());
+    }
+
+    private EventBatcher batcher(CompressionPolicy policy, EventClock clock, RetryPolicy retryPolicy,
+                                 CircuitBreaker breaker) {
+        return new EventBatcher(uploader(policy, clock, retryPolicy, breaker), 1000, EventBatcher.DEFAULT_MAX_BYTES, 0);
+    }
+
+    private EventUploader uploader(CompressionPolicy policy, EventClock clock, RetryPolicy retryPolicy,
+                                   CircuitBreaker breaker) {
+        return new EventUploader(client, server.url("/batch").toString(), "test-key",
+                new Logger(LogLevel.NONE), new JsonBatchFormat(), policy, new EventUploader.UploadListener() {
+                    @Override
+                    public void onUpload(UploadStats upload) {
+                        stats.add(upload);
+                    }
+                }, clock, retryPolicy, breaker, limiter, metrics);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
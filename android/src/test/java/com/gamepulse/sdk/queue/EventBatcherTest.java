@@ -0,0 +1,101 @@
+package com.gamepulse.sdk.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.gamepulse.sdk.network.EventUploader;
+
+import org.json.JSONArray;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class EventBatcherTest {
+
+    private static final int EVENT_COUNT = 10_000;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            server.enqueue(new MockResponse().setResponseCode(200));
+        }
+        server.start();
+        client = new OkHttpClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.dispatcher().executorService().shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    public void sendsOneRequestPerBatchFor10kEvents() throws Exception {
+        int batchSize = 100;
+        EventUploader uploader = new EventUploader(client, server.url("/events/collect/batch").toString(), "test-key", false);
+        EventBatcher batcher = new EventBatcher(uploader, batchSize, EventBatcher.DEFAULT_MAX_BYTES, 0);
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            batcher.add(bytes("{\"type\":\"SYSTEM\",\"value\":\"level_start\",\"seq\":" + i + "}"));
+        }
+        batcher.flush();
+
+        int expectedRequests = EVENT_COUNT / batchSize;
+        int receivedEvents = 0;
+        for (int i = 0; i < expectedRequests; i++) {
+            RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+            assertNotNull("missing batch " + i, request);
+            assertEquals("test-key", request.getHeader("x-api-key"));
+            receivedEvents += new JSONArray(request.getBody().readUtf8()).length();
+        }
+
+        assertNull(server.takeRequest(200, TimeUnit.MILLISECONDS));
+        assertEquals(expectedRequests, server.getRequestCount());
+        assertEquals(EVENT_COUNT, receivedEvents);
+    }
+
+    @Test
+    public void flushesWhenByteLimitIsReached() throws Exception {
+        EventUploader uploader = new EventUploader(client, server.url("/batch").toString(), "test-key", false);
+        EventBatcher batcher = new EventBatcher(uploader, 1000, 64, 0);
+
+        batcher.add(bytes("{\"value\":\"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"}"));
+        assertEquals(1, batcher.getPendingCount());
+        batcher.add(bytes("{\"value\":\"bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb\"}"));
+        assertEquals(0, batcher.getPendingCount());
+
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals(2, new JSONArray(request.getBody().readUtf8()).length());
+    }
+
+    @Test
+    public void flushesOnInterval() throws Exception {
+        EventUploader uploader = new EventUploader(client, server.url("/batch").toString(), "test-key", false);
+        EventBatcher batcher = new EventBatcher(uploader, 1000, EventBatcher.DEFAULT_MAX_BYTES, 50);
+
+        batcher.add(bytes("{\"value\":\"level_end\"}"));
+
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("[{\"value\":\"level_end\"}]", request.getBody().readUtf8());
+        batcher.shutdown();
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
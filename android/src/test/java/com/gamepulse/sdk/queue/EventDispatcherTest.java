@@ -0,0 +1,230 @@
+package com.gamepulse.sdk.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class EventDispatcherTest {
+
+    // Ring of 64 slots: 8 reserved for NEVER_DROP, sampling from 32, oldest shed above 48
+    private static final int CAPACITY = 64;
+
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> delivered = Collections.synchronizedList(new ArrayList<String>());
+    private final CountDownLatch flushed = new CountDownLatch(1);
+
+    private final EventDispatcher.Handler handler = new EventDispatcher.Handler() {
+        @Override
+        public void onEvent(EventRecord record) {
+            // The first event stalls the worker, so everything after it backs up in the ring
+            if (delivered.isEmpty()) {
+                stalled.countDown();
+                await(release);
+            }
+            delivered.add(record.getCategory() + ":" + record.getEventType());
+        }
+
+        @Override
+        public void onFlush() {
+            flushed.countDown();
+        }
+    };
+
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    public void neverDropsPurchasesWhileOtherCategoriesAreShed() throws Exception {
+        EventDispatcher dispatcher = new EventDispatcher(CAPACITY, handler);
+        stallWorker(dispatcher);
+
+        int accepted = 0;
+        for (int i = 0; i < 200; i++) {
+            if (offer(dispatcher, "ui", "click")) {
+                accepted++;
+            }
+        }
+        assertEquals(CAPACITY - CAPACITY / 8 - 1, accepted);
+
+        // Reserved slots first, then the spill list
+        for (int i = 0; i < 2 * CAPACITY / 8; i++) {
+            assertTrue(offer(dispatcher, "iap", "purchase_" + i));
+        }
+        assertFalse(offer(dispatcher, "iap", "purchase_overflow"));
+        assertEquals(1, dispatcher.getDroppedCount("iap"));
+        assertEquals(200 - accepted + 1, dispatcher.getDroppedCount());
+
+        drain(dispatcher);
+        int purchases = 0;
+        for (String event : delivered) {
+            if (event.startsWith("iap:")) {
+                purchases++;
+            }
+        }
+        assertEquals(2 * CAPACITY / 8, purchases);
+    }
+
+    @Test
+    public void spilledPurchasesKeepTheirPlaceAmongRingEvents() throws Exception {
+        final EventDispatcher[] dispatcher = new EventDispatcher[1];
+        dispatcher[0] = new EventDispatcher(CAPACITY, new EventDispatcher.Handler() {
+            @Override
+            public void onEvent(EventRecord record) {
+                handler.onEvent(record);
+                // The ring has room again while the spilled purchase still waits: this one goes after it
+                if ("last_reserved".equals(record.getEventType())) {
+                    assertTrue(offer(dispatcher[0], "ui", "after_spill"));
+                }
+            }
+
+            @Override
+            public void onFlush() {
+                handler.onFlush();
+            }
+        });
+        stallWorker(dispatcher[0]);
+        for (int i = 1; i < CAPACITY - CAPACITY / 8; i++) {
+            assertTrue(offer(dispatcher[0], "ui", "click"));
+        }
+        for (int i = 1; i < CAPACITY / 8; i++) {
+            assertTrue(offer(dispatcher[0], "iap", "reserved"));
+        }
+        assertTrue(offer(dispatcher[0], "iap", "last_reserved"));
+        assertTrue(offer(dispatcher[0], "iap", "spilled"));
+
+        drain(dispatcher[0]);
+        int spilled = delivered.indexOf("iap:spilled");
+        assertEquals(delivered.indexOf("iap:last_reserved") + 1, spilled);
+        assertEquals(spilled + 1, delivered.indexOf("ui:after_spill"));
+        assertEquals(CAPACITY + 2, delivered.size());
+    }
+
+    @Test
+    public void samplesAdEventsOnceHalfFull() throws Exception {
+        EventDispatcher dispatcher = new EventDispatcher(CAPACITY, handler);
+        stallWorker(dispatcher);
+        for (int i = 1; i < CAPACITY / 2; i++) {
+            assertTrue(offer(dispatcher, "ui", "click"));
+        }
+
+        int accepted = 0;
+        for (int i = 0; i < 40; i++) {
+            if (offer(dispatcher, "ad", "ad_viewed")) {
+                accepted++;
+            }
+        }
+        assertEquals(40 / EventDispatcher.SAMPLE_RATE, accepted);
+        assertEquals(40 - accepted, dispatcher.getDroppedCount("ad"));
+        assertEquals(0, dispatcher.getDroppedCount("ui"));
+    }
+
+    @Test
+    public void shedsOldestGameplayEventsUnderBacklog() throws Exception {
+        EventDispatcher dispatcher = new EventDispatcher(CAPACITY, handler);
+        stallWorker(dispatcher);
+        for (int i = 1; i < CAPACITY - CAPACITY / 8; i++) {
+            assertTrue(offer(dispatcher, "gameplay", "tick_" + i));
+        }
+
+        drain(dispatcher);
+
+        // Shed from the front until the backlog is back under three quarters
+        int shed = (CAPACITY - CAPACITY / 8 - 1) - CAPACITY * 3 / 4;
+        assertEquals(shed, dispatcher.getDroppedCount("gameplay"));
+        assertEquals("gameplay:tick_" + (shed + 1), delivered.get(1));
+        assertEquals("gameplay:tick_" + (CAPACITY - CAPACITY / 8 - 1), delivered.get(delivered.size() - 1));
+        assertEquals(CAPACITY - CAPACITY / 8 - shed, delivered.size());
+    }
+
+    @Test
+    public void memoryStaysFlatUnderFlood() throws Exception {
+        EventDispatcher dispatcher = new EventDispatcher(CAPACITY, handler);
+        stallWorker(dispatcher);
+
+        String[] categories = {"gameplay", "ad", "ui", "economy"};
+        for (int i = 0; i < 100_000; i++) {
+            offer(dispatcher, categories[i % categories.length], "flood");
+        }
+        assertTrue(dispatcher.getQueueDepth() <= CAPACITY);
+        assertEquals(100_000 + 1 - dispatcher.getQueueDepth(), dispatcher.getDroppedCount());
+    }
+
+    @Test
+    public void channelsShareTheWorkerButKeepTheirOwnHandlers() throws Exception {
+        EventDispatcher dispatcher = new EventDispatcher(CAPACITY);
+        List<String> game = Collections.synchronizedList(new ArrayList<String>());
+        List<String> miniGame = Collections.synchronizedList(new ArrayList<String>());
+        Set<Thread> workers = Collections.synchronizedSet(new HashSet<Thread>());
+        CountDownLatch bothFlushed = new CountDownLatch(2);
+        EventDispatcher.Channel first = dispatcher.openChannel(recorder(game, workers, bothFlushed),
+                OverflowPolicy.defaults());
+        EventDispatcher.Channel second = dispatcher.openChannel(recorder(miniGame, workers, bothFlushed),
+                OverflowPolicy.defaults());
+
+        assertTrue(first.offer("SYSTEM", "level_start", "gameplay", null, null, null, 1, 0));
+        assertTrue(second.offer("SYSTEM", "ad_viewed", "ad", null, null, null, 1, 0));
+        assertTrue(first.offer("SYSTEM", "level_end", "gameplay", null, null, null, 1, 0));
+        first.requestFlush();
+
+        // One flush reaches every channel
+        assertTrue(bothFlushed.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("gameplay:level_start", "gameplay:level_end"), game);
+        assertEquals(Collections.singletonList("ad:ad_viewed"), miniGame);
+        assertEquals(1, workers.size());
+        assertEquals(0, first.getDroppedCount() + second.getDroppedCount());
+    }
+
+    private static EventDispatcher.Handler recorder(final List<String> events, final Set<Thread> workers,
+                                                    final CountDownLatch flushed) {
+        return new EventDispatcher.Handler() {
+            @Override
+            public void onEvent(EventRecord record) {
+                workers.add(Thread.currentThread());
+                events.add(record.getCategory() + ":" + record.getEventType());
+            }
+
+            @Override
+            public void onFlush() {
+                flushed.countDown();
+            }
+        };
+    }
+
+    private void stallWorker(EventDispatcher dispatcher) throws InterruptedException {
+        assertTrue(offer(dispatcher, "ui", "first"));
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+    }
+
+    private void drain(EventDispatcher dispatcher) throws InterruptedException {
+        release.countDown();
+        dispatcher.requestFlush();
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+    }
+
+    private static boolean offer(EventDispatcher dispatcher, String category, String type) {
+        return dispatcher.offer("SYSTEM", type, category, null, null, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
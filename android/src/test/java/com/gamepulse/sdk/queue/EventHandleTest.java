@@ -0,0 +1,126 @@
+package com.gamepulse.sdk.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EventHandleTest {
+
+    @Test
+    public void commitCopiesFieldsIntoTheQueue() throws Exception {
+        final CountDownLatch received = new CountDownLatch(1);
+        final String[] copy = new String[4];
+        EventDispatcher dispatcher = new EventDispatcher(16, new EventDispatcher.Handler() {
+            @Override
+            public void onEvent(EventRecord record) {
+                copy[0] = record.getEventClass();
+                copy[1] = record.getCategory() + "/" + record.getEventType();
+                copy[2] = record.getProperties().getKey(1) + "=" + record.getProperties().getString(1);
+                copy[3] = String.valueOf(record.getProperties().size());
+                received.countDown();
+            }
+
+            @Override
+            public void onFlush() {
+            }
+        });
+
+        EventHandle handle = handle(dispatcher);
+        assertTrue(handle.reset("SYSTEM").category("gameplay").type("level_start")
+                .put("level", "3").put("difficulty", "hard").put("ignored", null).commit());
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertEquals("SYSTEM", copy[0]);
+        assertEquals("gameplay/level_start", copy[1]);
+        assertEquals("difficulty=hard", copy[2]);
+        assertEquals("2", copy[3]);
+        assertEquals(0, handle.getProperties().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void commitRequiresCategoryAndType() {
+        handle(new EventDispatcher(16, new CountingHandler())).reset("CUSTOM").type("x").commit();
+    }
+
+    @Test
+    public void reusedHandleDeliversEveryCommit() throws Exception {
+        CountingHandler handler = new CountingHandler();
+        EventDispatcher dispatcher = new EventDispatcher(1024, handler);
+        EventHandle handle = handle(dispatcher);
+        // Fewer than the ring sheds at, so every commit must arrive
+        int iterations = 500;
+
+        track(handle, iterations);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (handler.events.get() < iterations && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(iterations, handler.events.get());
+        assertEquals(0, dispatcher.getDroppedCount());
+        assertEquals(0, handle.getProperties().size());
+    }
+
+    @Test
+    public void warmCommitsDoNotAllocate() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        EventHandle handle = handle(new EventDispatcher(64, new CountingHandler()));
+        // Wrap the ring many times, so the handle and every slot have grown their arrays
+        int iterations = 200_000;
+        track(handle, iterations);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        track(handle, iterations);
+        assertEquals(0, (threads.getThreadAllocatedBytes(threadId) - before) / iterations);
+    }
+
+    private static void track(EventHandle handle, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            boolean queued = handle.reset("SYSTEM")
+                    .category("gameplay")
+                    .type("frame")
+                    .put("scene", "arena")
+                    .put("quality", "high")
+                    .put("frame", i)
+                    .put("fps", 59.5)
+                    .put("vsync", true)
+                    .commit();
+            while (!queued) {
+                // Consumer is behind; retry the same event instead of dropping it
+                Thread.yield();
+                queued = handle.reset("SYSTEM").category("gameplay").type("frame").commit();
+            }
+        }
+    }
+
+    private static EventHandle handle(final EventDispatcher dispatcher) {
+        return new EventHandle(new EventHandle.Sink() {
+            @Override
+            public boolean commit(EventHandle event) {
+                return dispatcher.offer(event, null);
+            }
+        });
+    }
+
+    private static class CountingHandler implements EventDispatcher.Handler {
+        final AtomicInteger events = new AtomicInteger();
+
+        @Override
+        public void onEvent(EventRecord record) {
+            events.incrementAndGet();
+        }
+
+        @Override
+        public void onFlush() {
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.gamepulse.sdk.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class EventRingBufferTest {
+
+    private static final int PRODUCERS = 4;
+
+    @Test
+    public void rejectsClaimsWhenFull() {
+        EventRingBuffer ring = new EventRingBuffer(4);
+        for (int i = 0; i < ring.capacity(); i++) {
+            long sequence = ring.tryClaim();
+            assertEquals(i, sequence);
+            ring.publish(sequence);
+        }
+        assertEquals(-1, ring.tryClaim());
+
+        final int[] drained = new int[1];
+        ring.drain(new EventRingBuffer.Consumer() {
+            @Override
+            public void onEvent(EventRecord record) {
+                drained[0]++;
+            }
+        }, 1);
+        assertEquals(1, drained[0]);
+        assertTrue(ring.tryClaim() >= 0);
+    }
+
+    @Test
+    public void deliversEveryEventOnceInProducerOrder() throws Exception {
+        final int perProducer = 50_000;
+        final long[] lastSeen = new long[PRODUCERS];
+        Arrays.fill(lastSeen, -1);
+        final CountDownLatch done = new CountDownLatch(PRODUCERS * perProducer);
+        final boolean[] ordered = {true};
+
+        EventDispatcher dispatcher = new EventDispatcher(1024, new EventDispatcher.Handler() {
+            @Override
+            public void onEvent(EventRecord record) {
+                int producer = Integer.parseInt(record.getProperties().getString(0));
+                long seq = Long.parseLong(record.getProperties().getString(1));
+                if (seq != lastSeen[producer] + 1) {
+                    ordered[0] = false;
+                }
+                lastSeen[producer] = seq;
+                done.countDown();
+            }
+
+            @Override
+            public void onFlush() {
+            }
+        });
+
+        Thread[] threads = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            final String producer = String.valueOf(p);
+            threads[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < perProducer; i++) {
+                        // Spin on a full ring so nothing is dropped; the game-facing API drops instead
+                        while (!offer(dispatcher, producer, i)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(ordered[0]);
+        for (long last : lastSeen) {
+            assertEquals(perProducer - 1, last);
+        }
+    }
+
+    @Test
+    public void concurrentOffersAreNotDroppedWhileThereIsRoom() throws Exception {
+        // Ring sized to hold the whole burst, so no offer should be shed
+        final int perProducer = 25_000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch delivered = new CountDownLatch(PRODUCERS * perProducer);
+
+        final EventDispatcher dispatcher = new EventDispatcher(PRODUCERS * perProducer, new EventDispatcher.Handler() {
+            @Override
+            public void onEvent(EventRecord record) {
+                delivered.countDown();
+            }
+
+            @Override
+            public void onFlush() {
+            }
+        });
+
+        Thread[] threads = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            threads[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        dispatcher.offer("SYSTEM", "level_start", "gameplay", null, null, null);
+                    }
+                }
+            });
+            threads[p].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    private static boolean offer(EventDispatcher dispatcher, String producer, int seq) {
+        java.util.Map<String, String> properties = new java.util.LinkedHashMap<>();
+        properties.put("producer", producer);
+        properties.put("seq", String.valueOf(seq));
+        return dispatcher.offer("CUSTOM", "tick", "test", null, properties, null);
+    }
+}
@@ -0,0 +1,80 @@
+package com.gamepulse.sdk.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.gamepulse.sdk.GamePulse.UserConfig;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PendingEventsTest {
+
+    private static final UserConfig USER = UserConfig.builder().setSessionId("session-1").setUserId("u").build();
+
+    @Test
+    public void drainsInTrackOrderWithOriginalTimestamps() {
+        PendingEvents pending = new PendingEvents(16);
+        pending.add("SYSTEM", "session_start", "user", USER, null, null, 1000);
+        pending.add("SYSTEM", "level_start", "gameplay", USER, null, null, 1005);
+        pending.add("CUSTOM", "button_click", "ui", null, null, null, 1010);
+
+        final List<String> drained = new ArrayList<>();
+        final List<UserConfig> users = new ArrayList<>();
+        assertEquals(3, pending.drain(new PendingEvents.Consumer() {
+            @Override
+            public void onEvent(String eventClass, String eventType, String category, UserConfig userConfig,
+                                Map<String, String> properties, PropertyList typedProperties, long timestamp) {
+                drained.add(eventClass + ":" + category + "/" + eventType + "@" + timestamp);
+                users.add(userConfig);
+            }
+        }));
+
+        assertEquals("[SYSTEM:user/session_start@1000, SYSTEM:gameplay/level_start@1005, CUSTOM:ui/button_click@1010]",
+                drained.toString());
+        assertSame(USER, users.get(0));
+        assertNull(users.get(2));
+        assertEquals(0, pending.size());
+    }
+
+    @Test
+    public void copiesPropertiesSoCallersCanReuseThem() {
+        PendingEvents pending = new PendingEvents(16);
+        Map<String, String> properties = new HashMap<>();
+        properties.put("level", "3");
+        PropertyList typed = new PropertyList();
+        typed.put("score", 1200L);
+
+        pending.add("SYSTEM", "level_end", "gameplay", USER, properties, typed, 0);
+        properties.put("level", "4");
+        typed.clear();
+
+        pending.drain(new PendingEvents.Consumer() {
+            @Override
+            public void onEvent(String eventClass, String eventType, String category, UserConfig userConfig,
+                                Map<String, String> properties, PropertyList typedProperties, long timestamp) {
+                assertEquals("3", properties.get("level"));
+                assertEquals(1, typedProperties.size());
+                assertEquals(1200L, typedProperties.getLong(0));
+            }
+        });
+    }
+
+    @Test
+    public void keepsTheEarliestEventsWhenFull() {
+        PendingEvents pending = new PendingEvents(2);
+        assertTrue(pending.add("SYSTEM", "a", "gameplay", USER, null, null, 1));
+        assertTrue(pending.add("SYSTEM", "b", "gameplay", USER, null, null, 2));
+        assertFalse(pending.add("SYSTEM", "c", "gameplay", USER, null, null, 3));
+
+        assertEquals(2, pending.size());
+        assertEquals(1, pending.getDroppedCount());
+    }
+}
@@ -0,0 +1,50 @@
+package com.gamepulse.sdk.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PropertyListTest {
+
+    @Test
+    public void lastWriteWinsAndKeepsTheFirstPosition() {
+        PropertyList properties = new PropertyList();
+        properties.put("level", "1");
+        properties.put("score", 100);
+        properties.put("level", 2);
+        properties.put("score", 250.5);
+
+        assertEquals(2, properties.size());
+        assertEquals("level", properties.getKey(0));
+        assertEquals(PropertyList.LONG, properties.getType(0));
+        assertEquals(2, properties.getLong(0));
+        assertNull(properties.getString(0));
+        assertEquals(PropertyList.DOUBLE, properties.getType(1));
+        assertEquals(250.5, properties.getDouble(1), 0);
+    }
+
+    @Test
+    public void mergingListsAndMapsReplacesDuplicateKeys() {
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put("mode", "ranked");
+        map.put("won", "false");
+        PropertyList typed = new PropertyList();
+        typed.put("won", true);
+        typed.put("kills", 7);
+
+        PropertyList properties = new PropertyList();
+        properties.put("mode", "casual");
+        properties.putAll(map);
+        properties.addAll(typed);
+
+        assertEquals(3, properties.size());
+        assertEquals("ranked", properties.getString(properties.indexOf("mode")));
+        assertEquals(PropertyList.BOOLEAN, properties.getType(properties.indexOf("won")));
+        assertEquals(true, properties.getBoolean(properties.indexOf("won")));
+        assertEquals(7, properties.getLong(2));
+    }
+}
@@ -0,0 +1,162 @@
+package com.gamepulse.sdk.sampling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class SamplingRulesTest {
+
+    @Test
+    public void samplesDeterministicallyPerUser() {
+        SamplingRules rules = new SamplingRules().sample("economy", "currency_earned", 0.25);
+
+        int kept = 0;
+        int users = 20_000;
+        for (int i = 0; i < users; i++) {
+            String user = "user-" + i;
+            double weight = rules.admit("economy", "currency_earned", user, 0);
+            // Same user, same answer, every time
+            for (int repeat = 0; repeat < 3; repeat++) {
+                assertEquals(weight, rules.admit("economy", "currency_earned", user, 0), 0);
+            }
+            if (weight != SamplingRules.REJECTED) {
+                assertEquals(4.0, weight, 0);
+                kept++;
+            }
+        }
+        assertEquals(0.25, (double) kept / users, 0.02);
+        assertEquals(4 * (users - kept), rules.getSampledOutCount());
+    }
+
+    @Test
+    public void eachTypeSamplesADifferentSubset() {
+        SamplingRules rules = new SamplingRules()
+                .sample("gameplay", "checkpoint_reached", 0.5)
+                .sample("gameplay", "level_end", 0.5);
+
+        int agree = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String user = "user-" + i;
+            boolean a = rules.admit("gameplay", "checkpoint_reached", user, 0) != SamplingRules.REJECTED;
+            boolean b = rules.admit("gameplay", "level_end", user, 0) != SamplingRules.REJECTED;
+            if (a == b) {
+                agree++;
+            }
+        }
+        // Independent halves agree about half the time; identical subsets would agree always
+        assertEquals(0.5, agree / 10_000.0, 0.05);
+    }
+
+    @Test
+    public void typeRuleOverridesCategoryRule() {
+        SamplingRules rules = new SamplingRules()
+                .sample("ad", null, 0.000001)
+                .sample("ad", "ad_clicked", 1);
+
+        assertEquals(1.0, rules.admit("ad", "ad_clicked", "user-1", 0), 0);
+        assertEquals(SamplingRules.REJECTED, rules.admit("ad", "ad_viewed", "user-1", 0), 0);
+        assertEquals(1.0, rules.admit("ui", "click", "user-1", 0), 0);
+    }
+
+    @Test
+    public void rateLimitsWithTokenBucket() {
+        SamplingRules rules = new SamplingRules().rateLimit("gameplay", "checkpoint_reached", 10, 5);
+        long start = TimeUnit.SECONDS.toNanos(100);
+
+        int burst = 0;
+        for (int i = 0; i < 20; i++) {
+            if (rules.admit("gameplay", "checkpoint_reached", "user-1", start) != SamplingRules.REJECTED) {
+                burst++;
+            }
+        }
+        assertEquals(5, burst);
+        assertEquals(15, rules.getRateLimitedCount());
+
+        // 10 per second refill, capped at the burst size
+        long later = start + TimeUnit.MILLISECONDS.toNanos(300);
+        int refilled = 0;
+        for (int i = 0; i < 20; i++) {
+            if (rules.admit("gameplay", "checkpoint_reached", "user-1", later) != SamplingRules.REJECTED) {
+                refilled++;
+            }
+        }
+        assertEquals(3, refilled);
+
+        long idle = start + TimeUnit.MINUTES.toNanos(1);
+        int afterIdle = 0;
+        for (int i = 0; i < 20; i++) {
+            if (rules.admit("gameplay", "checkpoint_reached", "user-1", idle) != SamplingRules.REJECTED) {
+                afterIdle++;
+            }
+        }
+        assertEquals(5, afterIdle);
+    }
+
+    @Test
+    public void tokenBucketAdmitsExactlyTheBurstAcrossThreads() throws Exception {
+        final TokenBucket bucket = new TokenBucket(0.001, 1000);
+        final int[] admitted = new int[4];
+        Thread[] threads = new Thread[admitted.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int index = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (bucket.tryAcquire(0)) {
+                            admitted[index]++;
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        int total = 0;
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+            total += admitted[t];
+        }
+        assertEquals(1000, total);
+    }
+
+    @Test
+    public void copyKeepsRulesButIgnoresLaterChanges() {
+        SamplingRules builder = new SamplingRules()
+                .sample("ad", null, 0.000001)
+                .rateLimit("gameplay", "checkpoint_reached", 10, 1);
+        SamplingRules frozen = builder.copy();
+        builder.sample("ad", null, 1).sample("economy", "currency_earned", 0.000001);
+
+        assertEquals(SamplingRules.REJECTED, frozen.admit("ad", "ad_viewed", "user-1", 0), 0);
+        assertEquals(1, frozen.admit("economy", "currency_earned", "user-1", 0), 0);
+        assertEquals(1, builder.admit("ad", "ad_viewed", "user-1", 0), 0);
+
+        // Each copy has its own bucket
+        long now = TimeUnit.SECONDS.toNanos(100);
+        assertEquals(1, builder.admit("gameplay", "checkpoint_reached", "user-1", now), 0);
+        assertEquals(1, frozen.admit("gameplay", "checkpoint_reached", "user-1", now), 0);
+        assertEquals(SamplingRules.REJECTED, frozen.admit("gameplay", "checkpoint_reached", "user-1", now), 0);
+    }
+
+    @Test
+    public void rejectsInvalidRules() {
+        SamplingRules rules = new SamplingRules();
+        assertThrows(rules, 0);
+        assertThrows(rules, 1.5);
+        assertThrows(rules, Double.NaN);
+        assertTrue(rules.isEmpty());
+    }
+
+    private static void assertThrows(SamplingRules rules, double rate) {
+        try {
+            rules.sample("economy", null, rate);
+        } catch (IllegalArgumentException expected) {
+            return;
+        }
+        assertFalse("accepted rate " + rate, true);
+    }
+}
@@ -0,0 +1,138 @@
+package com.gamepulse.sdk.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.gamepulse.sdk.GamePulse;
+import com.gamepulse.sdk.queue.PropertyList;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Locale;
+
+public class EventRegistryTest {
+
+    @Test
+    public void knowsBuiltInCategories() {
+        EventRegistry registry = EventRegistry.builtIn();
+        assertTrue(registry.isValidType(GamePulse.IAPEvents.CATEGORY, GamePulse.IAPEvents.PURCHASE));
+        assertTrue(GamePulse.GameplayEvents.isValidEvent(GamePulse.Gameplay.CHECKPOINT_REACHED));
+        assertFalse(GamePulse.AdEvents.isValidEvent(GamePulse.IAPEvents.PURCHASE));
+        assertFalse(GamePulse.AdEvents.isValidEvent(null));
+        assertFalse(registry.isValidType("battle", "match_start"));
+    }
+
+    @Test
+    public void resolvesClassCategoriesOnceAndIndependentOfLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals("iap", EventRegistry.categoryOf(GamePulse.IAP.class));
+            assertEquals("eventregistrytest", EventRegistry.categoryOf(EventRegistryTest.class));
+            assertSame(EventRegistry.categoryOf(EventRegistryTest.class), EventRegistry.categoryOf(EventRegistryTest.class));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    public void validatesCustomCategories() {
+        EventRegistry registry = new EventRegistry()
+                .registerCategory("battle", "match_start", "match_end")
+                .registerCategory("ui");
+
+        registry.check("CUSTOM", "battle", "match_start", null, null);
+        registry.check("CUSTOM", "ui", "anything", null, null);
+        registry.check("CUSTOM", "unregistered", "anything", null, null);
+        // Custom events may reuse built-in category names with their own types
+        registry.check("CUSTOM", GamePulse.ProgressionEvents.CATEGORY, "level_up", null, null);
+        // Built-in categories never rejected unlisted SYSTEM types, and still do not
+        registry.check("SYSTEM", GamePulse.ProgressionEvents.CATEGORY, "level_up", null, null);
+
+        assertThrows(registry, "CUSTOM", "battle", "match_paused", null);
+    }
+
+    @Test
+    public void checksPropertySchemas() {
+        EventRegistry registry = new EventRegistry()
+                .registerSchema(EventSchema.of("battle", "match_end")
+                        .required("score", PropertyList.LONG)
+                        .required("duration", PropertyList.DOUBLE)
+                        .optional("mode", PropertyList.STRING))
+                .registerSchema(EventSchema.of(GamePulse.IAPEvents.CATEGORY, GamePulse.IAPEvents.PURCHASE)
+                        .required("item_id", PropertyList.STRING));
+
+        PropertyList valid = new PropertyList();
+        valid.put("score", 1200);
+        valid.put("duration", 95);
+        valid.put("extra", true);
+        registry.check("CUSTOM", "battle", "match_end", null, valid);
+
+        PropertyList missing = new PropertyList();
+        missing.put("score", 1200);
+        assertThrows(registry, "CUSTOM", "battle", "match_end", missing);
+
+        PropertyList wrongType = new PropertyList();
+        wrongType.put("score", "1200");
+        wrongType.put("duration", 95.5);
+        assertThrows(registry, "CUSTOM", "battle", "match_end", wrongType);
+
+        registry.check("SYSTEM", GamePulse.IAPEvents.CATEGORY, GamePulse.IAPEvents.PURCHASE,
+                Collections.singletonMap("item_id", "gems_100"), null);
+        assertThrows(registry, "SYSTEM", GamePulse.IAPEvents.CATEGORY, GamePulse.IAPEvents.PURCHASE, new PropertyList());
+    }
+
+    @Test
+    public void copyIsUnaffectedByLaterRegistrations() {
+        EventRegistry builder = new EventRegistry().registerCategory("battle", "match_start");
+        EventRegistry frozen = builder.copy();
+
+        builder.registerCategory("battle", "match_paused")
+                .registerSchema(EventSchema.of("battle", "match_start").required("map", PropertyList.STRING));
+
+        assertTrue(builder.isValidType("battle", "match_paused"));
+        assertFalse(frozen.isValidType("battle", "match_paused"));
+        frozen.check("CUSTOM", "battle", "match_start", null, new PropertyList());
+        assertThrows(builder, "CUSTOM", "battle", "match_start", new PropertyList());
+    }
+
+    @Test
+    public void validationDoesNotAllocate() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        EventRegistry registry = new EventRegistry()
+                .registerSchema(EventSchema.of("battle", "match_end").required("score", PropertyList.LONG));
+        PropertyList properties = new PropertyList();
+        properties.put("score", 1200);
+        properties.put("mode", "ranked");
+
+        int iterations = 200_000;
+        for (int i = 0; i < iterations; i++) {
+            registry.check("CUSTOM", "battle", "match_end", null, properties);
+            registry.check("SYSTEM", GamePulse.GameplayEvents.CATEGORY, GamePulse.GameplayEvents.LEVEL_START, null, properties);
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            registry.check("CUSTOM", "battle", "match_end", null, properties);
+            registry.check("SYSTEM", GamePulse.GameplayEvents.CATEGORY, GamePulse.GameplayEvents.LEVEL_START, null, properties);
+        }
+        assertEquals(0, (threads.getThreadAllocatedBytes(threadId) - before) / iterations);
+    }
+
+    private static void assertThrows(EventRegistry registry, String eventClass, String category, String type,
+                                     PropertyList properties) {
+        try {
+            registry.check(eventClass, category, type, null, properties);
+        } catch (IllegalArgumentException expected) {
+            return;
+        }
+        throw new AssertionError("Expected " + category + "/" + type + " to be rejected");
+    }
+}
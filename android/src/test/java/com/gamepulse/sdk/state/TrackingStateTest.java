@@ -0,0 +1,163 @@
+package com.gamepulse.sdk.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.gamepulse.sdk.GamePulse.DeviceInfo;
+import com.gamepulse.sdk.GamePulse.UserConfig;
+import com.gamepulse.sdk.encoding.EventEnvelope;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TrackingStateTest {
+
+    private static final DeviceInfo DEVICE = new DeviceInfo("ANDROID", "13", "1.0", "Pixel", "1080x2400", "Google");
+
+    @Test
+    public void envelopeFollowsDeviceInfoAndUserChanges() {
+        TrackingState state = new TrackingState(user("s-0", "u-0"));
+        assertNull(state.get().getEnvelope());
+
+        state.publishDeviceInfo(DEVICE);
+        TrackingState.Snapshot snapshot = state.get();
+        assertSame(DEVICE, snapshot.getEnvelope().getDeviceInfo());
+        assertSame(snapshot.getUserConfig(), snapshot.getEnvelope().getUserConfig());
+
+        snapshot = state.startSession("s-1");
+        assertEquals("s-1", snapshot.getEnvelope().getUserConfig().getSessionId());
+        assertEquals("u-0", snapshot.getUserConfig().getUserId());
+    }
+
+    @Test
+    public void geohashRidesAlongInTheEnvelope() {
+        TrackingState state = new TrackingState(user("s-0", "u-0"));
+        state.publishGeohash("u4pru");
+        state.publishDeviceInfo(DEVICE);
+        assertEquals("u4pru", state.get().getEnvelope().getGeohash());
+
+        // Kept across user changes; the same cell again does not rebuild the envelope
+        TrackingState.Snapshot snapshot = state.updateUserConfig(user("s-0", "u-1"));
+        assertEquals("u4pru", snapshot.getEnvelope().getGeohash());
+        assertSame(snapshot, state.publishGeohash("u4pru"));
+
+        assertEquals("ezjmg", state.publishGeohash("ezjmg").getEnvelope().getGeohash());
+        assertEquals("u-1", state.get().getEnvelope().getUserConfig().getUserId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMissingUserConfig() {
+        new TrackingState(user("s-0", "u-0")).updateUserConfig(null);
+    }
+
+    /**
+     * Tracking threads read the snapshot while sessions start, the user changes and device info
+     * lands; every read must be self-consistent and no update may be lost
+     */
+    @Test
+    public void concurrentTrackSessionAndUserUpdatesStayConsistent() throws Exception {
+        final TrackingState state = new TrackingState(user("s-0", "u-0"));
+        final int updates = 20000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> writers = new ArrayList<>();
+        List<Thread> readers = new ArrayList<>();
+
+        writers.add(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                await(start);
+                for (int i = 1; i <= updates; i++) {
+                    state.updateUserConfig(user("us-" + i, "u-" + i));
+                    if (i == updates / 2) {
+                        state.publishDeviceInfo(DEVICE);
+                    }
+                }
+            }
+        }));
+        for (int t = 0; t < 2; t++) {
+            final int thread = t;
+            writers.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    await(start);
+                    for (int i = 0; i < updates; i++) {
+                        TrackingState.Snapshot snapshot = state.startSession("s-" + thread + "-" + i);
+                        check(snapshot, failure);
+                    }
+                }
+            }));
+        }
+        for (int t = 0; t < 4; t++) {
+            readers.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    await(start);
+                    boolean ready = false;
+                    while (!done.get()) {
+                        // What track() does: one read, then only this snapshot's fields
+                        TrackingState.Snapshot snapshot = state.get();
+                        check(snapshot, failure);
+                        if (snapshot.getEnvelope() != null) {
+                            ready = true;
+                        } else if (ready) {
+                            failure.compareAndSet(null, new AssertionError("Envelope went back to null"));
+                        }
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : readers) {
+            thread.start();
+        }
+        for (Thread thread : writers) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : writers) {
+            thread.join();
+        }
+        done.set(true);
+        for (Thread thread : readers) {
+            thread.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        TrackingState.Snapshot last = state.get();
+        // A session started from a stale user would have rolled the user id back
+        assertEquals("u-" + updates, last.getUserConfig().getUserId());
+        assertNotNull(last.getEnvelope());
+        assertSame(DEVICE, last.getDeviceInfo());
+    }
+
+    private static void check(TrackingState.Snapshot snapshot, AtomicReference<Throwable> failure) {
+        EventEnvelope envelope = snapshot.getEnvelope();
+        if (envelope != null && (envelope.getUserConfig() != snapshot.getUserConfig()
+                || envelope.getDeviceInfo() != snapshot.getDeviceInfo())) {
+            failure.compareAndSet(null, new AssertionError("Envelope built from another snapshot"));
+        }
+    }
+
+    private static UserConfig user(String sessionId, String userId) {
+        return UserConfig.builder().setSessionId(sessionId).setUserId(userId).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.gamepulse.sdk.storage;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+public class AcknowledgedIdsTest {
+
+    private static final long PROCESS = 0x5DEECE66DL;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void acknowledgedIdsSurviveReopen() throws Exception {
+        File file = new File(folder.getRoot(), "gamepulse/acknowledged-ids");
+        AcknowledgedIds ids = new AcknowledgedIds(file, 1024);
+        for (long i = 1; i <= 500; i++) {
+            ids.add(PROCESS, i);
+        }
+        ids.close();
+
+        AcknowledgedIds reopened = new AcknowledgedIds(file, 1024);
+        for (long i = 1; i <= 500; i++) {
+            assertTrue(reopened.mightContain(PROCESS, i));
+        }
+        assertFalse(reopened.mightContain(PROCESS, 501));
+    }
+
+    @Test
+    public void falsePositivesStayRare() throws Exception {
+        AcknowledgedIds ids = new AcknowledgedIds(folder.newFile("ids"), 4096);
+        for (long i = 0; i < 4096; i++) {
+            ids.add(PROCESS, i);
+        }
+
+        int falsePositives = 0;
+        for (long i = 0; i < 100_000; i++) {
+            if (ids.mightContain(PROCESS + 1, i) || ids.mightContain(PROCESS, 1_000_000 + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("false positives: " + falsePositives, falsePositives < 500);
+    }
+
+    @Test
+    public void oldestGenerationIsForgottenWhenFull() throws Exception {
+        AcknowledgedIds ids = new AcknowledgedIds(folder.newFile("ids"), 256);
+        for (long i = 0; i < 256 * 3; i++) {
+            ids.add(PROCESS, i);
+        }
+
+        int remembered = 0;
+        for (long i = 0; i < 256; i++) {
+            if (ids.mightContain(PROCESS, i)) {
+                remembered++;
+            }
+        }
+        assertTrue("remembered: " + remembered, remembered < 8);
+        for (long i = 256 * 2; i < 256 * 3; i++) {
+            assertTrue(ids.mightContain(PROCESS, i));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.gamepulse.sdk.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class EventJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void unacknowledgedEventsAreRecoveredAfterRestart() throws Exception {
+        File dir = folder.newFolder("journal");
+        EventJournal journal = new EventJournal(dir, 4096, 8);
+        journal.append(bytes("{\"value\":\"level_start\"}"));
+        journal.append(bytes("{\"value\":\"level_end\"}"));
+        journal.close();
+
+        EventJournal reopened = new EventJournal(dir, 4096, 8);
+        List<File> recovered = reopened.getRecoveredSegments();
+        assertEquals(1, recovered.size());
+
+        List<byte[]> records = EventJournal.readSegment(recovered.get(0));
+        assertEquals(2, records.size());
+        assertArrayEquals(bytes("{\"value\":\"level_start\"}"), records.get(0));
+        assertArrayEquals(bytes("{\"value\":\"level_end\"}"), records.get(1));
+
+        reopened.discardRecovered(recovered.get(0));
+        assertEquals(1, reopened.getSegmentCount());
+    }
+
+    @Test
+    public void fullyAcknowledgedSegmentsAreDeleted() throws Exception {
+        File dir = folder.newFolder("journal");
+        EventJournal journal = new EventJournal(dir, 256, 8);
+        byte[] event = bytes("{\"type\":\"SYSTEM\",\"value\":\"level_up\",\"category\":\"gameplay\"}");
+
+        long start = journal.position();
+        for (int i = 0; i < 20; i++) {
+            journal.append(event);
+        }
+        long end = journal.position();
+        assertTrue(journal.getSegmentCount() > 1);
+
+        journal.acknowledge(start, end);
+        assertEquals(1, journal.getSegmentCount());
+    }
+
+    @Test
+    public void tornRecordIsIgnoredOnReplay() throws Exception {
+        File dir = folder.newFolder("journal");
+        EventJournal journal = new EventJournal(dir, 4096, 8);
+        journal.append(bytes("{\"value\":\"ok\"}"));
+        journal.append(bytes("{\"value\":\"torn\"}"));
+        journal.close();
+
+        File segment = dir.listFiles()[0];
+        try (RandomAccessFile raf = new RandomAccessFile(segment, "rw")) {
+            // Corrupt the last byte of the second record's payload
+            int secondPayloadEnd = 8 + 14 + 8 + 16;
+            raf.seek(secondPayloadEnd - 1);
+            raf.write('X');
+        }
+
+        List<byte[]> records = EventJournal.readSegment(segment);
+        assertEquals(1, records.size());
+        assertArrayEquals(bytes("{\"value\":\"ok\"}"), records.get(0));
+    }
+
+    @Test
+    public void sustainedAppendsStayWithinTheSegmentLimit() throws Exception {
+        File dir = folder.newFolder("journal");
+        EventJournal journal = new EventJournal(dir, 16 * 1024, 4);
+        byte[] event = new byte[600];
+
+        for (int i = 0; i < 1_000; i++) {
+            journal.append(event);
+        }
+
+        assertEquals(4, journal.getSegmentCount());
+        assertEquals(4, dir.listFiles().length);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,50 @@
+package com.gamepulse.sdk.storage;
+
+import static org.junit.Assert.assertEquals;
+
+import com.gamepulse.sdk.clock.EventClock;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+public class SequenceFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sessionContinuesAfterRestart() throws Exception {
+        File file = new File(folder.getRoot(), "sequence");
+        SequenceFile sequences = new SequenceFile(file);
+        EventClock clock = new EventClock(sequences);
+        assertEquals(0, clock.nextSequence("a"));
+        assertEquals(1, clock.nextSequence("a"));
+        sequences.close();
+
+        sequences = new SequenceFile(file);
+        clock = new EventClock(sequences);
+        assertEquals(2, clock.nextSequence("a"));
+        assertEquals(0, clock.nextSequence("b"));
+        sequences.close();
+
+        // Only the latest session is kept
+        clock = new EventClock(new SequenceFile(file));
+        assertEquals(1, clock.nextSequence("b"));
+        assertEquals(0, clock.nextSequence("a"));
+        assertEquals(0, clock.nextSequence(null));
+    }
+
+    @Test
+    public void startsOverOnACorruptFile() throws Exception {
+        File file = new File(folder.getRoot(), "sequence");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.write(new byte[] {1, 2, 3});
+        }
+
+        assertEquals(0, new EventClock(new SequenceFile(file)).nextSequence("a"));
+    }
+}